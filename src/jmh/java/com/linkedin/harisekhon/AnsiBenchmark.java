@@ -0,0 +1,49 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 20:47:03 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// stripANSIEscapeCodes() over coloured and plain lines of CLI output
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnsiBenchmark {
+
+    @Benchmark
+    public void stripANSIEscapeCodes(Blackhole bh) {
+        for(String line: Corpus.ansi){
+            bh.consume(Utils.stripANSIEscapeCodes(line));
+        }
+    }
+
+}
@@ -0,0 +1,331 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 20:14:52 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Utils.isX() predicates, each benchmark is one pass over the matching Corpus array of valid and invalid inputs
+//
+// Excludes the OS / Nagios status predicates (isLinux, isOk etc) which aren't validators
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IsBenchmark {
+
+    @Benchmark
+    public void isAlNum(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isAlNum(s));
+        }
+    }
+
+    @Benchmark
+    public void isAwsAccessKey(Blackhole bh) {
+        for(String s: Corpus.aws_access_keys){
+            bh.consume(Utils.isAwsAccessKey(s));
+        }
+    }
+
+    @Benchmark
+    public void isAwsBucket(Blackhole bh) {
+        for(String s: Corpus.hostnames){
+            bh.consume(Utils.isAwsBucket(s));
+        }
+    }
+
+    @Benchmark
+    public void isAwsFqdn(Blackhole bh) {
+        for(String s: Corpus.fqdns){
+            bh.consume(Utils.isAwsFqdn(s));
+        }
+    }
+
+    @Benchmark
+    public void isAwsHostname(Blackhole bh) {
+        for(String s: Corpus.hostnames){
+            bh.consume(Utils.isAwsHostname(s));
+        }
+    }
+
+    @Benchmark
+    public void isAwsSecretKey(Blackhole bh) {
+        for(String s: Corpus.aws_secret_keys){
+            bh.consume(Utils.isAwsSecretKey(s));
+        }
+    }
+
+    @Benchmark
+    public void isCidr(Blackhole bh) {
+        for(String s: Corpus.cidrs){
+            bh.consume(Utils.isCidr(s));
+        }
+    }
+
+    @Benchmark
+    public void isCollection(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isCollection(s));
+        }
+    }
+
+    @Benchmark
+    public void isDatabaseColumnName(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isDatabaseColumnName(s));
+        }
+    }
+
+    @Benchmark
+    public void isDatabaseFieldName(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isDatabaseFieldName(s));
+        }
+    }
+
+    @Benchmark
+    public void isDatabaseName(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isDatabaseName(s));
+        }
+    }
+
+    @Benchmark
+    public void isDatabaseTableName(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isDatabaseTableName(s));
+        }
+    }
+
+    @Benchmark
+    public void isDatabaseViewName(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isDatabaseViewName(s));
+        }
+    }
+
+    @Benchmark
+    public void isDirname(Blackhole bh) {
+        for(String s: Corpus.paths){
+            bh.consume(Utils.isDirname(s));
+        }
+    }
+
+    @Benchmark
+    public void isDnsShortName(Blackhole bh) {
+        for(String s: Corpus.hostnames){
+            bh.consume(Utils.isDnsShortName(s));
+        }
+    }
+
+    @Benchmark
+    public void isDomain(Blackhole bh) {
+        for(String s: Corpus.domains){
+            bh.consume(Utils.isDomain(s));
+        }
+    }
+
+    @Benchmark
+    public void isDomainStrict(Blackhole bh) {
+        for(String s: Corpus.domains){
+            bh.consume(Utils.isDomainStrict(s));
+        }
+    }
+
+    @Benchmark
+    public void isEmail(Blackhole bh) {
+        for(String s: Corpus.emails){
+            bh.consume(Utils.isEmail(s));
+        }
+    }
+
+    @Benchmark
+    public void isFilename(Blackhole bh) {
+        for(String s: Corpus.paths){
+            bh.consume(Utils.isFilename(s));
+        }
+    }
+
+    @Benchmark
+    public void isFqdn(Blackhole bh) {
+        for(String s: Corpus.fqdns){
+            bh.consume(Utils.isFqdn(s));
+        }
+    }
+
+    @Benchmark
+    public void isHex(Blackhole bh) {
+        for(String s: Corpus.hex){
+            bh.consume(Utils.isHex(s));
+        }
+    }
+
+    @Benchmark
+    public void isHost(Blackhole bh) {
+        for(String s: Corpus.hosts){
+            bh.consume(Utils.isHost(s));
+        }
+    }
+
+    @Benchmark
+    public void isHostname(Blackhole bh) {
+        for(String s: Corpus.hostnames){
+            bh.consume(Utils.isHostname(s));
+        }
+    }
+
+    @Benchmark
+    public void isIP(Blackhole bh) {
+        for(String s: Corpus.ips){
+            bh.consume(Utils.isIP(s));
+        }
+    }
+
+    @Benchmark
+    public void isIPv6(Blackhole bh) {
+        for(String s: Corpus.ipv6s){
+            bh.consume(Utils.isIPv6(s));
+        }
+    }
+
+    @Benchmark
+    public void isInterface(Blackhole bh) {
+        for(String s: Corpus.interfaces){
+            bh.consume(Utils.isInterface(s));
+        }
+    }
+
+    @Benchmark
+    public void isKrb5Princ(Blackhole bh) {
+        for(String s: Corpus.krb5){
+            bh.consume(Utils.isKrb5Princ(s));
+        }
+    }
+
+    @Benchmark
+    public void isLabel(Blackhole bh) {
+        for(String s: Corpus.labels){
+            bh.consume(Utils.isLabel(s));
+        }
+    }
+
+    @Benchmark
+    public void isLdapDn(Blackhole bh) {
+        for(String s: Corpus.ldap_dns){
+            bh.consume(Utils.isLdapDn(s));
+        }
+    }
+
+    @Benchmark
+    public void isNagiosUnit(Blackhole bh) {
+        for(String s: Corpus.units){
+            bh.consume(Utils.isNagiosUnit(s));
+        }
+    }
+
+    @Benchmark
+    public void isNoSqlKey(Blackhole bh) {
+        for(String s: Corpus.nosql_keys){
+            bh.consume(Utils.isNoSqlKey(s));
+        }
+    }
+
+    @Benchmark
+    public void isPort(Blackhole bh) {
+        for(String s: Corpus.ports){
+            bh.consume(Utils.isPort(s));
+        }
+    }
+
+    @Benchmark
+    public void isProcessName(Blackhole bh) {
+        for(String s: Corpus.process_names){
+            bh.consume(Utils.isProcessName(s));
+        }
+    }
+
+    @Benchmark
+    public void isRegex(Blackhole bh) {
+        for(String s: Corpus.regexes){
+            bh.consume(Utils.isRegex(s));
+        }
+    }
+
+    @Benchmark
+    public void isUrl(Blackhole bh) {
+        for(String s: Corpus.urls){
+            bh.consume(Utils.isUrl(s));
+        }
+    }
+
+    @Benchmark
+    public void isUrlPathSuffix(Blackhole bh) {
+        for(String s: Corpus.url_path_suffixes){
+            bh.consume(Utils.isUrlPathSuffix(s));
+        }
+    }
+
+    @Benchmark
+    public void isUser(Blackhole bh) {
+        for(String s: Corpus.users){
+            bh.consume(Utils.isUser(s));
+        }
+    }
+
+    @Benchmark
+    public void isVersion(Blackhole bh) {
+        for(String s: Corpus.versions){
+            bh.consume(Utils.isVersion(s));
+        }
+    }
+
+    @Benchmark
+    public void isVersionLax(Blackhole bh) {
+        for(String s: Corpus.versions){
+            bh.consume(Utils.isVersionLax(s));
+        }
+    }
+
+    @Benchmark
+    public void isChars(Blackhole bh) {
+        for(String s: Corpus.names){
+            bh.consume(Utils.isChars(s, "a-z_"));
+        }
+    }
+
+    @Benchmark
+    public void isMinVersion(Blackhole bh) {
+        for(String s: Corpus.versions){
+            bh.consume(Utils.isMinVersion(s, 1.2));
+        }
+    }
+
+}
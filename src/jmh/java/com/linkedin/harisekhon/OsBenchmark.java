@@ -0,0 +1,66 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 20:31:40 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Validators that go out to the OS - name resolution of localhost (hosts file, no network), user lookup and PATH
+// search - kept apart from ValidateBenchmark as these are dominated by system calls rather than parsing
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OsBenchmark {
+
+    @Setup
+    public void setup() {
+        Logger.getRootLogger().setLevel(Level.WARN);
+    }
+
+    @Benchmark
+    public String validateResolvable() throws IOException {
+        return Utils.validateResolvable("localhost");
+    }
+
+    @Benchmark
+    public String validateUserExists() throws IOException, UnsupportedOSException {
+        return Utils.validateUserExists("root", "user");
+    }
+
+    @Benchmark
+    public String which() throws IOException {
+        return Utils.which("sh");
+    }
+
+}
@@ -0,0 +1,72 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 20:53:26 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of the Utils static initializer - loading the TLD lists and compiling the regexes - which every CLI run pays
+//
+// Each invocation loads Utils afresh in a new class loader so nothing is shared with the previous run, measured as
+// single shot times since the cold start is the point. Many short forks as the JIT state of the loading code matters
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(5)
+@State(Scope.Benchmark)
+public class StaticInitBenchmark {
+
+    private URL[] classpath;
+
+    @Setup
+    public void setup() {
+        // this library plus its dependencies, but not the JMH classes
+        classpath = new URL[]{
+            Utils.class.getProtectionDomain().getCodeSource().getLocation(),
+            StringUtils.class.getProtectionDomain().getCodeSource().getLocation(),
+            Logger.class.getProtectionDomain().getCodeSource().getLocation(),
+        };
+    }
+
+    @Benchmark
+    public Class<?> staticInit() throws Exception {
+        // null parent so Utils and its dependencies are all loaded and initialized from scratch
+        URLClassLoader loader = new URLClassLoader(classpath, null);
+        try {
+            return Class.forName("com.linkedin.harisekhon.Utils", true, loader);
+        } finally {
+            loader.close();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 20:42:55 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// uniqArray* over host lists with duplicates, sized from a handful of CLI args up to a large inventory
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UniqBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private String[] hosts;
+    private ArrayList<String> host_list;
+
+    @Setup
+    public void setup() {
+        // around half duplicates
+        hosts = Corpus.hostList(size, Math.max(1, size / 2), 42);
+        host_list = Corpus.toArrayList(hosts);
+    }
+
+    @Benchmark
+    public String[] uniqArray() {
+        return Utils.uniqArray(hosts);
+    }
+
+    @Benchmark
+    public String[] uniqArrayOrdered() {
+        return Utils.uniqArrayOrdered(hosts);
+    }
+
+    @Benchmark
+    public ArrayList<String> uniqArraylist() {
+        return Utils.uniqArraylist(host_list);
+    }
+
+    @Benchmark
+    public ArrayList<String> uniqArraylistOrdered() {
+        return Utils.uniqArraylistOrdered(host_list);
+    }
+
+}
@@ -0,0 +1,69 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 20:38:17 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// expandUnits() / humanUnits() over a spread of magnitudes from bytes to petabytes
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UnitsBenchmark {
+
+    private static final String[] expand_units = { "", "B", "KB", "k", "MB", "m", "GB", "g", "TB", "PB" };
+
+    private static final double[] nums = {
+        0, 1, 512, 1023, 1024, 1536, 1048576, 123456789, 1.5e9, 1099511627776.0, 3.3e15, 0.5,
+    };
+
+    @Benchmark
+    public void expandUnits(Blackhole bh) {
+        for(String units: expand_units){
+            bh.consume(Utils.expandUnits(1.5, units));
+        }
+    }
+
+    @Benchmark
+    public void humanUnits(Blackhole bh) {
+        for(double num: nums){
+            bh.consume(Utils.humanUnits(num));
+        }
+    }
+
+    @Benchmark
+    public void humanUnitsWithUnits(Blackhole bh) {
+        for(double num: nums){
+            bh.consume(Utils.humanUnits(num, "KB", true));
+        }
+    }
+
+}
@@ -0,0 +1,598 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 20:26:08 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Utils.validateX() methods, each benchmark is one pass over the matching Corpus array of valid and invalid inputs
+// so the exception cost of rejecting bad input is included, as it is in real use
+//
+// Logging is turned down to WARN so the console appender isn't what's being measured, the vlogOption() formatting
+// still runs. validateResolvable() and validateUserExists() are in OsBenchmark as they measure DNS and the OS
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidateBenchmark {
+
+    @Setup
+    public void setup() {
+        Logger.getRootLogger().setLevel(Level.WARN);
+    }
+
+    @Benchmark
+    public void validateAlnum(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateAlnum(s, "name"));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateAwsAccessKey(Blackhole bh) {
+        for(String s: Corpus.aws_access_keys){
+            try {
+                bh.consume(Utils.validateAwsAccessKey(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateAwsBucket(Blackhole bh) {
+        for(String s: Corpus.hostnames){
+            try {
+                bh.consume(Utils.validateAwsBucket(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateAwsFqdn(Blackhole bh) {
+        for(String s: Corpus.fqdns){
+            try {
+                bh.consume(Utils.validateAwsFqdn(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateAwsHostname(Blackhole bh) {
+        for(String s: Corpus.hostnames){
+            try {
+                bh.consume(Utils.validateAwsHostname(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateAwsSecretKey(Blackhole bh) {
+        for(String s: Corpus.aws_secret_keys){
+            try {
+                bh.consume(Utils.validateAwsSecretKey(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateChars(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateChars(s, "name", "a-z_"));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateCidr(Blackhole bh) {
+        for(String s: Corpus.cidrs){
+            try {
+                bh.consume(Utils.validateCidr(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateCollection(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateCollection(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDatabase(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateDatabase(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDatabaseColumnname(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateDatabaseColumnname(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDatabaseFieldname(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateDatabaseFieldname(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDatabaseQuerySelectShow(Blackhole bh) {
+        for(String s: Corpus.queries){
+            try {
+                bh.consume(Utils.validateDatabaseQuerySelectShow(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDatabaseTablename(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateDatabaseTablename(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDatabaseViewname(Blackhole bh) {
+        for(String s: Corpus.names){
+            try {
+                bh.consume(Utils.validateDatabaseViewname(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDirectory(Blackhole bh) {
+        for(String s: Corpus.paths){
+            try {
+                bh.consume(Utils.validateDirectory(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDirname(Blackhole bh) {
+        for(String s: Corpus.paths){
+            try {
+                bh.consume(Utils.validateDirname(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDomain(Blackhole bh) {
+        for(String s: Corpus.domains){
+            try {
+                bh.consume(Utils.validateDomain(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDomainStrict(Blackhole bh) {
+        for(String s: Corpus.domains){
+            try {
+                bh.consume(Utils.validateDomainStrict(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateEmail(Blackhole bh) {
+        for(String s: Corpus.emails){
+            try {
+                bh.consume(Utils.validateEmail(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateFile(Blackhole bh) {
+        for(String s: Corpus.paths){
+            try {
+                bh.consume(Utils.validateFile(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateFilename(Blackhole bh) {
+        for(String s: Corpus.paths){
+            try {
+                bh.consume(Utils.validateFilename(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateFqdn(Blackhole bh) {
+        for(String s: Corpus.fqdns){
+            try {
+                bh.consume(Utils.validateFqdn(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateHost(Blackhole bh) {
+        for(String s: Corpus.hosts){
+            try {
+                bh.consume(Utils.validateHost(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateHostPort(Blackhole bh) {
+        for(String s: Corpus.host_ports){
+            try {
+                bh.consume(Utils.validateHostPort(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateHostname(Blackhole bh) {
+        for(String s: Corpus.hostnames){
+            try {
+                bh.consume(Utils.validateHostname(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateIP(Blackhole bh) {
+        for(String s: Corpus.ips){
+            try {
+                bh.consume(Utils.validateIP(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateInterface(Blackhole bh) {
+        for(String s: Corpus.interfaces){
+            try {
+                bh.consume(Utils.validateInterface(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateKrb5Princ(Blackhole bh) {
+        for(String s: Corpus.krb5){
+            try {
+                bh.consume(Utils.validateKrb5Princ(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateKrb5Realm(Blackhole bh) {
+        for(String s: Corpus.domains){
+            try {
+                bh.consume(Utils.validateKrb5Realm(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateLabel(Blackhole bh) {
+        for(String s: Corpus.labels){
+            try {
+                bh.consume(Utils.validateLabel(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateLdapDn(Blackhole bh) {
+        for(String s: Corpus.ldap_dns){
+            try {
+                bh.consume(Utils.validateLdapDn(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateNoSqlKey(Blackhole bh) {
+        for(String s: Corpus.nosql_keys){
+            try {
+                bh.consume(Utils.validateNoSqlKey(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validatePassword(Blackhole bh) {
+        for(String s: Corpus.passwords){
+            try {
+                bh.consume(Utils.validatePassword(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validatePort(Blackhole bh) {
+        for(String s: Corpus.ports){
+            try {
+                bh.consume(Utils.validatePort(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateProcessName(Blackhole bh) {
+        for(String s: Corpus.process_names){
+            try {
+                bh.consume(Utils.validateProcessName(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateProgramPath(Blackhole bh) {
+        for(String s: Corpus.paths){
+            try {
+                bh.consume(Utils.validateProgramPath(s, "program"));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateRegex(Blackhole bh) {
+        for(String s: Corpus.regexes){
+            try {
+                bh.consume(Utils.validateRegex(s, "regex"));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateUnits(Blackhole bh) {
+        for(String s: Corpus.units){
+            try {
+                bh.consume(Utils.validateUnits(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateUrl(Blackhole bh) {
+        for(String s: Corpus.urls){
+            try {
+                bh.consume(Utils.validateUrl(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateUrlPathSuffix(Blackhole bh) {
+        for(String s: Corpus.url_path_suffixes){
+            try {
+                bh.consume(Utils.validateUrlPathSuffix(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateUser(Blackhole bh) {
+        for(String s: Corpus.users){
+            try {
+                bh.consume(Utils.validateUser(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateDouble(Blackhole bh) {
+        for(String s: Corpus.ports){
+            try {
+                bh.consume(Utils.validateDouble(s, "double", 0, 65535));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateFloat(Blackhole bh) {
+        for(String s: Corpus.ports){
+            try {
+                bh.consume(Utils.validateFloat(s, "float", 0, 65535));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateInt(Blackhole bh) {
+        for(String s: Corpus.ports){
+            try {
+                bh.consume(Utils.validateInt(s, "int", 0, 65535));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateLong(Blackhole bh) {
+        for(String s: Corpus.ports){
+            try {
+                bh.consume(Utils.validateLong(s, "long", 0, 65535));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateHosts(Blackhole bh) {
+        for(String s: Corpus.host_ports){
+            try {
+                bh.consume(Utils.validateHosts(s, 8080));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateNodeList(Blackhole bh) {
+        for(String s: Corpus.hosts){
+            try {
+                bh.consume(Utils.validateNodeList(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateNodePortList(Blackhole bh) {
+        for(String s: Corpus.host_ports){
+            try {
+                bh.consume(Utils.validateNodePortList(s));
+            } catch (IllegalArgumentException e) {
+                bh.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateAllHosts(Blackhole bh) {
+        bh.consume(Utils.validateAll(Validators.HOST, Corpus.hosts));
+    }
+
+}
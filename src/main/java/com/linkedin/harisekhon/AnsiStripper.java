@@ -0,0 +1,134 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:50:26 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+// Strips ANSI CSI escape sequences, eg. colours, with the same semantics as the original regex replace
+//
+//   (\x9B|\x1B\[)[0-?]*[ -\/]*[@-~]
+//
+// an introducer of CSI or ESC [, any parameter chars 0x30-0x3F, then any intermediate chars 0x20-0x2F, then one final
+// char 0x40-0x7E. Anything else ends the sequence unmatched and it's left as is. The three classes don't overlap so
+// there is never any backtracking to do and a single forward pass gives exactly the regex's result
+//
+// See AnsiStrippingReader and AnsiStrippingInputStream to strip streams of any size as they're read
+public final class AnsiStripper {
+
+    static final int ESC = 0x1B;
+    static final int CSI = 0x9B;
+
+    // state machine shared by the stream filters
+    static final int GROUND = 0;
+    // seen ESC, or the 0xC2 lead byte of a UTF-8 CSI, waiting for the [ or 0x9B second half of the introducer
+    static final int INTRODUCER = 1;
+    static final int PARAMETERS = 2;
+    static final int INTERMEDIATES = 3;
+
+    private AnsiStripper() {
+        // static methods only
+    }
+
+    static boolean isParameter(int c) {
+        return c >= 0x30 && c <= 0x3F;
+    }
+
+    static boolean isIntermediate(int c) {
+        return c >= 0x20 && c <= 0x2F;
+    }
+
+    static boolean isFinal(int c) {
+        return c >= 0x40 && c <= 0x7E;
+    }
+
+    // ===================================================================== //
+
+    // returns the same String if there is nothing to strip
+    public static String strip(CharSequence str) {
+        if(str == null){
+            throw new IllegalArgumentException("null passed to AnsiStripper.strip()");
+        }
+        int first = nextSequence(str, 0);
+        if(first < 0){
+            return str.toString();
+        }
+        return append(str, new StringBuilder(str.length()), first).toString();
+    }
+
+    // appends str stripped to sb, eg. reusing one StringBuilder across lines, returns sb
+    public static StringBuilder strip(CharSequence str, StringBuilder sb) {
+        if(str == null || sb == null){
+            throw new IllegalArgumentException("null passed to AnsiStripper.strip()");
+        }
+        int first = nextSequence(str, 0);
+        if(first < 0){
+            return sb.append(str);
+        }
+        return append(str, sb, first);
+    }
+
+    private static StringBuilder append(CharSequence str, StringBuilder sb, int first) {
+        int copied = 0;
+        int start = first;
+        while(start >= 0){
+            int end = sequenceEnd(str, start);
+            sb.append(str, copied, start);
+            copied = end;
+            start = nextSequence(str, end);
+        }
+        return sb.append(str, copied, str.length());
+    }
+
+    // start of the next complete escape sequence at or after from, or -1
+    private static int nextSequence(CharSequence str, int from) {
+        int len = str.length();
+        int i = from;
+        while(i < len){
+            char c = str.charAt(i);
+            int j;
+            if(c == CSI){
+                j = i + 1;
+            } else if(c == ESC && i + 1 < len && str.charAt(i + 1) == '['){
+                j = i + 2;
+            } else {
+                i++;
+                continue;
+            }
+            while(j < len && isParameter(str.charAt(j))){
+                j++;
+            }
+            while(j < len && isIntermediate(str.charAt(j))){
+                j++;
+            }
+            if(j < len && isFinal(str.charAt(j))){
+                return i;
+            }
+            // nothing between the introducer and j can start another sequence, j itself might
+            i = j;
+        }
+        return -1;
+    }
+
+    // end of the complete sequence found at start by nextSequence()
+    private static int sequenceEnd(CharSequence str, int start) {
+        int j = str.charAt(start) == CSI ? start + 1 : start + 2;
+        while(! isFinal(str.charAt(j))){
+            j++;
+        }
+        return j + 1;
+    }
+
+}
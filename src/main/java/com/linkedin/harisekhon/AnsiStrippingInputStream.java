@@ -0,0 +1,214 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:56:44 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static com.linkedin.harisekhon.AnsiStripper.*;
+
+// InputStream that strips ANSI CSI escape sequences from the wrapped stream as it's read, same semantics as
+// AnsiStripper on the decoded text, without decoding it
+//
+// By default the bytes are taken as UTF-8, where the CSI char U+009B is the two bytes C2 9B and a lone 9B byte is
+// just the continuation byte of some other char so must be left alone. Pass raw_csi = true for 8 bit terminal output
+// in ISO-8859-1 and the like, where the single byte 9B is CSI. ESC [ is the same either way
+//
+// Same state machine as AnsiStrippingReader, holding back the bytes of a possible sequence until it completes or
+// doesn't, so sequences split across reads are still stripped. Not thread-safe
+public class AnsiStrippingInputStream extends FilterInputStream {
+
+    private static final int UTF8_CSI_LEAD = 0xC2;
+
+    private final boolean raw_csi;
+    private final byte[] buf = new byte[8192];
+    private final byte[] single = new byte[1];
+    private int pos;
+    private int len;
+    private boolean eof;
+
+    private int state = GROUND;
+    private byte[] pending = new byte[64];
+    private int pending_len;
+    // pending bytes [flush_pos, pending_len) are being passed through after a sequence didn't complete
+    private int flush_pos = -1;
+
+    public AnsiStrippingInputStream(InputStream in) {
+        this(in, false);
+    }
+
+    public AnsiStrippingInputStream(InputStream in, boolean raw_csi) {
+        super(checkNotNull(in));
+        this.raw_csi = raw_csi;
+    }
+
+    private static InputStream checkNotNull(InputStream in) {
+        if(in == null){
+            throw new IllegalArgumentException("null input stream passed to AnsiStrippingInputStream");
+        }
+        return in;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int n) throws IOException {
+        if(off < 0 || n < 0 || n > b.length - off){
+            throw new IndexOutOfBoundsException("range " + off + " + " + n + " out of bounds for length " + b.length);
+        }
+        if(n == 0){
+            return 0;
+        }
+        int count = 0;
+        while(count < n){
+            if(flush_pos >= 0){
+                int chunk = Math.min(n - count, pending_len - flush_pos);
+                System.arraycopy(pending, flush_pos, b, off + count, chunk);
+                count += chunk;
+                flush_pos += chunk;
+                if(flush_pos == pending_len){
+                    flush_pos = -1;
+                    pending_len = 0;
+                }
+                continue;
+            }
+            if(pos == len){
+                // return what we have rather than block for more
+                if(count > 0 || eof){
+                    break;
+                }
+                len = in.read(buf, 0, buf.length);
+                pos = 0;
+                if(len < 0){
+                    len = 0;
+                    eof = true;
+                    // an unterminated sequence at the end doesn't match so passes through
+                    if(state != GROUND){
+                        state = GROUND;
+                        flush_pos = 0;
+                    }
+                }
+                continue;
+            }
+            int c = buf[pos] & 0xFF;
+            switch(state){
+                case GROUND:
+                    if(c == ESC || (c == UTF8_CSI_LEAD && ! raw_csi)){
+                        state = INTRODUCER;
+                        hold(c);
+                    } else if(c == CSI && raw_csi){
+                        state = PARAMETERS;
+                        hold(c);
+                    } else {
+                        b[off + count++] = (byte) c;
+                    }
+                    pos++;
+                    break;
+                case INTRODUCER:
+                    if(c == ((pending[0] & 0xFF) == ESC ? '[' : CSI)){
+                        state = PARAMETERS;
+                        hold(c);
+                        pos++;
+                    } else {
+                        fail();
+                    }
+                    break;
+                case PARAMETERS:
+                case INTERMEDIATES:
+                    if(state == PARAMETERS && isParameter(c)){
+                        hold(c);
+                        pos++;
+                    } else if(isIntermediate(c)){
+                        state = INTERMEDIATES;
+                        hold(c);
+                        pos++;
+                    } else if(isFinal(c)){
+                        // complete sequence, drop it
+                        state = GROUND;
+                        pending_len = 0;
+                        pos++;
+                    } else {
+                        fail();
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("invalid state " + state);
+            }
+        }
+        return count == 0 && eof && flush_pos < 0 ? -1 : count;
+    }
+
+    private void hold(int c) {
+        if(pending_len == pending.length){
+            byte[] pending2 = new byte[pending.length * 2];
+            System.arraycopy(pending, 0, pending2, 0, pending_len);
+            pending = pending2;
+        }
+        pending[pending_len++] = (byte) c;
+    }
+
+    // not a sequence after all, pass the held bytes through and look at the current byte afresh as it may be the
+    // start of the next sequence
+    private void fail() {
+        state = GROUND;
+        flush_pos = 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if(n <= 0){
+            return 0;
+        }
+        byte[] skip_buf = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while(skipped < n){
+            int count = read(skip_buf, 0, (int) Math.min(n - skipped, skip_buf.length));
+            if(count < 0){
+                break;
+            }
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    // only what the next read certainly returns without blocking
+    @Override
+    public int available() {
+        return flush_pos >= 0 ? pending_len - flush_pos : 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported by AnsiStrippingInputStream");
+    }
+
+}
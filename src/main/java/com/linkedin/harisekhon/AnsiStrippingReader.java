@@ -0,0 +1,203 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:53:05 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import static com.linkedin.harisekhon.AnsiStripper.*;
+
+// Reader that strips ANSI CSI escape sequences from the wrapped reader as it's read, same semantics as AnsiStripper
+//
+// A state machine over each char, so a sequence split across reads is still stripped. The chars of a possible
+// sequence are held back until it either completes and is dropped, or doesn't and they're passed through as is,
+// including at the end of the input. Reads in to one reused buffer and allocates nothing per read, unless an
+// unterminated sequence runs on past 64 chars. Not thread-safe
+public class AnsiStrippingReader extends FilterReader {
+
+    private final char[] buf = new char[8192];
+    private final char[] single = new char[1];
+    private int pos;
+    private int len;
+    private boolean eof;
+
+    private int state = GROUND;
+    private char[] pending = new char[64];
+    private int pending_len;
+    // pending chars [flush_pos, pending_len) are being passed through after a sequence didn't complete
+    private int flush_pos = -1;
+
+    public AnsiStrippingReader(Reader in) {
+        super(checkNotNull(in));
+    }
+
+    private static Reader checkNotNull(Reader in) {
+        if(in == null){
+            throw new IllegalArgumentException("null reader passed to AnsiStrippingReader");
+        }
+        return in;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int n) throws IOException {
+        if(off < 0 || n < 0 || n > cbuf.length - off){
+            throw new IndexOutOfBoundsException("range " + off + " + " + n + " out of bounds for length " + cbuf.length);
+        }
+        if(n == 0){
+            return 0;
+        }
+        int count = 0;
+        while(count < n){
+            if(flush_pos >= 0){
+                int chunk = Math.min(n - count, pending_len - flush_pos);
+                System.arraycopy(pending, flush_pos, cbuf, off + count, chunk);
+                count += chunk;
+                flush_pos += chunk;
+                if(flush_pos == pending_len){
+                    flush_pos = -1;
+                    pending_len = 0;
+                }
+                continue;
+            }
+            if(pos == len){
+                // return what we have rather than block for more
+                if(count > 0 || eof){
+                    break;
+                }
+                len = in.read(buf, 0, buf.length);
+                pos = 0;
+                if(len < 0){
+                    len = 0;
+                    eof = true;
+                    // an unterminated sequence at the end doesn't match so passes through
+                    if(state != GROUND){
+                        state = GROUND;
+                        flush_pos = 0;
+                    }
+                }
+                continue;
+            }
+            char c = buf[pos];
+            switch(state){
+                case GROUND:
+                    if(c == ESC){
+                        state = INTRODUCER;
+                        hold(c);
+                    } else if(c == CSI){
+                        state = PARAMETERS;
+                        hold(c);
+                    } else {
+                        cbuf[off + count++] = c;
+                    }
+                    pos++;
+                    break;
+                case INTRODUCER:
+                    if(c == '['){
+                        state = PARAMETERS;
+                        hold(c);
+                        pos++;
+                    } else {
+                        fail();
+                    }
+                    break;
+                case PARAMETERS:
+                case INTERMEDIATES:
+                    if(state == PARAMETERS && isParameter(c)){
+                        hold(c);
+                        pos++;
+                    } else if(isIntermediate(c)){
+                        state = INTERMEDIATES;
+                        hold(c);
+                        pos++;
+                    } else if(isFinal(c)){
+                        // complete sequence, drop it
+                        state = GROUND;
+                        pending_len = 0;
+                        pos++;
+                    } else {
+                        fail();
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("invalid state " + state);
+            }
+        }
+        return count == 0 && eof && flush_pos < 0 ? -1 : count;
+    }
+
+    private void hold(char c) {
+        if(pending_len == pending.length){
+            char[] pending2 = new char[pending.length * 2];
+            System.arraycopy(pending, 0, pending2, 0, pending_len);
+            pending = pending2;
+        }
+        pending[pending_len++] = c;
+    }
+
+    // not a sequence after all, pass the held chars through and look at the current char afresh as it may be the
+    // start of the next sequence
+    private void fail() {
+        state = GROUND;
+        flush_pos = 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) < 0 ? -1 : single[0];
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if(n < 0){
+            throw new IllegalArgumentException("negative skip " + n);
+        }
+        char[] skip_buf = new char[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while(skipped < n){
+            int count = read(skip_buf, 0, (int) Math.min(n - skipped, skip_buf.length));
+            if(count < 0){
+                break;
+            }
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        // only where the next read certainly won't block
+        return flush_pos >= 0 || (state == GROUND && pos < len && buf[pos] != ESC && buf[pos] != CSI);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported by AnsiStrippingReader");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported by AnsiStrippingReader");
+    }
+
+}
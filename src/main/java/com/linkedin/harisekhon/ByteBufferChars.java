@@ -0,0 +1,76 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:55:31 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.nio.ByteBuffer;
+
+// Read only ISO-8859-1 CharSequence view over bytes [start, end) of a ByteBuffer, so regexes can run directly over
+// a buffer or memory mapped file without decoding it in to a char[] first
+//
+// Each byte is one char so char offsets are byte offsets. Only ever uses absolute gets so never moves the buffer's
+// position. UTF-8 multibyte characters come through as 2-4 chars >= 0x80 which none of the ASCII regexes here match
+final class ByteBufferChars implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+
+    ByteBufferChars(ByteBuffer buffer) {
+        this(buffer, buffer.position(), buffer.limit());
+    }
+
+    ByteBufferChars(ByteBuffer buffer, int start, int end) {
+        if(start < 0 || start > end || end > buffer.limit()){
+            throw new IndexOutOfBoundsException("range " + start + " to " + end + " out of bounds for buffer limit " + buffer.limit());
+        }
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if(index < 0 || index >= end - start){
+            throw new IndexOutOfBoundsException("index " + index + " out of range for length " + (end - start));
+        }
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if(from < 0 || from > to || to > end - start){
+            throw new IndexOutOfBoundsException("range " + from + " to " + to + " out of bounds for length " + (end - start));
+        }
+        return new ByteBufferChars(buffer, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[end - start];
+        for(int i = 0; i < chars.length; i++){
+            chars[i] = (char) (buffer.get(start + i) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+}
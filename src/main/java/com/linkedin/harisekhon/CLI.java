@@ -20,6 +20,9 @@ package com.linkedin.harisekhon;
 import static com.linkedin.harisekhon.Utils.*;
 import org.apache.commons.cli.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 public class CLI {
 
     private boolean debug = false;
@@ -28,6 +31,8 @@ public class CLI {
     private int timeout = 0;
     private int timeout_default = 10;
     private int timeout_max = 86400;
+    // System.nanoTime() when the self timeout thread was started
+    private long start_nanos = 0;
     protected String usage_header = "Hari Sekhon - https://github.com/harisekhon\n\n";
     protected String usage_msg = "<prog> <options>";
     protected CommandLine cmd;
@@ -115,6 +120,7 @@ public class CLI {
         log.info(String.format("verbose level: %s", verbose));
         validateInt(timeout, "timeout", 0, timeout_max);
         log.info(String.format("setting timeout to %s secs", timeout));
+        start_nanos = System.nanoTime();
         Thread t = new Thread(new Timeout(timeout));
         t.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
             @Override
@@ -231,6 +237,25 @@ public class CLI {
         timeout = secs;
     }
 
+    // millis left before the self timeout kills the program, or the whole timeout if not yet started
+    public long getRemainingMillis(){
+        long timeout_millis = 1000L * (timeout > 0 ? timeout : timeout_default);
+        if(start_nanos == 0){
+            return timeout_millis;
+        }
+        return timeout_millis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start_nanos);
+    }
+
+    // Utils.resolveAll() with the deadline set to 90% of the time remaining before the self timeout, so that the run()
+    // method gets the partial results back with time to report them
+    public final CompletableFuture<String[]> resolveAll(String[] hosts){
+        return Utils.resolveAll(hosts, Math.max(1, getRemainingMillis() * 9 / 10));
+    }
+
+    public final CompletableFuture<ResolveResult> resolveAllDetailed(String[] hosts){
+        return Utils.resolveAllDetailed(hosts, Math.max(1, getRemainingMillis() * 9 / 10));
+    }
+
     public int getTimeoutDefault(){
         return timeout_default;
     }
@@ -0,0 +1,81 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 14:20:11 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Compiled once regex with a per-thread reusable Matcher
+//
+// Pattern is immutable and thread-safe but Matcher is not, so each thread gets its own Matcher which is reset
+// on to the input for each call instead of allocating a new one via String.matches() which also recompiles the regex
+final class CachedPattern {
+
+    private final Pattern pattern;
+    private final ThreadLocal<Matcher> matcher;
+
+    CachedPattern(String regex) {
+        this(regex, 0);
+    }
+
+    CachedPattern(String regex, int flags) {
+        pattern = Pattern.compile(regex, flags);
+        matcher = new ThreadLocal<Matcher>() {
+            @Override
+            protected Matcher initialValue() {
+                return pattern.matcher("");
+            }
+        };
+    }
+
+    Pattern pattern() {
+        return pattern;
+    }
+
+    // same semantics as String.matches(regex) - the whole input must match
+    boolean matches(CharSequence input) {
+        if(input == null){
+            return false;
+        }
+        Matcher m = matcher.get();
+        try {
+            return m.reset(input).matches();
+        } finally {
+            // don't pin the last input in memory for the life of the thread
+            m.reset("");
+        }
+    }
+
+    // same semantics as Matcher.find() from the start of the input
+    boolean find(CharSequence input) {
+        if(input == null){
+            return false;
+        }
+        Matcher m = matcher.get();
+        try {
+            return m.reset(input).find();
+        } finally {
+            m.reset("");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pattern.pattern();
+    }
+
+}
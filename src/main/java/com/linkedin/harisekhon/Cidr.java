@@ -0,0 +1,204 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 17:14:26 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Immutable IPv4 or IPv6 CIDR range, eg. 10.0.0.0/8 or 2001:db8::/32
+//
+// Stored packed as primitives rather than InetAddress - IPv4 in the low 32 bits of low, IPv6 across high and low.
+// Host bits after the prefix are masked off so 10.1.2.3/8 is the same range as 10.0.0.0/8
+public final class Cidr {
+
+    private final boolean ipv6;
+    private final long high;
+    private final long low;
+    private final int prefix;
+
+    private Cidr(boolean ipv6, long high, long low, int prefix) {
+        this.ipv6 = ipv6;
+        this.prefix = prefix;
+        if(ipv6){
+            this.high = high & mask(prefix);
+            this.low = low & mask(prefix - 64);
+        } else {
+            this.high = 0;
+            this.low = low & mask32(prefix);
+        }
+    }
+
+    public static Cidr ipv4(int address, int prefix) {
+        if(prefix < 0 || prefix > 32){
+            throw new IllegalArgumentException("invalid IPv4 CIDR prefix length " + prefix + ", must be between 0 and 32");
+        }
+        return new Cidr(false, 0, address & 0xFFFFFFFFL, prefix);
+    }
+
+    public static Cidr ipv6(long high, long low, int prefix) {
+        if(prefix < 0 || prefix > 128){
+            throw new IllegalArgumentException("invalid IPv6 CIDR prefix length " + prefix + ", must be between 0 and 128");
+        }
+        return new Cidr(true, high, low, prefix);
+    }
+
+    // top n bits set of a 64 bit word, clamped to 0-64
+    static long mask(int bits) {
+        if(bits <= 0){
+            return 0;
+        } else if(bits >= 64){
+            return -1L;
+        }
+        return -1L << (64 - bits);
+    }
+
+    // top n bits set of a 32 bit address held in the low 32 bits of a long
+    static long mask32(int bits) {
+        return mask(bits) >>> 32;
+    }
+
+    // ===================================================================== //
+
+    // doesn't allocate
+    public static boolean isValid(CharSequence cidr) {
+        if(cidr == null){
+            return false;
+        }
+        return isValid(cidr, 0, cidr.length());
+    }
+
+    public static boolean isValid(CharSequence cidr, int start, int end) {
+        if(cidr == null || start < 0 || end > cidr.length()){
+            return false;
+        }
+        int slash = indexOf(cidr, '/', start, end);
+        if(slash <= start){
+            return false;
+        }
+        if(indexOf(cidr, ':', start, slash) >= 0){
+            return IPv6.isValid(cidr, start, slash) && prefixLength(cidr, slash + 1, end, 128) >= 0;
+        }
+        return IPv4.isValid(cidr, start, slash) && prefixLength(cidr, slash + 1, end, 32) >= 0;
+    }
+
+    public static Cidr parse(CharSequence cidr) {
+        if(cidr == null){
+            throw new IllegalArgumentException("null passed to Cidr.parse()");
+        }
+        int len = cidr.length();
+        int slash = indexOf(cidr, '/', 0, len);
+        if(slash > 0){
+            if(indexOf(cidr, ':', 0, slash) >= 0){
+                long[] address = new long[2];
+                int prefix = prefixLength(cidr, slash + 1, len, 128);
+                if(prefix >= 0 && IPv6.parse(cidr, 0, slash, address)){
+                    return new Cidr(true, address[0], address[1], prefix);
+                }
+            } else {
+                int prefix = prefixLength(cidr, slash + 1, len, 32);
+                long address = IPv4.parse(cidr, 0, slash);
+                if(prefix >= 0 && address != IPv4.INVALID){
+                    return new Cidr(false, 0, address, prefix);
+                }
+            }
+        }
+        throw new IllegalArgumentException("invalid CIDR '" + cidr + "', must be an IPv4 or IPv6 address followed by /<prefix length>");
+    }
+
+    // 1-3 digit decimal without leading zeros, or -1 if invalid or > max
+    private static int prefixLength(CharSequence str, int start, int end, int max) {
+        int len = end - start;
+        if(len < 1 || len > 3 || (len > 1 && str.charAt(start) == '0')){
+            return -1;
+        }
+        int prefix = 0;
+        for(int i = start; i < end; i++){
+            char c = str.charAt(i);
+            if(c < '0' || c > '9'){
+                return -1;
+            }
+            prefix = prefix * 10 + (c - '0');
+        }
+        if(prefix > max){
+            return -1;
+        }
+        return prefix;
+    }
+
+    private static int indexOf(CharSequence str, char c, int start, int end) {
+        for(int i = start; i < end; i++){
+            if(str.charAt(i) == c){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ===================================================================== //
+
+    public boolean isIPv6() {
+        return ipv6;
+    }
+
+    public int getPrefix() {
+        return prefix;
+    }
+
+    // high 64 bits of the network address, always 0 for IPv4
+    public long getHigh() {
+        return high;
+    }
+
+    // low 64 bits of the network address, for IPv4 the address is in the low 32 bits
+    public long getLow() {
+        return low;
+    }
+
+    public boolean contains(int ipv4) {
+        return ! ipv6 && ((ipv4 & 0xFFFFFFFFL) & mask32(prefix)) == low;
+    }
+
+    public boolean contains(long ip_high, long ip_low) {
+        return ipv6 && (ip_high & mask(prefix)) == high && (ip_low & mask(prefix - 64)) == low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(this == o){
+            return true;
+        }
+        if(!(o instanceof Cidr)){
+            return false;
+        }
+        Cidr c = (Cidr) o;
+        return ipv6 == c.ipv6 && high == c.high && low == c.low && prefix == c.prefix;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = (int) (high ^ (high >>> 32));
+        h = 31 * h + (int) (low ^ (low >>> 32));
+        h = 31 * h + prefix;
+        return ipv6 ? ~h : h;
+    }
+
+    @Override
+    public String toString() {
+        if(ipv6){
+            return IPv6.toString(high, low) + "/" + prefix;
+        }
+        return IPv4.toString(low) + "/" + prefix;
+    }
+
+}
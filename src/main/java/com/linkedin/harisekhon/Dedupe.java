@@ -0,0 +1,212 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:49:33 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+// In place, order preserving deduplication of arrays, keeping the first of each value, eg. host lists or packed
+// IPv4 / IPv6 addresses
+//
+// Each kept value is moved down to the next free slot and its slot recorded in an open addressing table of ints,
+// one int[] per call instead of a HashSet / LinkedHashSet entry object per element plus the copies in and out of
+// them. Tiny ranges are compared pairwise without allocating at all
+//
+// Each method returns the end of the deduplicated values, ie. the new length for a whole array. Object slots past
+// it are nulled so they don't hold references, primitive slots past it are left as they were. Nulls are values too
+// and the first null is kept
+public final class Dedupe {
+
+    // pairwise comparison beats hashing up to around here
+    private static final int SMALL = 8;
+
+    private static final int GOLDEN = 0x9E3779B9;
+
+    private Dedupe() {
+        // static methods only
+    }
+
+    // power of 2 at least twice n so the table is at most half full
+    private static int tableSize(int n) {
+        if(n >= 1 << 28){
+            return 1 << 30;
+        }
+        return Integer.highestOneBit(Math.max(n, 2) * 4 - 1);
+    }
+
+    private static void checkRange(int length, int from, int to) {
+        if(from < 0 || from > to || to > length){
+            throw new IndexOutOfBoundsException("range " + from + " to " + to + " out of bounds for length " + length);
+        }
+    }
+
+    // ===================================================================== //
+
+    public static <T> int dedupe(T[] a) {
+        if(a == null){
+            throw new IllegalArgumentException("null array passed to Dedupe.dedupe()");
+        }
+        return dedupe(a, 0, a.length);
+    }
+
+    public static <T> int dedupe(T[] a, int from, int to) {
+        if(a == null){
+            throw new IllegalArgumentException("null array passed to Dedupe.dedupe()");
+        }
+        checkRange(a.length, from, to);
+        int end = from;
+        if(to - from <= SMALL){
+            outer:
+            for(int i = from; i < to; i++){
+                T item = a[i];
+                for(int j = from; j < end; j++){
+                    if(item == null ? a[j] == null : item.equals(a[j])){
+                        continue outer;
+                    }
+                }
+                a[end++] = item;
+            }
+        } else {
+            int size = tableSize(to - from);
+            int mask = size - 1;
+            int shift = Integer.numberOfLeadingZeros(mask);
+            // slot + 1 of each kept value, 0 for empty, and its hash to skip most equals() calls
+            int[] slots = new int[size];
+            int[] hashes = new int[size];
+            for(int i = from; i < to; i++){
+                T item = a[i];
+                int hash = item == null ? 0 : item.hashCode();
+                int index = (hash * GOLDEN) >>> shift;
+                boolean duplicate = false;
+                while(slots[index] != 0){
+                    if(hashes[index] == hash){
+                        T kept = a[slots[index] - 1];
+                        if(item == null ? kept == null : item.equals(kept)){
+                            duplicate = true;
+                            break;
+                        }
+                    }
+                    index = (index + 1) & mask;
+                }
+                if(! duplicate){
+                    slots[index] = end + 1;
+                    hashes[index] = hash;
+                    a[end++] = item;
+                }
+            }
+        }
+        for(int i = end; i < to; i++){
+            a[i] = null;
+        }
+        return end;
+    }
+
+    // ===================================================================== //
+
+    public static int dedupe(int[] a) {
+        if(a == null){
+            throw new IllegalArgumentException("null array passed to Dedupe.dedupe()");
+        }
+        return dedupe(a, 0, a.length);
+    }
+
+    public static int dedupe(int[] a, int from, int to) {
+        if(a == null){
+            throw new IllegalArgumentException("null array passed to Dedupe.dedupe()");
+        }
+        checkRange(a.length, from, to);
+        int end = from;
+        if(to - from <= SMALL){
+            outer:
+            for(int i = from; i < to; i++){
+                int item = a[i];
+                for(int j = from; j < end; j++){
+                    if(a[j] == item){
+                        continue outer;
+                    }
+                }
+                a[end++] = item;
+            }
+            return end;
+        }
+        int size = tableSize(to - from);
+        int mask = size - 1;
+        int shift = Integer.numberOfLeadingZeros(mask);
+        int[] slots = new int[size];
+        outer:
+        for(int i = from; i < to; i++){
+            int item = a[i];
+            int index = (item * GOLDEN) >>> shift;
+            while(slots[index] != 0){
+                if(a[slots[index] - 1] == item){
+                    continue outer;
+                }
+                index = (index + 1) & mask;
+            }
+            slots[index] = end + 1;
+            a[end++] = item;
+        }
+        return end;
+    }
+
+    // ===================================================================== //
+
+    public static int dedupe(long[] a) {
+        if(a == null){
+            throw new IllegalArgumentException("null array passed to Dedupe.dedupe()");
+        }
+        return dedupe(a, 0, a.length);
+    }
+
+    public static int dedupe(long[] a, int from, int to) {
+        if(a == null){
+            throw new IllegalArgumentException("null array passed to Dedupe.dedupe()");
+        }
+        checkRange(a.length, from, to);
+        int end = from;
+        if(to - from <= SMALL){
+            outer:
+            for(int i = from; i < to; i++){
+                long item = a[i];
+                for(int j = from; j < end; j++){
+                    if(a[j] == item){
+                        continue outer;
+                    }
+                }
+                a[end++] = item;
+            }
+            return end;
+        }
+        int size = tableSize(to - from);
+        int mask = size - 1;
+        int shift = Integer.numberOfLeadingZeros(mask);
+        int[] slots = new int[size];
+        outer:
+        for(int i = from; i < to; i++){
+            long item = a[i];
+            int index = ((int) (item ^ (item >>> 32)) * GOLDEN) >>> shift;
+            while(slots[index] != 0){
+                if(a[slots[index] - 1] == item){
+                    continue outer;
+                }
+                index = (index + 1) & mask;
+            }
+            slots[index] = end + 1;
+            a[end++] = item;
+        }
+        return end;
+    }
+
+}
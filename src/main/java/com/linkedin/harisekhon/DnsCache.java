@@ -0,0 +1,244 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 22:51:02 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Thread safe cache of host name lookups in front of a Resolver, used by Utils.resolveIp() and validateResolvable()
+//
+//   - successful lookups are cached for the positive TTL and UnknownHostException for the negative TTL, a TTL of 0
+//     disables caching of that kind
+//   - bounded to max_size hosts, evicting the least recently used
+//   - single flight - concurrent lookups of the same host that isn't cached wait on one call to the Resolver
+//     instead of each blocking on their own
+//
+// Host names are case insensitive. Any other exception thrown by the Resolver is passed through and not cached.
+//
+// The lock is only held for the map operations, never while calling the Resolver, so a slow lookup of one host
+// doesn't hold up hits or lookups of other hosts. With the default system resolver the JVM's own InetAddress cache
+// (networkaddress.cache.ttl) still applies underneath this one.
+public final class DnsCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    public static final long DEFAULT_POSITIVE_TTL_MILLIS = 60000;
+    public static final long DEFAULT_NEGATIVE_TTL_MILLIS = 10000;
+
+    public static final Resolver SYSTEM_RESOLVER = new Resolver() {
+        @Override
+        public InetAddress resolve(String host) throws UnknownHostException {
+            return InetAddress.getByName(host);
+        }
+    };
+
+    private final Resolver resolver;
+    private final int max_size;
+    private final long positive_ttl;
+    private final long negative_ttl;
+
+    // guarded by this
+    private final LinkedHashMap<String, CacheEntry> cache;
+    private final HashMap<String, FutureTask<CacheEntry>> in_flight = new HashMap<String, FutureTask<CacheEntry>>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DnsCache() {
+        this(SYSTEM_RESOLVER, DEFAULT_MAX_SIZE, DEFAULT_POSITIVE_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    public DnsCache(Resolver resolver) {
+        this(resolver, DEFAULT_MAX_SIZE, DEFAULT_POSITIVE_TTL_MILLIS, DEFAULT_NEGATIVE_TTL_MILLIS);
+    }
+
+    public DnsCache(Resolver resolver, int max_size, long positive_ttl_millis, long negative_ttl_millis) {
+        if(resolver == null){
+            throw new IllegalArgumentException("null resolver passed to DnsCache()");
+        }
+        if(max_size < 1){
+            throw new IllegalArgumentException("invalid DnsCache max size " + max_size + ", must be >= 1");
+        }
+        if(positive_ttl_millis < 0 || negative_ttl_millis < 0){
+            throw new IllegalArgumentException("invalid DnsCache TTL, must be >= 0");
+        }
+        this.resolver = resolver;
+        this.max_size = max_size;
+        this.positive_ttl = TimeUnit.MILLISECONDS.toNanos(positive_ttl_millis);
+        this.negative_ttl = TimeUnit.MILLISECONDS.toNanos(negative_ttl_millis);
+        final int max = max_size;
+        cache = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    // address or cached negative result, timestamped with System.nanoTime() when resolved
+    private static final class CacheEntry {
+        final InetAddress address;
+        final String error;
+        final long resolved;
+
+        CacheEntry(InetAddress address, String error, long resolved) {
+            this.address = address;
+            this.error = error;
+            this.resolved = resolved;
+        }
+
+        // a new exception each time rather than rethrowing a shared one with another thread's stack trace
+        InetAddress get() throws UnknownHostException {
+            if(address == null){
+                throw new UnknownHostException(error);
+            }
+            return address;
+        }
+    }
+
+    private boolean isFresh(CacheEntry entry, long now) {
+        return now - entry.resolved < (entry.address != null ? positive_ttl : negative_ttl);
+    }
+
+    public InetAddress resolve(String host) throws UnknownHostException {
+        if(host == null){
+            throw new IllegalArgumentException("no host passed to DnsCache.resolve() (null)");
+        }
+        final String key = host.trim().toLowerCase(Locale.ENGLISH);
+        if(key.isEmpty()){
+            throw new IllegalArgumentException("no host passed to DnsCache.resolve() (blank)");
+        }
+        FutureTask<CacheEntry> task;
+        boolean owner = false;
+        synchronized(this){
+            CacheEntry entry = cache.get(key);
+            if(entry != null){
+                if(isFresh(entry, System.nanoTime())){
+                    hits.incrementAndGet();
+                    return entry.get();
+                }
+                cache.remove(key);
+            }
+            task = in_flight.get(key);
+            if(task == null){
+                task = new FutureTask<CacheEntry>(new Callable<CacheEntry>() {
+                    @Override
+                    public CacheEntry call() throws Exception {
+                        try {
+                            InetAddress address = resolver.resolve(key);
+                            if(address == null){
+                                throw new UnknownHostException(key + ": resolver returned no address");
+                            }
+                            return new CacheEntry(address, null, System.nanoTime());
+                        } catch (UnknownHostException e){
+                            return new CacheEntry(null, e.getMessage(), System.nanoTime());
+                        }
+                    }
+                });
+                in_flight.put(key, task);
+                owner = true;
+                misses.incrementAndGet();
+            } else {
+                // joining another thread's lookup doesn't cost a call to the resolver
+                hits.incrementAndGet();
+            }
+        }
+        if(owner){
+            // runs the lookup in this thread, any threads that joined wait on the result
+            task.run();
+            synchronized(this){
+                in_flight.remove(key);
+                try {
+                    CacheEntry entry = task.get();
+                    if(isFresh(entry, System.nanoTime())){
+                        cache.put(key, entry);
+                    }
+                } catch (InterruptedException e){
+                    // can't happen, the task has already run
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e){
+                    // not cached, thrown below
+                }
+            }
+        }
+        return await(task, key).get();
+    }
+
+    private static CacheEntry await(FutureTask<CacheEntry> task, String host) throws UnknownHostException {
+        try {
+            return task.get();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new UnknownHostException(host + ": interrupted while waiting for lookup");
+        } catch (ExecutionException e){
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException){
+                throw (RuntimeException) cause;
+            } else if(cause instanceof Error){
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("resolver failed for host '" + host + "': " + cause, cause);
+        }
+    }
+
+    // ===================================================================== //
+
+    // answered from the cache or by waiting on a lookup already in flight
+    public long getHits() {
+        return hits.get();
+    }
+
+    // calls to the resolver
+    public long getMisses() {
+        return misses.get();
+    }
+
+    // number of hosts cached, including expired entries not yet evicted
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public int getMaxSize() {
+        return max_size;
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    // drops one host so that the next lookup goes to the resolver
+    public synchronized void invalidate(String host) {
+        if(host != null){
+            cache.remove(host.trim().toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DnsCache[size=%d, max_size=%d, hits=%d, misses=%d]", size(), max_size, getHits(), getMisses());
+    }
+
+}
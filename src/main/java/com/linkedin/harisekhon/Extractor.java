@@ -0,0 +1,389 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:58:47 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Finds URLs, emails, hosts, IPs, MACs and AWS keys inside arbitrary text in a single pass, eg. scanning large logs
+// for leaked credentials or host references
+//
+// The Utils regexes for each Kind are combined in to one alternation, each wrapped in a capturing group to tell
+// which one matched, so every position is only scanned once rather than once per regex. Where more than one could
+// match at the same position the first Kind in enum order wins, so a URL or email isn't also reported as the FQDN
+// inside it. URLs must have an http:// or https:// scheme here, otherwise every FQDN would also be a URL
+//
+// Readers are scanned through a fixed size char window so memory is bounded however long the lines are. When the
+// regex hits the end of the window without a complete match, the last max_match_length chars are kept and more input
+// read, so matches straddling reads aren't missed, but a match longer than that may be cut short. ByteBuffers are
+// scanned in place as ISO-8859-1 via ByteBufferChars, since all of these are ASCII, with offsets in bytes
+//
+// Files are memory mapped and split in to line aligned chunks scanned in parallel on a ForkJoinPool, with the matches
+// handed back in file order on the calling thread, eg. for the AWS key regexes over large log archives:
+//
+//   new Extractor(EnumSet.of(Kind.AWS_ACCESS_KEY, Kind.AWS_SECRET_KEY)).extract(file, handler)
+//
+// None of the regexes match across a newline so splitting on them doesn't change what's found
+//
+// Compiled once against the TLDs current at construction, immutable and thread-safe
+public final class Extractor {
+
+    public enum Kind {
+        URL, EMAIL, AWS_HOSTNAME, FQDN, IP, MAC, AWS_ACCESS_KEY, AWS_SECRET_KEY
+    }
+
+    // receives each match in input order
+    public interface Handler {
+        void match(Match match);
+    }
+
+    public static final class Match {
+
+        private final Kind kind;
+        private final long start;
+        private final long end;
+        private final String text;
+
+        Match(Kind kind, long start, long end, String text) {
+            this.kind = kind;
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        // offset of the first char in the whole input, or byte for ByteBuffers
+        public long getStart() {
+            return start;
+        }
+
+        // offset after the last char
+        public long getEnd() {
+            return end;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return kind + "[" + start + "-" + end + "]=" + text;
+        }
+
+    }
+
+    static final int default_window = 65536;
+    static final int default_max_match_length = 4096;
+    static final int default_chunk_size = 8 * 1024 * 1024;
+
+    private final Pattern pattern;
+    private final Kind[] kinds;
+    private final int[] groups;
+    private final int window;
+    private final int max_match_length;
+
+    public Extractor() {
+        this(EnumSet.allOf(Kind.class));
+    }
+
+    public Extractor(Set<Kind> kinds) {
+        this(kinds, default_window, default_max_match_length);
+    }
+
+    Extractor(Set<Kind> kinds, int window, int max_match_length) {
+        if(kinds == null || kinds.isEmpty()){
+            throw new IllegalArgumentException("no kinds passed to Extractor");
+        }
+        if(max_match_length < 1 || window < 2 * max_match_length + 2){
+            throw new IllegalArgumentException("invalid Extractor window " + window + " for max match length " + max_match_length + ", window must be over twice as long");
+        }
+        this.window = window;
+        this.max_match_length = max_match_length;
+        this.kinds = new Kind[kinds.size()];
+        this.groups = new int[kinds.size()];
+        TldRegistry.Snapshot tlds = TldRegistry.current();
+        StringBuilder regex = new StringBuilder();
+        int group = 0;
+        int i = 0;
+        for(Kind kind: Kind.values()){
+            if(! kinds.contains(kind)){
+                continue;
+            }
+            String alternative = regex(kind, tlds);
+            if(i > 0){
+                regex.append('|');
+            }
+            regex.append('(').append(alternative).append(')');
+            group++;
+            this.kinds[i] = kind;
+            this.groups[i] = group;
+            // skip past any groups of its own so the next kind's group number is right
+            group += Pattern.compile(alternative).matcher("").groupCount();
+            i++;
+        }
+        pattern = Pattern.compile(regex.toString());
+    }
+
+    private static String regex(Kind kind, TldRegistry.Snapshot tlds) {
+        switch(kind){
+            case URL:               return "\\b(?i:https?://)" + tlds.getHostRegex() + "(?::\\d{1,5})?(?:" + Utils.url_path_suffix_regex + ")?";
+            case EMAIL:             return tlds.getEmailRegex();
+            case AWS_HOSTNAME:      return tlds.getAwsHostnameRegex();
+            case FQDN:              return tlds.getFqdnRegex();
+            case IP:                return Utils.ip_regex;
+            case MAC:               return Utils.mac_regex;
+            case AWS_ACCESS_KEY:    return Utils.aws_access_key_regex;
+            case AWS_SECRET_KEY:    return Utils.aws_secret_key_regex;
+            default:
+                throw new IllegalArgumentException("unsupported kind " + kind);
+        }
+    }
+
+    Pattern pattern() {
+        return pattern;
+    }
+
+    // ===================================================================== //
+
+    // returns the number of matches
+    public long extract(CharSequence text, Handler handler) {
+        if(text == null || handler == null){
+            throw new IllegalArgumentException("null passed to Extractor.extract()");
+        }
+        return extract(pattern.matcher(text), 0, handler);
+    }
+
+    public List<Match> extract(CharSequence text) {
+        final List<Match> matches = new ArrayList<Match>();
+        extract(text, new Handler() {
+            @Override
+            public void match(Match match) {
+                matches.add(match);
+            }
+        });
+        return matches;
+    }
+
+    // scans the remaining bytes in place without moving the buffer's position, offsets are from its position
+    public long extract(ByteBuffer buffer, Handler handler) {
+        if(buffer == null || handler == null){
+            throw new IllegalArgumentException("null passed to Extractor.extract()");
+        }
+        return extract(pattern.matcher(new ByteBufferChars(buffer)), 0, handler);
+    }
+
+    long extract(Matcher m, long base, Handler handler) {
+        long count = 0;
+        while(m.find()){
+            handler.match(match(m, base));
+            count++;
+        }
+        return count;
+    }
+
+    // reads to the end of the reader but doesn't close it
+    public long extract(Reader reader, Handler handler) throws IOException {
+        if(reader == null || handler == null){
+            throw new IllegalArgumentException("null passed to Extractor.extract()");
+        }
+        char[] buf = new char[window];
+        int len = 0;
+        int pos = 0;
+        long base = 0;
+        long count = 0;
+        boolean eof = false;
+        Matcher m = pattern.matcher("");
+        // let \b and the AWS key lookbehinds see the char kept before the region
+        m.useTransparentBounds(true);
+        m.useAnchoringBounds(false);
+        while(true){
+            while(! eof && len < buf.length){
+                int n = reader.read(buf, len, buf.length - len);
+                if(n < 0){
+                    eof = true;
+                } else {
+                    len += n;
+                }
+            }
+            m.reset(CharBuffer.wrap(buf, 0, len));
+            m.region(pos, len);
+            // from here keep everything from keep on, one char before it for context, and read more
+            int keep;
+            while(true){
+                boolean found = m.find();
+                if(! eof && m.hitEnd()){
+                    // a match may continue, or an earlier one complete, with more input
+                    keep = Math.max(pos, len - max_match_length);
+                    if(found){
+                        keep = Math.min(keep, m.start());
+                    }
+                    if(keep > 1){
+                        break;
+                    }
+                    // window full of one long match, take it as is
+                }
+                if(! found){
+                    if(eof){
+                        return count;
+                    }
+                    keep = len;
+                    break;
+                }
+                handler.match(match(m, base));
+                count++;
+                pos = m.end();
+            }
+            int shift = keep - 1;
+            System.arraycopy(buf, shift, buf, 0, len - shift);
+            len -= shift;
+            base += shift;
+            pos = 1;
+        }
+    }
+
+    // ===================================================================== //
+
+    // offsets are bytes in to the file, handler is called on this thread
+    public long extract(File file, Handler handler) throws IOException {
+        return extract(file, handler, ForkJoinPool.commonPool());
+    }
+
+    public long extract(File file, Handler handler, ForkJoinPool pool) throws IOException {
+        return extract(file, handler, pool, default_chunk_size);
+    }
+
+    long extract(File file, Handler handler, ForkJoinPool pool, int chunk_size) throws IOException {
+        if(file == null || handler == null || pool == null){
+            throw new IllegalArgumentException("null passed to Extractor.extract()");
+        }
+        // enough chunks queued to keep every worker busy without holding the matches of the whole file in memory
+        int max_pending = 2 * pool.getParallelism();
+        ArrayDeque<ForkJoinTask<List<Match>>> pending = new ArrayDeque<ForkJoinTask<List<Match>>>();
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            long start = 0;
+            long count = 0;
+            while(start < size || ! pending.isEmpty()){
+                while(start < size && pending.size() < max_pending){
+                    long end = lineEnd(channel, start, Math.min(size, start + chunk_size), size);
+                    pending.add(pool.submit(scanChunk(channel, start, end)));
+                    start = end;
+                }
+                List<Match> matches;
+                try {
+                    matches = pending.poll().join();
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                for(Match match: matches){
+                    handler.match(match);
+                }
+                count += matches.size();
+            }
+            return count;
+        } finally {
+            for(ForkJoinTask<List<Match>> task: pending){
+                task.cancel(false);
+            }
+            channel.close();
+        }
+    }
+
+    // the offset after the first newline at or after end - 1, so a chunk ending in a newline stays as is, or the
+    // file size. A single line longer than 2GB is cut since that's the most one mapping can hold
+    private static long lineEnd(FileChannel channel, long start, long end, long size) throws IOException {
+        if(end >= size){
+            return size;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+        long limit = Math.min(size, start + Integer.MAX_VALUE);
+        long pos = end - 1;
+        while(pos < limit){
+            buf.clear();
+            int n = channel.read(buf, pos);
+            if(n < 0){
+                break;
+            }
+            for(int i = 0; i < n; i++){
+                if(buf.get(i) == '\n'){
+                    return Math.min(pos + i + 1, limit);
+                }
+            }
+            pos += n;
+        }
+        return limit;
+    }
+
+    private Callable<List<Match>> scanChunk(final FileChannel channel, final long start, final long end) {
+        return new Callable<List<Match>>() {
+            @Override
+            public List<Match> call() {
+                ByteBuffer mapped;
+                try {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                final List<Match> matches = new ArrayList<Match>();
+                extract(pattern.matcher(new ByteBufferChars(mapped)), start, new Handler() {
+                    @Override
+                    public void match(Match match) {
+                        matches.add(match);
+                    }
+                });
+                return matches;
+            }
+        };
+    }
+
+    private Match match(Matcher m, long base) {
+        return new Match(kind(m), base + m.start(), base + m.end(), m.group());
+    }
+
+    // which Kind the last match of a Matcher on pattern() was
+    Kind kind(Matcher m) {
+        for(int i = 0; i < groups.length; i++){
+            if(m.start(groups[i]) >= 0){
+                return kinds[i];
+            }
+        }
+        throw new IllegalStateException("no kind matched");
+    }
+
+}
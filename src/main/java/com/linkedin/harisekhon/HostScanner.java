@@ -0,0 +1,246 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 15:31:04 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Single pass, allocation free scanner for hostnames, FQDNs, domains and emails
+//
+// Accepts and rejects exactly the same inputs as the corresponding regexes in Utils, see HostScannerTest which fuzzes
+// the two against each other:
+//
+//   hostname_component_regex - 1-63 chars, alphanumeric at both ends, alphanumeric, underscores or hyphens in between
+//   domain_component         - 1-63 chars, alphanumeric at both ends, alphanumeric or hyphens in between
+//   tld_regex                - looked up in the loaded TLDs via TldMatcher instead of the regex alternation
+//
+// Works on any CharSequence (String, StringBuilder, CharBuffer etc) or a region of one
+public final class HostScanner {
+
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final int MAX_EMAIL_LOCAL_LENGTH = 64;
+
+    private HostScanner() {
+        // static methods only
+    }
+
+    // ===================================================================== //
+    //
+    //                         C h a r   C l a s s e s
+    //
+    // ===================================================================== //
+
+    private static boolean isAlNum(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isHostnameChar(char c) {
+        return isAlNum(c) || c == '-' || c == '_';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAlNum(c) || c == '-';
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isAlNum(c) || c == '.' || c == '_' || c == '%' || c == '\'' || c == '+' || c == '-';
+    }
+
+    // ===================================================================== //
+    //
+    //                             L a b e l s
+    //
+    // ===================================================================== //
+
+    // chars [start, end) match hostname_component_regex
+    public static boolean isHostnameComponent(CharSequence str, int start, int end) {
+        int len = end - start;
+        if(str == null || len < 1 || len > MAX_LABEL_LENGTH){
+            return false;
+        }
+        if(! isAlNum(str.charAt(start)) || ! isAlNum(str.charAt(end - 1))){
+            return false;
+        }
+        for(int i = start + 1; i < end - 1; i++){
+            if(! isHostnameChar(str.charAt(i))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // chars [start, end) match domain_component
+    public static boolean isDomainComponent(CharSequence str, int start, int end) {
+        int len = end - start;
+        if(str == null || len < 1 || len > MAX_LABEL_LENGTH){
+            return false;
+        }
+        if(! isAlNum(str.charAt(start)) || ! isAlNum(str.charAt(end - 1))){
+            return false;
+        }
+        for(int i = start + 1; i < end - 1; i++){
+            if(! isDomainChar(str.charAt(i))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===================================================================== //
+    //
+    //                     D o m a i n s   /   H o s t s
+    //
+    // ===================================================================== //
+
+    // chars [start, end) match domain_regex, or domain_regex_strict if strict which requires at least one domain
+    // component before the TLD
+    public static boolean isDomain(CharSequence str, int start, int end, boolean strict) {
+        return isDomain(str, start, end, strict, Utils.tldMatcher());
+    }
+
+    static boolean isDomain(CharSequence str, int start, int end, boolean strict, TldMatcher tlds) {
+        if(str == null || start < 0 || end > str.length() || start >= end){
+            return false;
+        }
+        // validate each label as we go so we only pass over the input once
+        int label_start = start;
+        for(int i = start; i < end; i++){
+            char c = str.charAt(i);
+            if(c == '.'){
+                int len = i - label_start;
+                if(len < 1 || len > MAX_LABEL_LENGTH || ! isAlNum(str.charAt(i - 1))){
+                    return false;
+                }
+                label_start = i + 1;
+            } else if(i == label_start){
+                if(! isAlNum(c)){
+                    return false;
+                }
+            } else if(! isDomainChar(c)){
+                return false;
+            }
+        }
+        if(strict && label_start == start){
+            return false;
+        }
+        // the final label must be a TLD, no length limit here as the regex didn't have one
+        return tlds.contains(str, label_start, end);
+    }
+
+    public static boolean isDomain(CharSequence domain) {
+        if(domain == null){
+            return false;
+        }
+        return isDomain(domain, 0, domain.length(), false);
+    }
+
+    public static boolean isDomainStrict(CharSequence domain) {
+        if(domain == null){
+            return false;
+        }
+        return isDomain(domain, 0, domain.length(), true);
+    }
+
+    public static boolean isDnsShortName(CharSequence dns) {
+        if(dns == null || dns.length() < 3 || dns.length() > MAX_LABEL_LENGTH){
+            return false;
+        }
+        return isHostnameComponent(dns, 0, dns.length());
+    }
+
+    // hostname_regex - a hostname component optionally followed by a dot and domain, under 256 chars in total
+    public static boolean isHostname(CharSequence hostname) {
+        if(hostname == null){
+            return false;
+        }
+        return isHostOrFqdn(hostname, 0, hostname.length(), false);
+    }
+
+    public static boolean isHostname(CharSequence str, int start, int end) {
+        return isHostOrFqdn(str, start, end, false);
+    }
+
+    // fqdn_regex - a hostname component followed by a dot and domain, under 256 chars in total
+    public static boolean isFqdn(CharSequence fqdn) {
+        if(fqdn == null){
+            return false;
+        }
+        return isHostOrFqdn(fqdn, 0, fqdn.length(), true);
+    }
+
+    public static boolean isFqdn(CharSequence str, int start, int end) {
+        return isHostOrFqdn(str, start, end, true);
+    }
+
+    private static boolean isHostOrFqdn(CharSequence str, int start, int end, boolean require_domain) {
+        if(str == null || start < 0 || end > str.length()){
+            return false;
+        }
+        int len = end - start;
+        if(len < 1 || len > 255){
+            return false;
+        }
+        int dot = indexOf(str, '.', start, end);
+        if(dot < 0){
+            return ! require_domain && isHostnameComponent(str, start, end);
+        }
+        return isHostnameComponent(str, start, dot) && isDomain(str, dot + 1, end, false);
+    }
+
+    // email_regex, up to 256 chars in total
+    public static boolean isEmail(CharSequence email) {
+        if(email == null){
+            return false;
+        }
+        return isEmail(email, 0, email.length());
+    }
+
+    public static boolean isEmail(CharSequence email, int start, int end) {
+        if(email == null || start < 0 || end > email.length()){
+            return false;
+        }
+        int len = end - start;
+        if(len < 1 || len > 256){
+            return false;
+        }
+        int at = indexOf(email, '@', start, end);
+        if(at - start < 1 || at - start > MAX_EMAIL_LOCAL_LENGTH){
+            return false;
+        }
+        if(! isAlNum(email.charAt(start))){
+            return false;
+        }
+        for(int i = start + 1; i < at; i++){
+            char c = email.charAt(i);
+            if(! isEmailLocalChar(c)){
+                return false;
+            }
+        }
+        // apostrophes are allowed inside the local part but not as the last char
+        if(at - start > 1 && email.charAt(at - 1) == '\''){
+            return false;
+        }
+        return isDomain(email, at + 1, end, false);
+    }
+
+    private static int indexOf(CharSequence str, char c, int start, int end) {
+        for(int i = start; i < end; i++){
+            if(str.charAt(i) == c){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
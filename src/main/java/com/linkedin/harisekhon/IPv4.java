@@ -0,0 +1,142 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 16:20:15 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Single pass, allocation free dotted quad IPv4 parser
+//
+// Accepts exactly what Utils.isIP() always has:
+//
+//   - 4 dot separated octets of 1-3 ASCII digits each, each 0-255
+//   - leading zeros are permitted (eg. 010.1.1.1)
+//   - the final octet may be 0 as it could be a CIDR network address, but not 00 or 000 (as per ip_regex)
+//
+// Addresses are packed in to the low 32 bits of a long, big endian, so that -1 can signal an invalid address
+public final class IPv4 {
+
+    public static final long INVALID = -1;
+
+    private IPv4() {
+        // static methods only
+    }
+
+    public static boolean isValid(CharSequence ip) {
+        if(ip == null){
+            return false;
+        }
+        return parse(ip, 0, ip.length()) != INVALID;
+    }
+
+    public static boolean isValid(CharSequence ip, int start, int end) {
+        return parse(ip, start, end) != INVALID;
+    }
+
+    public static boolean isValid(byte[] buf, int start, int end) {
+        return parse(buf, start, end) != INVALID;
+    }
+
+    public static long parse(CharSequence ip) {
+        if(ip == null){
+            return INVALID;
+        }
+        return parse(ip, 0, ip.length());
+    }
+
+    // returns the packed address of chars [start, end) or INVALID
+    public static long parse(CharSequence ip, int start, int end) {
+        if(ip == null || start < 0 || end > ip.length() || end - start < 7 || end - start > 15){
+            return INVALID;
+        }
+        long address = 0;
+        int octets = 0;
+        int digits = 0;
+        int octet = 0;
+        for(int i = start; i < end; i++){
+            char c = ip.charAt(i);
+            if(c >= '0' && c <= '9'){
+                if(++digits > 3){
+                    return INVALID;
+                }
+                octet = octet * 10 + (c - '0');
+            } else if(c == '.'){
+                if(digits == 0 || octet > 255 || ++octets > 3){
+                    return INVALID;
+                }
+                address = (address << 8) | octet;
+                digits = 0;
+                octet = 0;
+            } else {
+                return INVALID;
+            }
+        }
+        return finish(address, octets, digits, octet);
+    }
+
+    // same as parse(CharSequence, int, int) over ASCII bytes, eg. straight out of a log buffer without decoding
+    public static long parse(byte[] buf, int start, int end) {
+        if(buf == null || start < 0 || end > buf.length || end - start < 7 || end - start > 15){
+            return INVALID;
+        }
+        long address = 0;
+        int octets = 0;
+        int digits = 0;
+        int octet = 0;
+        for(int i = start; i < end; i++){
+            byte b = buf[i];
+            if(b >= '0' && b <= '9'){
+                if(++digits > 3){
+                    return INVALID;
+                }
+                octet = octet * 10 + (b - '0');
+            } else if(b == '.'){
+                if(digits == 0 || octet > 255 || ++octets > 3){
+                    return INVALID;
+                }
+                address = (address << 8) | octet;
+                digits = 0;
+                octet = 0;
+            } else {
+                return INVALID;
+            }
+        }
+        return finish(address, octets, digits, octet);
+    }
+
+    private static long finish(long address, int octets, int digits, int octet) {
+        if(octets != 3 || digits == 0 || octet > 255){
+            return INVALID;
+        }
+        // ip_regex allows a final octet of 0 but not 00 or 000
+        if(octet == 0 && digits > 1){
+            return INVALID;
+        }
+        return (address << 8) | octet;
+    }
+
+    // dotted quad string of a packed address
+    public static String toString(long address) {
+        if(address < 0 || address > 0xFFFFFFFFL){
+            throw new IllegalArgumentException("invalid packed IPv4 address passed to IPv4.toString()");
+        }
+        return new StringBuilder(15)
+            .append((address >>> 24) & 0xFF).append('.')
+            .append((address >>> 16) & 0xFF).append('.')
+            .append((address >>> 8) & 0xFF).append('.')
+            .append(address & 0xFF)
+            .toString();
+    }
+
+}
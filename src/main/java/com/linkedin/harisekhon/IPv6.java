@@ -0,0 +1,222 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 16:48:51 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Single pass, allocation free IPv6 address parser (RFC 4291 text representation)
+//
+//   - 8 colon separated groups of 1-4 hex digits
+//   - one :: to compress one or more groups of zeros
+//   - optional trailing dotted quad IPv4 in place of the last 2 groups, eg. ::ffff:10.1.2.3
+//
+// Zone ids (%eth0) and [] brackets are not part of the address and are rejected.
+//
+// Addresses are packed in to 2 longs, the high and low 64 bits, written to a caller supplied long[2] so that
+// repeated parsing doesn't allocate, instead of going through InetAddress
+public final class IPv6 {
+
+    private static final int MAX_LENGTH = 45;
+
+    private IPv6() {
+        // static methods only
+    }
+
+    public static boolean isValid(CharSequence ip) {
+        if(ip == null){
+            return false;
+        }
+        return parse(ip, 0, ip.length(), null);
+    }
+
+    public static boolean isValid(CharSequence ip, int start, int end) {
+        return parse(ip, start, end, null);
+    }
+
+    public static boolean parse(CharSequence ip, long[] dest) {
+        if(ip == null){
+            return false;
+        }
+        return parse(ip, 0, ip.length(), dest);
+    }
+
+    // parses chars [start, end), if valid and dest is not null writes the high 64 bits to dest[0] and low 64 bits to dest[1]
+    public static boolean parse(CharSequence ip, int start, int end, long[] dest) {
+        if(ip == null || start < 0 || end > ip.length() || end - start < 2 || end - start > MAX_LENGTH){
+            return false;
+        }
+        // groups before and after the :: are shifted in to separate 128 bit registers and combined at the end
+        long head_high = 0;
+        long head_low = 0;
+        long tail_high = 0;
+        long tail_low = 0;
+        int head_groups = 0;
+        int tail_groups = 0;
+        boolean compressed = false;
+        int i = start;
+        if(ip.charAt(i) == ':'){
+            if(ip.charAt(i + 1) != ':'){
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+        while(i < end){
+            int group_start = i;
+            int group = 0;
+            int digits = 0;
+            int h;
+            while(i < end && (h = hexValue(ip.charAt(i))) >= 0){
+                if(++digits > 4){
+                    return false;
+                }
+                group = (group << 4) | h;
+                i++;
+            }
+            if(i < end && ip.charAt(i) == '.'){
+                // embedded IPv4 takes the place of the last 2 groups and must be at the end
+                long ipv4 = IPv4.parse(ip, group_start, end);
+                if(ipv4 == IPv4.INVALID){
+                    return false;
+                }
+                if(compressed){
+                    tail_high = (tail_high << 32) | (tail_low >>> 32);
+                    tail_low = (tail_low << 32) | ipv4;
+                    tail_groups += 2;
+                } else {
+                    head_high = (head_high << 32) | (head_low >>> 32);
+                    head_low = (head_low << 32) | ipv4;
+                    head_groups += 2;
+                }
+                i = end;
+                break;
+            }
+            if(digits == 0){
+                return false;
+            }
+            if(compressed){
+                tail_high = (tail_high << 16) | (tail_low >>> 48);
+                tail_low = (tail_low << 16) | group;
+                tail_groups += 1;
+            } else {
+                head_high = (head_high << 16) | (head_low >>> 48);
+                head_low = (head_low << 16) | group;
+                head_groups += 1;
+            }
+            if(head_groups + tail_groups > 8){
+                return false;
+            }
+            if(i == end){
+                break;
+            }
+            if(ip.charAt(i) != ':'){
+                return false;
+            }
+            i++;
+            if(i == end){
+                // trailing single colon
+                return false;
+            }
+            if(ip.charAt(i) == ':'){
+                if(compressed){
+                    // only one :: allowed
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+        int groups = head_groups + tail_groups;
+        if(compressed ? groups > 7 : groups != 8){
+            return false;
+        }
+        if(dest != null){
+            // shift the head groups up to the top of the address, the :: zeros fall in between
+            int shift = 16 * (8 - head_groups);
+            long high;
+            long low;
+            if(shift == 0){
+                high = head_high;
+                low = head_low;
+            } else if(shift < 64){
+                high = (head_high << shift) | (head_low >>> (64 - shift));
+                low = head_low << shift;
+            } else if(shift < 128){
+                high = head_low << (shift - 64);
+                low = 0;
+            } else {
+                high = 0;
+                low = 0;
+            }
+            dest[0] = high | tail_high;
+            dest[1] = low | tail_low;
+        }
+        return true;
+    }
+
+    private static int hexValue(char c) {
+        if(c >= '0' && c <= '9'){
+            return c - '0';
+        } else if(c >= 'a' && c <= 'f'){
+            return c - 'a' + 10;
+        } else if(c >= 'A' && c <= 'F'){
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    // RFC 5952 canonical text form - lowercase, no leading zeros, longest run of 2+ zero groups compressed to ::
+    public static String toString(long high, long low) {
+        int best_start = -1;
+        int best_len = 0;
+        int run_start = -1;
+        for(int i = 0; i < 8; i++){
+            if(group(high, low, i) == 0){
+                if(run_start < 0){
+                    run_start = i;
+                }
+                int run_len = i - run_start + 1;
+                if(run_len > best_len){
+                    best_start = run_start;
+                    best_len = run_len;
+                }
+            } else {
+                run_start = -1;
+            }
+        }
+        if(best_len < 2){
+            best_start = -1;
+        }
+        StringBuilder sb = new StringBuilder(39);
+        for(int i = 0; i < 8; i++){
+            if(i == best_start){
+                sb.append("::");
+                i += best_len - 1;
+                continue;
+            }
+            if(sb.length() > 0 && sb.charAt(sb.length() - 1) != ':'){
+                sb.append(':');
+            }
+            sb.append(Integer.toHexString(group(high, low, i)));
+        }
+        return sb.toString();
+    }
+
+    private static int group(long high, long low, int index) {
+        long half = index < 4 ? high : low;
+        return (int) ((half >>> (16 * (3 - (index % 4)))) & 0xFFFF);
+    }
+
+}
@@ -0,0 +1,120 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:58:12 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// Growable array that Utils.validateHosts() and validateNodeList() collect host and node list items in to and then
+// dedupe in place with Dedupe, in place of the ArrayList / array round trips, regex splits and hash sets of validating
+// each list format separately
+final class ListBuffer {
+
+    // items logged by toString() before truncating
+    private static final int max_log_items = 100;
+
+    String[] items;
+    int size = 0;
+
+    // sized up front if the items are a Collection
+    ListBuffer(Iterable<?> source) {
+        int capacity = 16;
+        if(source instanceof Collection){
+            capacity = Math.max(1, ((Collection<?>) source).size());
+        }
+        items = new String[capacity];
+    }
+
+    void add(String item) {
+        if(size == items.length){
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = item;
+    }
+
+    // adds the items from splitting list on [,\s]+ the same as list.split("[,\\s]+") but without the regex, which
+    // keeps an empty first item if list starts with a separator and drops a trailing one
+    void addSplit(CharSequence list) {
+        if(list.length() == 0){
+            add("");
+            return;
+        }
+        boolean leading_separator = isListSeparator(list.charAt(0));
+        for(int start = nextListItem(list, 0); start >= 0; ){
+            if(leading_separator){
+                add("");
+                leading_separator = false;
+            }
+            int end = listItemEnd(list, start);
+            add(list.subSequence(start, end).toString());
+            start = nextListItem(list, end);
+        }
+    }
+
+    void dedupe() {
+        size = Dedupe.dedupe(items, 0, size);
+    }
+
+    void addTo(Collection<? super String> sink) {
+        for(int i = 0; i < size; i++){
+            sink.add(items[i]);
+        }
+    }
+
+    // same format as ArrayList.toString(), truncated after max_log_items for large lists
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for(int i = 0; i < size && i < max_log_items; i++){
+            if(i > 0){
+                sb.append(", ");
+            }
+            sb.append(items[i]);
+        }
+        if(size > max_log_items){
+            sb.append(", ... ").append(size - max_log_items).append(" more");
+        }
+        return sb.append(']').toString();
+    }
+
+    // start of the next list item at or after from, or -1 if there are no more, listItemEnd() then gives its end
+    private static int nextListItem(CharSequence list, int from) {
+        int len = list.length();
+        for(int i = from; i < len; i++){
+            if(! isListSeparator(list.charAt(i))){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int listItemEnd(CharSequence list, int start) {
+        int len = list.length();
+        int i = start;
+        while(i < len && ! isListSeparator(list.charAt(i))){
+            i++;
+        }
+        return i;
+    }
+
+    // chars matched by [,\s]
+    private static boolean isListSeparator(char c) {
+        return c == ',' || c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+
+}
@@ -0,0 +1,282 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:58:20 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+// In-memory index of the local passwd file for Utils.userExists() instead of forking 'id -u <user>' on every call
+//
+// The file is read in one go and indexed by user name and uid, then reloaded whenever its mtime or size changes, checked at
+// most once per check interval so that a tight loop of lookups doesn't stat the file on every call. Mtimes may only have
+// 1 second resolution (always on Linux in Java 8, JDK-8177809) so a file modified within racy_millis of being loaded is
+// reloaded on every check until it has been stable for longer than that, a same size edit in the same second as the
+// load would otherwise go unnoticed.
+//
+// Only authoritative when /etc/nsswitch.conf resolves passwd from files alone (or compat without any NIS +/- lines)
+// as otherwise users may come from LDAP, SSSD, systemd etc which aren't in the file. isAuthoritative() tells
+// userExists() whether a miss here means the user doesn't exist or whether it must still ask 'id'.
+public final class PasswdIndex {
+
+    public static final String PASSWD = "/etc/passwd";
+    public static final String NSSWITCH = "/etc/nsswitch.conf";
+    public static final long DEFAULT_CHECK_INTERVAL_MILLIS = 1000;
+
+    // allows for 1 second mtime resolution plus rounding
+    static final long racy_millis = 2000;
+
+    private static final Charset utf8 = Charset.forName("UTF-8");
+
+    private final File passwd_file;
+    private final File nsswitch_file;
+    private final long check_interval_nanos;
+    private final boolean mac;
+
+    // immutable, replaced as a whole on reload so lookups don't need to lock
+    private volatile State state;
+
+    private static final class State {
+        final HashMap<String, Long> uids;
+        final HashSet<Long> uid_set;
+        final boolean authoritative;
+        final long passwd_mtime;
+        final long passwd_length;
+        final long nsswitch_mtime;
+        // wall clock time of the load to compare against the mtimes
+        final long loaded;
+        final long checked;
+
+        State(HashMap<String, Long> uids, HashSet<Long> uid_set, boolean authoritative, long passwd_mtime, long passwd_length, long nsswitch_mtime, long loaded, long checked) {
+            this.uids = uids;
+            this.uid_set = uid_set;
+            this.authoritative = authoritative;
+            this.passwd_mtime = passwd_mtime;
+            this.passwd_length = passwd_length;
+            this.nsswitch_mtime = nsswitch_mtime;
+            this.loaded = loaded;
+            this.checked = checked;
+        }
+
+        // true if either file may have changed again since the load without its mtime changing
+        boolean isRacy() {
+            return isRacy(passwd_mtime) || isRacy(nsswitch_mtime);
+        }
+
+        private boolean isRacy(long mtime) {
+            return mtime != 0 && loaded - mtime < racy_millis;
+        }
+    }
+
+    public PasswdIndex() {
+        this(new File(PASSWD), new File(NSSWITCH), DEFAULT_CHECK_INTERVAL_MILLIS);
+    }
+
+    public PasswdIndex(File passwd_file, File nsswitch_file, long check_interval_millis) {
+        this(passwd_file, nsswitch_file, check_interval_millis, Utils.isMac());
+    }
+
+    // mac is only passed in for testing, OS X keeps users in Directory Services so /etc/passwd is never authoritative
+    PasswdIndex(File passwd_file, File nsswitch_file, long check_interval_millis, boolean mac) {
+        if(passwd_file == null || nsswitch_file == null){
+            throw new IllegalArgumentException("null file passed to PasswdIndex()");
+        }
+        if(check_interval_millis < 0){
+            throw new IllegalArgumentException("invalid PasswdIndex check interval " + check_interval_millis + ", must be >= 0");
+        }
+        this.passwd_file = passwd_file;
+        this.nsswitch_file = nsswitch_file;
+        this.check_interval_nanos = check_interval_millis * 1000000L;
+        this.mac = mac;
+        this.state = load();
+    }
+
+    public boolean contains(String user) {
+        return user != null && current().uids.containsKey(user);
+    }
+
+    // -1 if the user isn't in the file
+    public long getUid(String user) {
+        if(user == null){
+            return -1;
+        }
+        Long uid = current().uids.get(user);
+        return uid == null ? -1 : uid;
+    }
+
+    // true if a user in the passwd file has this uid, 'id' accepts an all digit user argument as a uid
+    public boolean containsUid(long uid) {
+        return uid >= 0 && current().uid_set.contains(uid);
+    }
+
+    // true if a user missing from the passwd file doesn't exist on this system
+    public boolean isAuthoritative() {
+        return current().authoritative;
+    }
+
+    // number of users in the passwd file
+    public int size() {
+        return current().uids.size();
+    }
+
+    private State current() {
+        State s = state;
+        long now = System.nanoTime();
+        if(now - s.checked < check_interval_nanos){
+            return s;
+        }
+        synchronized(this){
+            s = state;
+            if(now - s.checked < check_interval_nanos){
+                return s;
+            }
+            if(passwd_file.lastModified() != s.passwd_mtime || passwd_file.length() != s.passwd_length ||
+                    nsswitch_file.lastModified() != s.nsswitch_mtime || s.isRacy()){
+                s = load();
+            } else {
+                s = new State(s.uids, s.uid_set, s.authoritative, s.passwd_mtime, s.passwd_length, s.nsswitch_mtime, s.loaded, now);
+            }
+            state = s;
+            return s;
+        }
+    }
+
+    // ===================================================================== //
+
+    private State load() {
+        // stat before reading so a change during the read is picked up on the next check
+        long loaded = System.currentTimeMillis();
+        long passwd_mtime = passwd_file.lastModified();
+        long passwd_length = passwd_file.length();
+        long nsswitch_mtime = nsswitch_file.lastModified();
+        HashMap<String, Long> uids = new HashMap<String, Long>();
+        boolean authoritative = false;
+        try {
+            boolean nis_entries = parsePasswd(new String(Files.readAllBytes(passwd_file.toPath()), utf8), uids);
+            authoritative = ! mac && isFilesOnly(readNsswitch(), nis_entries);
+            Utils.log.debug(String.format("loaded %d users from '%s', authoritative: %s", uids.size(), passwd_file, authoritative));
+        } catch (IOException e){
+            Utils.log.debug(String.format("error loading passwd index from '%s', falling back to 'id': %s", passwd_file, e));
+        }
+        HashSet<Long> uid_set = new HashSet<Long>(uids.values());
+        uid_set.remove(-1L);
+        return new State(uids, uid_set, authoritative, passwd_mtime, passwd_length, nsswitch_mtime, loaded, System.nanoTime());
+    }
+
+    // name:password:uid:gid:gecos:home:shell - returns true if there are any NIS compat +/- lines
+    static boolean parsePasswd(String content, HashMap<String, Long> uids) {
+        boolean nis_entries = false;
+        int len = content.length();
+        int start = 0;
+        while(start < len){
+            int end = content.indexOf('\n', start);
+            if(end < 0){
+                end = len;
+            }
+            if(end > start){
+                char first = content.charAt(start);
+                if(first == '+' || first == '-'){
+                    nis_entries = true;
+                } else if(first != '#'){
+                    int colon1 = content.indexOf(':', start);
+                    if(colon1 > start && colon1 < end){
+                        int colon2 = content.indexOf(':', colon1 + 1);
+                        int colon3 = colon2 < 0 ? -1 : content.indexOf(':', colon2 + 1);
+                        long uid = -1;
+                        if(colon2 > 0 && colon2 < end){
+                            uid = parseUid(content, colon2 + 1, colon3 < 0 || colon3 > end ? end : colon3);
+                        }
+                        uids.put(content.substring(start, colon1), uid);
+                    }
+                }
+            }
+            start = end + 1;
+        }
+        return nis_entries;
+    }
+
+    // -1 if not a valid uid
+    static long parseUid(String str, int start, int end) {
+        if(start >= end || end - start > 10){
+            return -1;
+        }
+        long uid = 0;
+        for(int i = start; i < end; i++){
+            char c = str.charAt(i);
+            if(c < '0' || c > '9'){
+                return -1;
+            }
+            uid = uid * 10 + (c - '0');
+        }
+        return uid;
+    }
+
+    // sources listed for the passwd database in nsswitch.conf, [NOTFOUND=return] style actions dropped
+    private List<String> readNsswitch() throws IOException {
+        List<String> sources = new ArrayList<String>();
+        if(! nsswitch_file.exists()){
+            // glibc default for passwd without an nsswitch.conf
+            sources.add("files");
+            return sources;
+        }
+        for(String line: Files.readAllLines(nsswitch_file.toPath(), utf8)){
+            int hash = line.indexOf('#');
+            if(hash >= 0){
+                line = line.substring(0, hash);
+            }
+            line = line.trim();
+            if(! line.startsWith("passwd:")){
+                continue;
+            }
+            for(String source: line.substring("passwd:".length()).trim().split("\\s+")){
+                if(! source.isEmpty() && ! source.startsWith("[")){
+                    sources.add(source);
+                }
+            }
+        }
+        return sources;
+    }
+
+    static boolean isFilesOnly(List<String> sources, boolean nis_entries) {
+        if(sources.isEmpty()){
+            return false;
+        }
+        for(String source: sources){
+            if(source.equals("compat")){
+                if(nis_entries){
+                    return false;
+                }
+            } else if(! source.equals("files")){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        State s = state;
+        return String.format("PasswdIndex[%s, users=%d, authoritative=%s]", passwd_file, s.uids.size(), s.authoritative);
+    }
+
+}
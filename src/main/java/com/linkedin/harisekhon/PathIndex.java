@@ -0,0 +1,180 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:31:07 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Index of the programs in $PATH for Utils.which() instead of stat'ing <dir>/<bin> in every PATH directory per call
+//
+// Each PATH directory is listed once and re-listed only when its mtime changes, which happens whenever a program is
+// added, removed or renamed in it. Directory mtimes are checked at most once per check interval. As mtimes may only
+// have 1 second resolution - on some filesystems, and always on Linux in Java 8 (JDK-8177809) - a directory whose mtime
+// is within racy_millis of when it was listed may have changed again without its mtime changing, so it is re-listed on
+// every check until it has been stable for longer than that. Results, including
+// not found, are memoized until a directory changes so repeat lookups are a single hash probe. The isFile() /
+// canExecute() check is only done on the first lookup of each program, so a chmod of an existing program isn't
+// noticed until something in its directory changes.
+//
+// Returns the same paths as the original which() loop, ie. <PATH dir>/<bin> from the first directory in PATH order
+public final class PathIndex {
+
+    public static final long DEFAULT_CHECK_INTERVAL_MILLIS = 1000;
+
+    // allows for 1 second mtime resolution plus rounding
+    static final long racy_millis = 2000;
+
+    // memoized not found, can't store null in a ConcurrentHashMap
+    private static final String NOT_FOUND = "";
+
+    private final String path;
+    private final Dir[] dirs;
+    private final long check_interval_nanos;
+    // replaced rather than cleared when a directory changes, so a lookup racing a rescan can't put a stale result
+    // in to the new map
+    private volatile ConcurrentHashMap<String, String> resolved = new ConcurrentHashMap<String, String>();
+    private volatile long checked;
+
+    private static final class Dir {
+        final String path;
+        final File dir;
+        // replaced as a whole on rescan
+        volatile long mtime;
+        volatile long scanned;
+        volatile HashSet<String> names;
+
+        Dir(String path) {
+            this.path = path;
+            // the directory find() checks <path>/<bin> in, so an empty PATH entry is / as in the original which() loop
+            this.dir = new File(path + "/");
+            scan();
+        }
+
+        // mtime before listing so a change during the listing is picked up on the next check, returns true if the
+        // mtime or the names changed
+        boolean scan() {
+            long now = System.currentTimeMillis();
+            long last_mtime = mtime;
+            HashSet<String> last_names = names;
+            mtime = dir.lastModified();
+            String[] files = dir.list();
+            HashSet<String> set = new HashSet<String>(files == null ? 16 : files.length * 2);
+            if(files != null){
+                Collections.addAll(set, files);
+            }
+            names = set;
+            scanned = now;
+            return mtime != last_mtime || ! set.equals(last_names);
+        }
+
+        // true if the mtime is too close to the listing to be sure nothing changed after it in the same second
+        boolean isRacy() {
+            return mtime != 0 && scanned - mtime < racy_millis;
+        }
+    }
+
+    public PathIndex() {
+        this(System.getenv("PATH"), DEFAULT_CHECK_INTERVAL_MILLIS);
+    }
+
+    // path is a colon separated list of directories like $PATH
+    public PathIndex(String path, long check_interval_millis) {
+        if(check_interval_millis < 0){
+            throw new IllegalArgumentException("invalid PathIndex check interval " + check_interval_millis + ", must be >= 0");
+        }
+        this.path = path == null ? "" : path;
+        this.check_interval_nanos = check_interval_millis * 1000000L;
+        ArrayList<Dir> list = new ArrayList<Dir>();
+        if(path != null){
+            // a directory listed twice can only ever match at its first position
+            for(String dir: new LinkedHashSet<String>(Arrays.asList(path.split(":")))){
+                list.add(new Dir(dir));
+            }
+        }
+        dirs = list.toArray(new Dir[list.size()]);
+        checked = System.nanoTime();
+    }
+
+    // <dir>/<bin> for the first PATH directory containing an executable file bin, or null if not found
+    public String which(String bin) {
+        if(bin == null || bin.isEmpty() || bin.indexOf('/') >= 0){
+            return null;
+        }
+        refresh();
+        ConcurrentHashMap<String, String> memo = resolved;
+        String fullpath = memo.get(bin);
+        if(fullpath == null){
+            fullpath = find(bin);
+            memo.put(bin, fullpath);
+        }
+        return fullpath == NOT_FOUND ? null : fullpath;
+    }
+
+    private String find(String bin) {
+        for(Dir dir: dirs){
+            if(dir.names.contains(bin)){
+                String fullpath = dir.path + "/" + bin;
+                File f = new File(fullpath);
+                if(f.isFile() && f.canExecute()){
+                    return fullpath;
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private void refresh() {
+        long now = System.nanoTime();
+        if(now - checked < check_interval_nanos){
+            return;
+        }
+        synchronized(this){
+            if(now - checked < check_interval_nanos){
+                return;
+            }
+            boolean changed = false;
+            for(Dir dir: dirs){
+                if(dir.dir.lastModified() != dir.mtime || dir.isRacy()){
+                    if(dir.scan()){
+                        changed = true;
+                    }
+                }
+            }
+            if(changed){
+                resolved = new ConcurrentHashMap<String, String>();
+            }
+            checked = System.nanoTime();
+        }
+    }
+
+    // the $PATH style string this index was built from
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PathIndex[dirs=%d, cached=%d]", dirs.length, resolved.size());
+    }
+
+}
@@ -0,0 +1,190 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:47:39 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+
+// InputStream that masks matches of a Redactor in the bytes read through it, a pull wrapper around RedactingWriter
+//
+// Bytes are treated as ISO-8859-1 so anything between matches comes out exactly as it went in, whatever the encoding.
+// Masks are written as ISO-8859-1 too. Both the read buffer and the redacted output queue are reused. Not thread-safe
+public class RedactingInputStream extends FilterInputStream {
+
+    private final byte[] chunk = new byte[8192];
+    private final char[] chars = new char[chunk.length];
+    private final ByteQueue queue = new ByteQueue();
+    private final RedactingWriter writer;
+    private boolean eof;
+
+    public RedactingInputStream(InputStream in, Redactor redactor) {
+        super(checkNotNull(in));
+        writer = new RedactingWriter(queue, redactor);
+    }
+
+    RedactingInputStream(InputStream in, Redactor redactor, int window_size, int max_match_length) {
+        super(checkNotNull(in));
+        writer = new RedactingWriter(queue, redactor, window_size, max_match_length);
+    }
+
+    private static InputStream checkNotNull(InputStream in) {
+        if(in == null){
+            throw new IllegalArgumentException("null input stream passed to RedactingInputStream");
+        }
+        return in;
+    }
+
+    // number of matches masked so far
+    public long getCount() {
+        return writer.getCount();
+    }
+
+    // reads more from the wrapped stream until there is redacted output or the end of it, false at the end
+    private boolean fill() throws IOException {
+        while(queue.start == queue.end){
+            if(eof){
+                return false;
+            }
+            int n = in.read(chunk, 0, chunk.length);
+            if(n < 0){
+                eof = true;
+                writer.finish();
+            } else {
+                for(int i = 0; i < n; i++){
+                    chars[i] = (char) (chunk[i] & 0xFF);
+                }
+                writer.write(chars, 0, n);
+                writer.flush();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(! fill()){
+            return -1;
+        }
+        return queue.bytes[queue.start++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(off < 0 || len < 0 || len > b.length - off){
+            throw new IndexOutOfBoundsException("range " + off + " + " + len + " out of bounds for length " + b.length);
+        }
+        if(len == 0){
+            return 0;
+        }
+        if(! fill()){
+            return -1;
+        }
+        int n = Math.min(len, queue.end - queue.start);
+        System.arraycopy(queue.bytes, queue.start, b, off, n);
+        queue.start += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while(skipped < n && fill()){
+            int step = (int) Math.min(n - skipped, queue.end - queue.start);
+            queue.start += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return queue.end - queue.start;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported by RedactingInputStream");
+    }
+
+    // redacted output waiting to be read, growing as needed but reused once drained
+    private static final class ByteQueue extends Writer {
+
+        private byte[] bytes = new byte[16384];
+        private int start;
+        private int end;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            ensureCapacity(len);
+            for(int i = 0; i < len; i++){
+                put(cbuf[off + i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            ensureCapacity(len);
+            for(int i = 0; i < len; i++){
+                put(str.charAt(off + i));
+            }
+        }
+
+        private void put(char c) {
+            bytes[end++] = c <= 0xFF ? (byte) c : (byte) '?';
+        }
+
+        private void ensureCapacity(int len) {
+            if(end + len <= bytes.length){
+                return;
+            }
+            int size = end - start;
+            byte[] bytes2 = bytes;
+            if(size + len > bytes.length){
+                bytes2 = new byte[Math.max(bytes.length * 2, size + len)];
+            }
+            System.arraycopy(bytes, start, bytes2, 0, size);
+            bytes = bytes2;
+            start = 0;
+            end = size;
+        }
+
+        @Override
+        public void flush() {
+            // nothing to do
+        }
+
+        @Override
+        public void close() {
+            // nothing to do
+        }
+
+    }
+
+}
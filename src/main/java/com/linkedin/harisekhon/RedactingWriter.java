@@ -0,0 +1,247 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:46:02 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.regex.Matcher;
+
+// Writer that masks matches of a Redactor in everything written through it to the wrapped writer
+//
+// Text is collected in a fixed size window and redacted a whole line at a time, since none of the regexes match
+// across a newline, with the text between matches written straight out of the window. A line longer than the window
+// is redacted as far as possible keeping back the last max_match_length chars in case a match continues, so a
+// match longer than that on such a line may only be partly masked
+//
+// flush() only writes up to the end of the last complete line, so a secret split across writes isn't let out half
+// unmasked. finish() or close() write out the rest. Not thread-safe
+public class RedactingWriter extends FilterWriter {
+
+    private final Redactor redactor;
+    private final Matcher matcher;
+    private final char[] buf;
+    private final Window window = new Window();
+    private final int max_match_length;
+    private int len;
+    // chars at the start of buf already written out, kept as context for \b and lookbehinds
+    private int done;
+    private long count;
+    private boolean closed;
+
+    public RedactingWriter(Writer out, Redactor redactor) {
+        this(out, redactor, Extractor.default_window, Extractor.default_max_match_length);
+    }
+
+    RedactingWriter(Writer out, Redactor redactor, int window_size, int max_match_length) {
+        super(checkNotNull(out));
+        if(redactor == null){
+            throw new IllegalArgumentException("null redactor passed to RedactingWriter");
+        }
+        if(max_match_length < 1 || window_size < 2 * max_match_length + 2){
+            throw new IllegalArgumentException("invalid RedactingWriter window " + window_size + " for max match length " + max_match_length + ", window must be over twice as long");
+        }
+        this.redactor = redactor;
+        this.max_match_length = max_match_length;
+        buf = new char[window_size];
+        matcher = redactor.matcher();
+        matcher.useTransparentBounds(true);
+        matcher.useAnchoringBounds(false);
+    }
+
+    private static Writer checkNotNull(Writer out) {
+        if(out == null){
+            throw new IllegalArgumentException("null writer passed to RedactingWriter");
+        }
+        return out;
+    }
+
+    // number of matches masked so far
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        checkOpen();
+        if(len == buf.length){
+            redact(false);
+        }
+        buf[len++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int n) throws IOException {
+        checkOpen();
+        if(off < 0 || n < 0 || n > cbuf.length - off){
+            throw new IndexOutOfBoundsException("range " + off + " + " + n + " out of bounds for length " + cbuf.length);
+        }
+        while(n > 0){
+            if(len == buf.length){
+                redact(false);
+            }
+            int chunk = Math.min(n, buf.length - len);
+            System.arraycopy(cbuf, off, buf, len, chunk);
+            len += chunk;
+            off += chunk;
+            n -= chunk;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int n) throws IOException {
+        checkOpen();
+        if(off < 0 || n < 0 || n > str.length() - off){
+            throw new IndexOutOfBoundsException("range " + off + " + " + n + " out of bounds for length " + str.length());
+        }
+        while(n > 0){
+            if(len == buf.length){
+                redact(false);
+            }
+            int chunk = Math.min(n, buf.length - len);
+            str.getChars(off, off + chunk, buf, len);
+            len += chunk;
+            off += chunk;
+            n -= chunk;
+        }
+    }
+
+    // writes out complete lines, holding back any partial last line
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        redact(false);
+        out.flush();
+    }
+
+    // redacts and writes out everything buffered as the end of the input, without closing the wrapped writer
+    public void finish() throws IOException {
+        checkOpen();
+        redact(true);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(closed){
+            return;
+        }
+        try {
+            redact(true);
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if(closed){
+            throw new IOException("RedactingWriter closed");
+        }
+    }
+
+    // writes out whatever can be redacted with certainty, or everything if all, then moves the rest to the start
+    private void redact(boolean all) throws IOException {
+        int written;
+        if(all){
+            written = redact(len, true);
+        } else {
+            int end = len;
+            while(end > done && buf[end - 1] != '\n'){
+                end--;
+            }
+            if(end > done){
+                written = redact(end, true);
+            } else if(len == buf.length){
+                // a line longer than the window
+                written = redact(len, false);
+                if(written <= done){
+                    // one match in progress from the start of the window, take it as is
+                    written = redact(len, true);
+                }
+            } else {
+                return;
+            }
+        }
+        if(written > 1){
+            int shift = written - 1;
+            System.arraycopy(buf, shift, buf, 0, len - shift);
+            len -= shift;
+            done = 1;
+        } else {
+            done = written;
+        }
+    }
+
+    // writes out chars [done, end) with matches masked, returns how far it got - end unless complete is false and
+    // a match may continue past end
+    private int redact(int end, boolean complete) throws IOException {
+        window.length = end;
+        Matcher m = matcher.reset(window);
+        m.region(done, end);
+        int pos = done;
+        while(true){
+            boolean found = m.find();
+            if(! complete && m.hitEnd()){
+                int keep = Math.max(pos, end - max_match_length);
+                if(found){
+                    keep = Math.min(keep, m.start());
+                }
+                out.write(buf, pos, keep - pos);
+                return keep;
+            }
+            if(! found){
+                break;
+            }
+            out.write(buf, pos, m.start() - pos);
+            out.write(redactor.mask(m));
+            count++;
+            pos = m.end();
+        }
+        out.write(buf, pos, end - pos);
+        return end;
+    }
+
+    // reusable view of buf[0, length) for the matcher
+    private final class Window implements CharSequence {
+
+        private int length;
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buf[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(buf, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buf, 0, length);
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:44:18 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+// Masks AWS keys, IPs, emails etc in text, eg. before shipping logs, configured with a mask per Extractor.Kind
+//
+// All the kinds are matched in one pass of the Extractor alternation and the text between matches is copied straight
+// through, instead of a String.replaceAll() per regex each making a new String. Use wrap() to redact a stream as it
+// flows through with bounded memory, see RedactingWriter
+//
+// Immutable and thread-safe
+public final class Redactor {
+
+    private final Extractor extractor;
+    private final EnumMap<Extractor.Kind, String> masks;
+    // indexed by Kind ordinal
+    private final String[] mask_array = new String[Extractor.Kind.values().length];
+
+    // AWS secret and access keys, IPs and emails, masked as <aws_secret_key>, <aws_access_key>, <ip> and <email>
+    public Redactor() {
+        this(defaultMasks());
+    }
+
+    public Redactor(Map<Extractor.Kind, String> masks) {
+        if(masks == null || masks.isEmpty()){
+            throw new IllegalArgumentException("no masks passed to Redactor");
+        }
+        this.masks = new EnumMap<Extractor.Kind, String>(masks);
+        for(Map.Entry<Extractor.Kind, String> entry: this.masks.entrySet()){
+            if(entry.getValue() == null){
+                throw new IllegalArgumentException("null mask passed to Redactor for " + entry.getKey());
+            }
+            mask_array[entry.getKey().ordinal()] = entry.getValue();
+        }
+        extractor = new Extractor(this.masks.keySet());
+    }
+
+    private static Map<Extractor.Kind, String> defaultMasks() {
+        EnumMap<Extractor.Kind, String> masks = new EnumMap<Extractor.Kind, String>(Extractor.Kind.class);
+        for(Extractor.Kind kind: new Extractor.Kind[]{ Extractor.Kind.AWS_SECRET_KEY, Extractor.Kind.AWS_ACCESS_KEY,
+                                                      Extractor.Kind.IP, Extractor.Kind.EMAIL }){
+            masks.put(kind, "<" + kind.name().toLowerCase() + ">");
+        }
+        return masks;
+    }
+
+    // copy
+    public Map<Extractor.Kind, String> getMasks() {
+        return new EnumMap<Extractor.Kind, String>(masks);
+    }
+
+    Matcher matcher() {
+        return extractor.pattern().matcher("");
+    }
+
+    // mask for the last match of a matcher()
+    String mask(Matcher m) {
+        return mask_array[extractor.kind(m).ordinal()];
+    }
+
+    // ===================================================================== //
+
+    public String redact(CharSequence text) {
+        if(text == null){
+            throw new IllegalArgumentException("null passed to Redactor.redact()");
+        }
+        Matcher m = extractor.pattern().matcher(text);
+        if(! m.find()){
+            return text.toString();
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        int pos = 0;
+        do {
+            sb.append(text, pos, m.start()).append(mask(m));
+            pos = m.end();
+        } while(m.find());
+        return sb.append(text, pos, text.length()).toString();
+    }
+
+    // redacts everything from in to out, returns the number of matches masked. Doesn't close either
+    public long redact(Reader in, Writer out) throws IOException {
+        if(in == null || out == null){
+            throw new IllegalArgumentException("null passed to Redactor.redact()");
+        }
+        RedactingWriter writer = new RedactingWriter(out, this);
+        char[] buf = new char[8192];
+        int n;
+        while((n = in.read(buf)) >= 0){
+            writer.write(buf, 0, n);
+        }
+        writer.finish();
+        return writer.getCount();
+    }
+
+    // byte for byte as ISO-8859-1 so any encoding or binary junk between the ASCII matches passes through unchanged
+    public long redact(InputStream in, OutputStream out) throws IOException {
+        if(in == null || out == null){
+            throw new IllegalArgumentException("null passed to Redactor.redact()");
+        }
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.ISO_8859_1);
+        long count = redact(new InputStreamReader(in, StandardCharsets.ISO_8859_1), writer);
+        writer.flush();
+        return count;
+    }
+
+    public RedactingWriter wrap(Writer out) {
+        return new RedactingWriter(out, this);
+    }
+
+    public RedactingInputStream wrap(InputStream in) {
+        return new RedactingInputStream(in, this);
+    }
+
+}
@@ -0,0 +1,113 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:26:44 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.LinkedHashMap;
+
+// Per host outcome of a bulk Utils.resolveAll() call, indexed in input order
+//
+// Hosts that didn't resolve have a null IP and an error - UnknownHostException, IllegalArgumentException for a
+// null or blank host, or TimeoutException if the lookup hadn't finished by the deadline
+public final class ResolveResult {
+
+    private final String[] hosts;
+    private final String[] ips;
+    private final Throwable[] errors;
+    private final int resolved;
+
+    // takes ownership of the arrays
+    ResolveResult(String[] hosts, String[] ips, Throwable[] errors) {
+        this.hosts = hosts;
+        this.ips = ips;
+        this.errors = errors;
+        int count = 0;
+        for(String ip: ips){
+            if(ip != null){
+                count++;
+            }
+        }
+        this.resolved = count;
+    }
+
+    // number of hosts passed in
+    public int size() {
+        return hosts.length;
+    }
+
+    public String getHost(int index) {
+        checkIndex(index);
+        return hosts[index];
+    }
+
+    // null if the host didn't resolve
+    public String getIp(int index) {
+        checkIndex(index);
+        return ips[index];
+    }
+
+    // copy of the IPs in input order, null for each host that didn't resolve
+    public String[] getIps() {
+        return ips.clone();
+    }
+
+    // null if the host resolved
+    public Throwable getError(int index) {
+        checkIndex(index);
+        return errors[index];
+    }
+
+    public boolean isResolved(int index) {
+        checkIndex(index);
+        return ips[index] != null;
+    }
+
+    public int resolvedCount() {
+        return resolved;
+    }
+
+    public int failedCount() {
+        return hosts.length - resolved;
+    }
+
+    public boolean allResolved() {
+        return resolved == hosts.length;
+    }
+
+    // host => error for each host that didn't resolve, in input order
+    public LinkedHashMap<String, Throwable> getFailures() {
+        LinkedHashMap<String, Throwable> failures = new LinkedHashMap<String, Throwable>();
+        for(int i = 0; i < hosts.length; i++){
+            if(ips[i] == null){
+                failures.put(hosts[i], errors[i]);
+            }
+        }
+        return failures;
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= hosts.length){
+            throw new IndexOutOfBoundsException("index " + index + " out of range for " + hosts.length + " resolve results");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResolveResult(size=" + size() + ", resolved=" + resolvedCount() + ", failed=" + failedCount() + ")";
+    }
+
+}
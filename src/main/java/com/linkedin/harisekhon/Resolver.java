@@ -0,0 +1,31 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 22:48:30 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+// Pluggable host name lookup behind DnsCache, so tests can substitute an in-process fake for real DNS
+//
+// Implementations must be thread safe, DnsCache calls resolve() concurrently for different hosts
+public interface Resolver {
+
+    // throws UnknownHostException if the host does not resolve, which DnsCache caches for its negative TTL
+    InetAddress resolve(String host) throws UnknownHostException;
+
+}
@@ -0,0 +1,316 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 17:52:09 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Immutable longest prefix match index of IPv4 and IPv6 CIDR ranges, eg. allow / deny rules
+//
+//   SubnetIndex<Boolean> acl = new SubnetIndex.Builder<Boolean>()
+//       .add("10.0.0.0/8", true)
+//       .add("10.66.0.0/16", false)
+//       .add("2001:db8::/32", true)
+//       .build();
+//
+//   acl.lookup("10.66.1.2")   => false    (most specific range wins)
+//   acl.lookup("192.168.1.1") => null     (no range contains it)
+//
+// Built once as a path compressed binary (Patricia) trie then flattened in to parallel primitive arrays, so a
+// lookup walks at most 33 nodes for IPv4 or 129 for IPv6, comparing whole prefixes with a couple of XORs per
+// node, and doesn't allocate. All state is final after construction so one instance can be shared across threads.
+//
+// Keys are held as 128 bit high/low longs, IPv4 addresses in the top 32 bits of high under a separate root
+public final class SubnetIndex<V> {
+
+    private static final int NONE = -1;
+
+    private final int ipv4_root;
+    private final int ipv6_root;
+    private final long[] key_high;
+    private final long[] key_low;
+    private final int[] prefix;
+    private final int[] child0;
+    private final int[] child1;
+    private final Object[] values;
+    private final int size;
+
+    // scratch space for parsing IPv6 strings without allocating per lookup
+    private static final ThreadLocal<long[]> ipv6_scratch = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[2];
+        }
+    };
+
+    private SubnetIndex(Node ipv4, Node ipv6, int nodes, int size) {
+        key_high = new long[nodes];
+        key_low = new long[nodes];
+        prefix = new int[nodes];
+        child0 = new int[nodes];
+        child1 = new int[nodes];
+        values = new Object[nodes];
+        this.size = size;
+        int[] next = new int[1];
+        ipv4_root = flatten(ipv4, next);
+        ipv6_root = flatten(ipv6, next);
+    }
+
+    // depth first so a walk down the trie tends to move forward through the arrays
+    private int flatten(Node node, int[] next) {
+        if(node == null){
+            return NONE;
+        }
+        int i = next[0]++;
+        key_high[i] = node.high;
+        key_low[i] = node.low;
+        prefix[i] = node.prefix;
+        values[i] = node.value;
+        child0[i] = flatten(node.child0, next);
+        child1[i] = flatten(node.child1, next);
+        return i;
+    }
+
+    // number of distinct CIDR ranges in the index
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // ===================================================================== //
+    //
+    //                              L o o k u p
+    //
+    // ===================================================================== //
+
+    // value of the most specific range containing the IPv4 address, or null
+    public V lookup(int ipv4) {
+        return find(ipv4_root, (ipv4 & 0xFFFFFFFFL) << 32, 0, 32);
+    }
+
+    // value of the most specific range containing the IPv6 address, or null
+    public V lookup(long high, long low) {
+        return find(ipv6_root, high, low, 128);
+    }
+
+    // parses an IPv4 or IPv6 address string, returns null if nothing contains it or it is not a valid address
+    public V lookup(CharSequence ip) {
+        if(ip == null){
+            return null;
+        }
+        long ipv4 = IPv4.parse(ip);
+        if(ipv4 != IPv4.INVALID){
+            return find(ipv4_root, ipv4 << 32, 0, 32);
+        }
+        long[] ipv6 = ipv6_scratch.get();
+        if(IPv6.parse(ip, ipv6)){
+            return find(ipv6_root, ipv6[0], ipv6[1], 128);
+        }
+        return null;
+    }
+
+    public boolean contains(int ipv4) {
+        return lookup(ipv4) != null;
+    }
+
+    public boolean contains(long high, long low) {
+        return lookup(high, low) != null;
+    }
+
+    public boolean contains(CharSequence ip) {
+        return lookup(ip) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V find(int node, long high, long low, int bits) {
+        Object best = null;
+        while(node != NONE){
+            int len = prefix[node];
+            if(commonPrefix(high, low, key_high[node], key_low[node]) < len){
+                break;
+            }
+            if(values[node] != null){
+                best = values[node];
+            }
+            if(len >= bits){
+                break;
+            }
+            node = bit(high, low, len) == 0 ? child0[node] : child1[node];
+        }
+        return (V) best;
+    }
+
+    // ===================================================================== //
+
+    // number of leading bits two 128 bit keys have in common
+    static int commonPrefix(long high1, long low1, long high2, long low2) {
+        long diff = high1 ^ high2;
+        if(diff != 0){
+            return Long.numberOfLeadingZeros(diff);
+        }
+        return 64 + Long.numberOfLeadingZeros(low1 ^ low2);
+    }
+
+    // bit at position index counting from the most significant bit of high
+    static int bit(long high, long low, int index) {
+        if(index < 64){
+            return (int) (high >>> (63 - index)) & 1;
+        }
+        return (int) (low >>> (127 - index)) & 1;
+    }
+
+    // ===================================================================== //
+    //
+    //                              B u i l d e r
+    //
+    // ===================================================================== //
+
+    // mutable trie node, only used while building
+    private static final class Node {
+        final long high;
+        final long low;
+        final int prefix;
+        Object value;
+        Node child0;
+        Node child1;
+
+        Node(long high, long low, int prefix, Object value) {
+            this.high = high;
+            this.low = low;
+            this.prefix = prefix;
+            this.value = value;
+        }
+
+        Node child(int bit) {
+            return bit == 0 ? child0 : child1;
+        }
+
+        void setChild(int bit, Node node) {
+            if(bit == 0){
+                child0 = node;
+            } else {
+                child1 = node;
+            }
+        }
+    }
+
+    // Not thread safe. Adding the same range twice replaces the earlier value
+    public static final class Builder<V> {
+
+        private Node ipv4;
+        private Node ipv6;
+        private int nodes;
+        private int size;
+
+        public Builder<V> add(Cidr cidr, V value) {
+            if(cidr == null){
+                throw new IllegalArgumentException("null cidr passed to SubnetIndex.Builder.add()");
+            }
+            if(value == null){
+                throw new IllegalArgumentException("null value passed to SubnetIndex.Builder.add() for " + cidr);
+            }
+            if(cidr.isIPv6()){
+                ipv6 = insert(ipv6, cidr.getHigh(), cidr.getLow(), cidr.getPrefix(), value);
+            } else {
+                ipv4 = insert(ipv4, cidr.getLow() << 32, 0, cidr.getPrefix(), value);
+            }
+            return this;
+        }
+
+        // accepts 10.0.0.0/8, 10.0.0.0/255.0.0.0 or 2001:db8::/32
+        public Builder<V> add(CharSequence cidr, V value) {
+            if(cidr == null){
+                throw new IllegalArgumentException("null cidr passed to SubnetIndex.Builder.add()");
+            }
+            String cidr2 = cidr.toString().trim();
+            int slash = cidr2.indexOf('/');
+            if(slash > 0 && cidr2.indexOf('.', slash) > 0){
+                long address = IPv4.parse(cidr2, 0, slash);
+                int bits = netmaskPrefix(cidr2, slash + 1);
+                if(address == IPv4.INVALID || bits < 0){
+                    throw new IllegalArgumentException("invalid IPv4 network/netmask '" + cidr2 + "'");
+                }
+                return add(Cidr.ipv4((int) address, bits), value);
+            }
+            return add(Cidr.parse(cidr2), value);
+        }
+
+        public Builder<V> addAll(Iterable<? extends CharSequence> cidrs, V value) {
+            if(cidrs == null){
+                throw new IllegalArgumentException("null cidrs passed to SubnetIndex.Builder.addAll()");
+            }
+            for(CharSequence cidr: cidrs){
+                add(cidr, value);
+            }
+            return this;
+        }
+
+        // dotted quad netmask to prefix length, -1 unless the set bits are contiguous from the top
+        private static int netmaskPrefix(String str, int start) {
+            long mask = IPv4.parse(str, start, str.length());
+            if(mask == IPv4.INVALID){
+                return -1;
+            }
+            long inverted = ~mask & 0xFFFFFFFFL;
+            if((inverted & (inverted + 1)) != 0){
+                return -1;
+            }
+            return Long.bitCount(mask);
+        }
+
+        private Node insert(Node node, long high, long low, int len, Object value) {
+            if(node == null){
+                nodes += 1;
+                size += 1;
+                return new Node(high, low, len, value);
+            }
+            int common = Math.min(commonPrefix(high, low, node.high, node.low), Math.min(len, node.prefix));
+            if(common == node.prefix){
+                if(len == node.prefix){
+                    if(node.value == null){
+                        size += 1;
+                    }
+                    node.value = value;
+                    return node;
+                }
+                int b = bit(high, low, node.prefix);
+                node.setChild(b, insert(node.child(b), high, low, len, value));
+                return node;
+            }
+            if(common == len){
+                // new range is a supernet of this node, goes above it
+                Node parent = new Node(high, low, len, value);
+                parent.setChild(bit(node.high, node.low, len), node);
+                nodes += 1;
+                size += 1;
+                return parent;
+            }
+            // diverge part way through this node's prefix, split with a valueless branch node
+            Node branch = new Node(high & Cidr.mask(common), low & Cidr.mask(common - 64), common, null);
+            branch.setChild(bit(node.high, node.low, common), node);
+            branch.setChild(bit(high, low, common), new Node(high, low, len, value));
+            nodes += 2;
+            size += 1;
+            return branch;
+        }
+
+        public SubnetIndex<V> build() {
+            return new SubnetIndex<V>(ipv4, ipv6, nodes, size);
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:41:09 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.BitSet;
+
+// Immutable Nagios threshold range, eg. 10, 10:, ~:10, 10:20, @10:20, parsed once in to primitive bounds
+//
+// Per the Nagios plugin guidelines a value alerts if it is outside start:end inclusive, or inside it for @ ranges.
+// A missing start is 0, ~ is -infinity and a missing end is +infinity, so:
+//
+//   10      alert if < 0 or > 10
+//   10:     alert if < 10
+//   ~:10    alert if > 10
+//   10:20   alert if < 10 or > 20
+//   @10:20  alert if >= 10 and <= 20
+//
+// NaN always alerts. isAlert() is branch free comparisons on the primitives and nothing allocates except alerts()
+public final class Threshold {
+
+    public static final int OK = 0;
+    public static final int WARNING = 1;
+    public static final int CRITICAL = 2;
+
+    private final double start;
+    private final double end;
+    private final boolean inside;
+
+    private Threshold(double start, double end, boolean inside) {
+        this.start = start;
+        this.end = end;
+        this.inside = inside;
+    }
+
+    public static Threshold of(double start, double end, boolean inside) {
+        if(! (start <= end)){
+            throw new IllegalArgumentException("invalid threshold range " + start + ":" + end + ", start must not be greater than end");
+        }
+        return new Threshold(start, end, inside);
+    }
+
+    // ===================================================================== //
+
+    public static boolean isValid(CharSequence threshold) {
+        return parse(threshold, false) != null;
+    }
+
+    public static Threshold parse(CharSequence threshold) {
+        if(threshold == null){
+            throw new IllegalArgumentException("null passed to Threshold.parse()");
+        }
+        return parse(threshold, true);
+    }
+
+    private static Threshold parse(CharSequence str, boolean strict) {
+        if(str == null){
+            return null;
+        }
+        int start = 0;
+        int end = str.length();
+        while(start < end && str.charAt(start) <= ' '){
+            start++;
+        }
+        while(end > start && str.charAt(end - 1) <= ' '){
+            end--;
+        }
+        boolean inside = start < end && str.charAt(start) == '@';
+        if(inside){
+            start++;
+        }
+        int colon = start;
+        while(colon < end && str.charAt(colon) != ':'){
+            colon++;
+        }
+        double low = 0;
+        double high;
+        if(colon == end){
+            high = number(str, start, end);
+        } else if(colon == start && colon + 1 == end){
+            // bare : has no bounds at all
+            high = Double.NaN;
+        } else {
+            if(colon - start == 1 && str.charAt(start) == '~'){
+                low = Double.NEGATIVE_INFINITY;
+            } else if(colon > start){
+                low = number(str, start, colon);
+            }
+            high = colon + 1 == end ? Double.POSITIVE_INFINITY : number(str, colon + 1, end);
+        }
+        // NaN for an invalid number fails this too
+        if(! (low <= high)){
+            if(strict){
+                throw new IllegalArgumentException("invalid threshold '" + str + "', must be a Nagios range such as 10, 10:, ~:10, 10:20 or @10:20");
+            }
+            return null;
+        }
+        return new Threshold(low, high, inside);
+    }
+
+    // the number in exactly chars [start, end), or NaN
+    private static double number(CharSequence str, int start, int end) {
+        if(start >= end || Units.numberEnd(str, start, end) != end){
+            return Double.NaN;
+        }
+        return Units.parseNumber(str, start, end);
+    }
+
+    // ===================================================================== //
+
+    public double getStart() {
+        return start;
+    }
+
+    public double getEnd() {
+        return end;
+    }
+
+    // @ range, alerts inside start:end instead of outside
+    public boolean isInside() {
+        return inside;
+    }
+
+    public boolean isAlert(double value) {
+        return ((value < start | value > end) != inside) | value != value;
+    }
+
+    public int countAlerts(double[] values, int from, int to) {
+        checkRange(values, from, to);
+        double start = this.start;
+        double end = this.end;
+        boolean inside = this.inside;
+        int count = 0;
+        for(int i = from; i < to; i++){
+            double value = values[i];
+            count += ((value < start | value > end) != inside) | value != value ? 1 : 0;
+        }
+        return count;
+    }
+
+    public int countAlerts(double[] values) {
+        return countAlerts(values, 0, values == null ? 0 : values.length);
+    }
+
+    // index of the first alerting value at or after from, or -1 if there are none
+    public int nextAlert(double[] values, int from) {
+        checkRange(values, from, values == null ? 0 : values.length);
+        for(int i = from; i < values.length; i++){
+            if(isAlert(values[i])){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // bit i set if values[i] alerts
+    public BitSet alerts(double[] values) {
+        checkRange(values, 0, values == null ? 0 : values.length);
+        BitSet alerts = new BitSet(values.length);
+        for(int i = 0; i < values.length; i++){
+            if(isAlert(values[i])){
+                alerts.set(i);
+            }
+        }
+        return alerts;
+    }
+
+    private static void checkRange(double[] values, int from, int to) {
+        if(values == null){
+            throw new IllegalArgumentException("null values passed to Threshold");
+        }
+        if(from < 0 || from > to || to > values.length){
+            throw new IndexOutOfBoundsException("range " + from + " to " + to + " out of bounds for " + values.length + " values");
+        }
+    }
+
+    // ===================================================================== //
+
+    // Nagios status of value, CRITICAL / WARNING / OK, either threshold may be null to skip it
+    public static int status(double value, Threshold warning, Threshold critical) {
+        if(critical != null && critical.isAlert(value)){
+            return CRITICAL;
+        } else if(warning != null && warning.isAlert(value)){
+            return WARNING;
+        }
+        return OK;
+    }
+
+    // worst Nagios status of all the values, stopping at the first critical
+    public static int status(double[] values, Threshold warning, Threshold critical) {
+        if(critical != null && critical.nextAlert(values, 0) >= 0){
+            return CRITICAL;
+        } else if(warning != null && warning.nextAlert(values, 0) >= 0){
+            return WARNING;
+        }
+        checkRange(values, 0, values == null ? 0 : values.length);
+        return OK;
+    }
+
+    // ===================================================================== //
+
+    @Override
+    public boolean equals(Object o) {
+        if(! (o instanceof Threshold)){
+            return false;
+        }
+        Threshold other = (Threshold) o;
+        return inside == other.inside
+            && Double.compare(start, other.start) == 0
+            && Double.compare(end, other.end) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(start) * 31 + Double.doubleToLongBits(end);
+        return (int) (bits ^ (bits >>> 32)) * 2 + (inside ? 1 : 0);
+    }
+
+    // canonical Nagios range syntax
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if(inside){
+            sb.append('@');
+        }
+        if(start == 0 && end != Double.POSITIVE_INFINITY){
+            return appendNumber(sb, end).toString();
+        }
+        if(start == Double.NEGATIVE_INFINITY){
+            sb.append('~');
+        } else {
+            appendNumber(sb, start);
+        }
+        sb.append(':');
+        if(end != Double.POSITIVE_INFINITY){
+            appendNumber(sb, end);
+        }
+        return sb.toString();
+    }
+
+    private static StringBuilder appendNumber(StringBuilder sb, double num) {
+        if(num == (long) num){
+            return sb.append((long) num);
+        }
+        return sb.append(num);
+    }
+
+}
@@ -0,0 +1,169 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 14:52:37 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.util.Collection;
+
+// Immutable case insensitive TLD lookup table
+//
+// Replaces matching against the ~1500 way tld_regex alternation with a single hash probe over the final label of a name.
+//
+// Open addressing over lowercased char arrays so lookups can be done against a region of any CharSequence without
+// allocating a substring. Takes a snapshot of the TLDs passed in, later changes to that collection are not seen.
+final class TldMatcher {
+
+    private final char[][] table;
+    private final int mask;
+    private final int size;
+
+    TldMatcher(Collection<String> tlds) {
+        if(tlds == null){
+            throw new IllegalArgumentException("null tlds passed to TldMatcher()");
+        }
+        int capacity = 16;
+        // keep load factor <= 0.5 so probe chains stay short
+        while(capacity < tlds.size() * 2){
+            capacity <<= 1;
+        }
+        table = new char[capacity][];
+        mask = capacity - 1;
+        int count = 0;
+        for(String tld: tlds){
+            if(tld == null || ! isValidTld(tld)){
+                continue;
+            }
+            char[] entry = new char[tld.length()];
+            for(int i = 0; i < entry.length; i++){
+                entry[i] = toLower(tld.charAt(i));
+            }
+            int slot = hash(entry, 0, entry.length) & mask;
+            boolean duplicate = false;
+            while(table[slot] != null){
+                if(equal(table[slot], entry, 0, entry.length)){
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if(! duplicate){
+                table[slot] = entry;
+                count += 1;
+            }
+        }
+        size = count;
+    }
+
+    // TLDs are wrapped in \b in tld_regex so must start and end with an alphanumeric to ever have matched
+    static boolean isValidTld(CharSequence tld) {
+        int len = tld.length();
+        if(len == 0 || ! isAlNum(tld.charAt(0)) || ! isAlNum(tld.charAt(len - 1))){
+            return false;
+        }
+        for(int i = 1; i < len - 1; i++){
+            char c = tld.charAt(i);
+            if(! isAlNum(c) && c != '-'){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(CharSequence tld) {
+        if(tld == null){
+            return false;
+        }
+        return contains(tld, 0, tld.length());
+    }
+
+    // true if chars [start, end) of str are a known TLD, ignoring ASCII case as per (?i:...) in tld_regex
+    boolean contains(CharSequence str, int start, int end) {
+        if(str == null || start < 0 || end > str.length() || start >= end){
+            return false;
+        }
+        int h = 0;
+        for(int i = start; i < end; i++){
+            char c = str.charAt(i);
+            if(c > 127){
+                return false;
+            }
+            h = 31 * h + toLower(c);
+        }
+        int slot = mix(h) & mask;
+        char[] entry;
+        while((entry = table[slot]) != null){
+            if(equal(entry, str, start, end)){
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private static int hash(char[] chars, int start, int end) {
+        int h = 0;
+        for(int i = start; i < end; i++){
+            h = 31 * h + chars[i];
+        }
+        return mix(h);
+    }
+
+    // spread the low bits since we mask by table size
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equal(char[] entry, char[] chars, int start, int end) {
+        if(entry.length != end - start){
+            return false;
+        }
+        for(int i = 0; i < entry.length; i++){
+            if(entry[i] != chars[start + i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equal(char[] entry, CharSequence str, int start, int end) {
+        if(entry.length != end - start){
+            return false;
+        }
+        for(int i = 0; i < entry.length; i++){
+            if(entry[i] != toLower(str.charAt(start + i))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAlNum(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    // ASCII only to match the regex engine's CASE_INSENSITIVE without UNICODE_CASE
+    private static char toLower(char c) {
+        if(c >= 'A' && c <= 'Z'){
+            return (char) (c + 32);
+        }
+        return c;
+    }
+
+}
@@ -0,0 +1,54 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 21:12:40 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.util.HashSet;
+
+import org.apache.commons.lang.StringUtils;
+
+import static com.linkedin.harisekhon.Utils.*;
+
+// The TLDs and the regexes generated from them, inherited by Utils so they are still accessed as Utils.tlds,
+// Utils.domain_regex etc, but declared here so that they are initialized lazily
+//
+// The JVM only initializes an interface the first time one of its fields is read, and initializing Utils doesn't
+// initialize its superinterfaces, so loading the TLD resource files and building these regexes is only paid for
+// when one of these is first read rather than by every JVM that touches Utils
+//
+// These are fixed as first loaded. Validation goes through TldRegistry instead, which starts from the same loaded
+// TLDs and can reload them at runtime
+interface TldRegex {
+
+    // a copy of the loaded TLDs since this is public and can be changed by callers
+    HashSet<String> tlds = new HashSet<String>(Utils.loadedTlds());
+
+    String tld_regex                = "\\b(?i:" + StringUtils.join(Utils.loadedTlds().iterator(), "|") + ")\\b";
+
+    //tld_regex                     = "\\b(?i:[A-Za-z]{2,4}|london|museum|travel|local|localdomain|intra|intranet|internal)\\b";
+    String domain_regex             = "(?:" + domain_component + "\\.)*" + tld_regex;
+    String domain_regex_strict      = "(?:" + domain_component + "\\.)+" + tld_regex;
+    String hostname_regex           = String.format("%s(?:\\.%s)?", hostname_component_regex, domain_regex);
+    String aws_hostname_regex       = aws_host_ip_regex + "(?:\\." + domain_regex + ")?";
+    String aws_fqdn_regex           = aws_host_ip_regex + "\\." + domain_regex;
+    String host_regex               = String.format("\\b(?:%s|%s)\\b", hostname_regex, ip_regex);
+    String fqdn_regex               = hostname_component_regex + "\\." + domain_regex;
+    String krb5_principal_regex     = String.format("%s(?:/%s)?(?:@%s)?", user_regex, hostname_regex, domain_regex);
+    String email_regex              = "\\b[A-Za-z0-9](?:[A-Za-z0-9\\._\\%\\'\\+-]{0,62}[A-Za-z0-9\\._\\%\\+-])?@" + domain_regex + "\\b";
+    String url_regex                = "\\b(?i:https?://)?" + host_regex + "(?::\\d{1,5})?(?:" + url_path_suffix_regex + ")?";
+
+}
@@ -0,0 +1,304 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 22:05:41 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.lang.StringUtils;
+
+import static com.linkedin.harisekhon.Utils.*;
+
+// Reloadable TLDs for long running services to pick up new IANA TLDs without restarting the JVM
+//
+//   TldRegistry.reload(new File("/path/to/tlds-alpha-by-domain.txt")).get();
+//
+// The TLDs and everything derived from them - the TldMatcher used by HostScanner, the regexes and their compiled
+// patterns - are held in one immutable Snapshot published via a volatile reference. A reload builds a complete new
+// Snapshot on a background thread, precompiles whichever patterns were in use in the old one, then swaps it in with
+// a single write (copy-on-write). Readers take no locks: each validation reads the current Snapshot once and uses
+// it throughout, so calls already in flight finish against the old TLDs.
+//
+// Utils.tlds and the TLD regex strings Utils inherits from TldRegex are fixed as first loaded and are not updated by a reload,
+// use current() to get the live regexes
+public final class TldRegistry {
+
+    private static volatile Snapshot current = initialSnapshot();
+
+    // single thread so reloads are applied in the order they were requested
+    private static final ExecutorService reloader = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "TldRegistry-reload");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private TldRegistry() {
+        // static methods only
+    }
+
+    // the same set TldRegex is built from, so the TLD resources are only loaded once. Utils.tlds is a copy of it so
+    // changes to that set are never seen here
+    private static Snapshot initialSnapshot() {
+        return new Snapshot(Utils.loadedTlds(), 1);
+    }
+
+    public static Snapshot current() {
+        return current;
+    }
+
+    static TldMatcher tldMatcher() {
+        return current.matcher;
+    }
+
+    // ===================================================================== //
+    //
+    //                              R e l o a d
+    //
+    // ===================================================================== //
+
+    // replaces the TLDs with the given ones, plus the custom TLDs from custom_tlds.txt if custom is true
+    //
+    // the returned Future completes with the new Snapshot once it has been published, or fails with an
+    // IllegalArgumentException / IllegalStateException wrapped in an ExecutionException, leaving the current
+    // Snapshot in place, if any TLD is invalid or the TLD count is outside the checkTldCount() bounds
+    public static Future<Snapshot> reload(Collection<String> tlds, final boolean custom) {
+        if(tlds == null){
+            throw new IllegalArgumentException("null tlds passed to TldRegistry.reload()");
+        }
+        // copy now so the caller is free to change their collection after this returns
+        final HashSet<String> tld_set = new HashSet<String>(tlds);
+        return reloader.submit(new Callable<Snapshot>() {
+            @Override
+            public Snapshot call() throws IOException {
+                for(String tld: tld_set){
+                    if(tld == null || ! TldMatcher.isValidTld(tld)){
+                        throw new IllegalArgumentException("invalid TLD '" + tld + "' passed to TldRegistry.reload()");
+                    }
+                }
+                checkTldCount(tld_set);
+                if(custom){
+                    loadTlds("custom_tlds.txt", tld_set, false);
+                }
+                return publish(tld_set);
+            }
+        });
+    }
+
+    public static Future<Snapshot> reload(Collection<String> tlds) {
+        return reload(tlds, true);
+    }
+
+    // reloads from a file in the same format as the IANA tlds-alpha-by-domain.txt, plus the custom TLDs
+    public static Future<Snapshot> reload(final File file) {
+        if(file == null){
+            throw new IllegalArgumentException("null file passed to TldRegistry.reload()");
+        }
+        return reloader.submit(new Callable<Snapshot>() {
+            @Override
+            public Snapshot call() throws IOException {
+                HashSet<String> tld_set = new HashSet<String>();
+                loadTlds(new FileInputStream(file), file.getPath(), tld_set, false);
+                checkTldCount(tld_set);
+                loadTlds("custom_tlds.txt", tld_set, false);
+                return publish(tld_set);
+            }
+        });
+    }
+
+    // only ever called from the reloader thread so there is no race between reading and replacing current
+    private static Snapshot publish(HashSet<String> tld_set) {
+        Snapshot previous = current;
+        Snapshot snapshot = new Snapshot(tld_set, previous.version + 1);
+        // precompile the patterns that have been used so the first calls after the swap don't pay for it
+        for(int i = 0; i < PATTERNS; i++){
+            if(previous.patterns.get(i) != null){
+                snapshot.pattern(i);
+            }
+        }
+        current = snapshot;
+        log.info(String.format("reloaded %d TLDs, TLD registry version %d", snapshot.size(), snapshot.version));
+        return snapshot;
+    }
+
+    // ===================================================================== //
+    //
+    //                            S n a p s h o t
+    //
+    // ===================================================================== //
+
+    // indexes in to Snapshot.patterns
+    static final int AWS_HOSTNAME       = 0;
+    static final int AWS_FQDN           = 1;
+    static final int URL                = 2;
+    static final int KRB5_PRINCIPAL     = 3;
+    static final int SCHEME_HOST_PREFIX = 4;
+    private static final int PATTERNS   = 5;
+
+    // Immutable set of TLDs along with the matcher and regexes generated from them, built the same way as the TLD regexes
+    // declared on Utils. Patterns are compiled on first use as before, a benign race may compile one twice but only one
+    // is kept
+    public static final class Snapshot {
+
+        private final Set<String> tlds;
+        private final long version;
+        private final TldMatcher matcher;
+        private final AtomicReferenceArray<CachedPattern> patterns = new AtomicReferenceArray<CachedPattern>(PATTERNS);
+
+        private final String tld_regex;
+        private final String domain_regex;
+        private final String domain_regex_strict;
+        private final String hostname_regex;
+        private final String aws_hostname_regex;
+        private final String aws_fqdn_regex;
+        private final String host_regex;
+        private final String fqdn_regex;
+        private final String krb5_principal_regex;
+        private final String email_regex;
+        private final String url_regex;
+
+        private Snapshot(HashSet<String> tld_set, long version) {
+            this.tlds = Collections.unmodifiableSet(tld_set);
+            this.version = version;
+            matcher = new TldMatcher(tld_set);
+            String[] sorted = tld_set.toArray(new String[tld_set.size()]);
+            Arrays.sort(sorted);
+            tld_regex               = "\\b(?i:" + StringUtils.join(sorted, "|") + ")\\b";
+            domain_regex            = "(?:" + domain_component + "\\.)*" + tld_regex;
+            domain_regex_strict     = "(?:" + domain_component + "\\.)+" + tld_regex;
+            hostname_regex          = String.format("%s(?:\\.%s)?", hostname_component_regex, domain_regex);
+            aws_hostname_regex      = aws_host_ip_regex + "(?:\\." + domain_regex + ")?";
+            aws_fqdn_regex          = aws_host_ip_regex + "\\." + domain_regex;
+            host_regex              = String.format("\\b(?:%s|%s)\\b", hostname_regex, ip_regex);
+            fqdn_regex              = hostname_component_regex + "\\." + domain_regex;
+            krb5_principal_regex    = String.format("%s(?:/%s)?(?:@%s)?", user_regex, hostname_regex, domain_regex);
+            email_regex             = "\\b[A-Za-z0-9](?:[A-Za-z0-9\\._\\%\\'\\+-]{0,62}[A-Za-z0-9\\._\\%\\+-])?@" + domain_regex + "\\b";
+            url_regex               = "\\b(?i:https?://)?" + host_regex + "(?::\\d{1,5})?(?:" + url_path_suffix_regex + ")?";
+        }
+
+        CachedPattern pattern(int index) {
+            CachedPattern pattern = patterns.get(index);
+            if(pattern == null){
+                pattern = new CachedPattern(regex(index));
+                if(! patterns.compareAndSet(index, null, pattern)){
+                    pattern = patterns.get(index);
+                }
+            }
+            return pattern;
+        }
+
+        private String regex(int index) {
+            switch(index){
+                case AWS_HOSTNAME:          return "^" + aws_hostname_regex + "$";
+                case AWS_FQDN:              return "^" + aws_fqdn_regex + "$";
+                case URL:                   return "^" + url_regex + "$";
+                case KRB5_PRINCIPAL:        return "^" + krb5_principal_regex + "$";
+                case SCHEME_HOST_PREFIX:    return "^\\w+:(?://" + host_regex + "(?::\\d+)?)?/";
+                default:
+                    throw new IllegalArgumentException("invalid pattern index " + index);
+            }
+        }
+
+        TldMatcher matcher() {
+            return matcher;
+        }
+
+        // unmodifiable
+        public Set<String> getTlds() {
+            return tlds;
+        }
+
+        public int size() {
+            return matcher.size();
+        }
+
+        // starts at 1 for the TLDs loaded from the resources and increments with each reload
+        public long getVersion() {
+            return version;
+        }
+
+        // ignores ASCII case as per tld_regex
+        public boolean isTld(CharSequence tld) {
+            return tld != null && matcher.contains(tld);
+        }
+
+        public String getTldRegex() {
+            return tld_regex;
+        }
+
+        public String getDomainRegex() {
+            return domain_regex;
+        }
+
+        public String getDomainRegexStrict() {
+            return domain_regex_strict;
+        }
+
+        public String getHostnameRegex() {
+            return hostname_regex;
+        }
+
+        public String getAwsHostnameRegex() {
+            return aws_hostname_regex;
+        }
+
+        public String getAwsFqdnRegex() {
+            return aws_fqdn_regex;
+        }
+
+        public String getHostRegex() {
+            return host_regex;
+        }
+
+        public String getFqdnRegex() {
+            return fqdn_regex;
+        }
+
+        public String getKrb5PrincipalRegex() {
+            return krb5_principal_regex;
+        }
+
+        public String getEmailRegex() {
+            return email_regex;
+        }
+
+        public String getUrlRegex() {
+            return url_regex;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("TldRegistry.Snapshot[version=%d, tlds=%d]", version, size());
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 21:40:18 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashSet;
+
+// Precompiled binary snapshot of the TLD resource files, generated at build time so that the runtime loads the TLDs
+// with a single read and no line parsing or regex work
+//
+// The text files tlds-alpha-by-domain.txt and custom_tlds.txt remain the source of truth. The build (exec-maven-plugin
+// in the process-classes phase, generateTldSnapshot in Gradle) runs main() which loads them strictly - an invalid TLD
+// line or a TLD count outside the checkTldCount() bounds fails the build - and writes the sorted TLDs to tlds.bin in
+// the classes output directory. If the snapshot isn't on the classpath, eg. running straight from an IDE, Utils falls
+// back to parsing the text files.
+//
+// Format, big endian:
+//
+//   int   magic 'TLD1'
+//   int   total length in bytes of the TLD entries that follow
+//   int   number of TLDs
+//   per TLD: unsigned byte length followed by that many ASCII bytes
+public final class TldSnapshot {
+
+    static final String RESOURCE = "tlds.bin";
+
+    private static final int MAGIC = 0x544C4431;
+    private static final int HEADER_LENGTH = 12;
+    private static final Charset ascii = Charset.forName("US-ASCII");
+
+    private TldSnapshot() {
+        // static methods only
+    }
+
+    // returns null if there is no snapshot resource, throws IOException if there is one but it's corrupt
+    static HashSet<String> load() throws IOException {
+        InputStream in = TldSnapshot.class.getResourceAsStream("/" + RESOURCE);
+        if(in == null){
+            return null;
+        }
+        return read(in);
+    }
+
+    // closes the stream
+    static HashSet<String> read(InputStream in) throws IOException {
+        try {
+            byte[] header = new byte[HEADER_LENGTH];
+            readFully(in, header);
+            if(readInt(header, 0) != MAGIC){
+                throw new IOException("invalid TLD snapshot '" + RESOURCE + "', bad magic number");
+            }
+            int length = readInt(header, 4);
+            int count = readInt(header, 8);
+            if(length < 0 || count < 0 || count > length){
+                throw new IOException("invalid TLD snapshot '" + RESOURCE + "', bad header");
+            }
+            byte[] buf = new byte[length];
+            readFully(in, buf);
+            HashSet<String> tlds = new HashSet<String>(count * 2);
+            int pos = 0;
+            for(int i = 0; i < count; i++){
+                if(pos >= length){
+                    throw new IOException("invalid TLD snapshot '" + RESOURCE + "', truncated");
+                }
+                int len = buf[pos++] & 0xFF;
+                if(len == 0 || pos + len > length){
+                    throw new IOException("invalid TLD snapshot '" + RESOURCE + "', truncated");
+                }
+                tlds.add(new String(buf, pos, len, ascii));
+                pos += len;
+            }
+            return tlds;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void readFully(InputStream in, byte[] buf) throws IOException {
+        int pos = 0;
+        while(pos < buf.length){
+            int n = in.read(buf, pos, buf.length - pos);
+            if(n < 0){
+                throw new IOException("invalid TLD snapshot '" + RESOURCE + "', unexpected end of file");
+            }
+            pos += n;
+        }
+    }
+
+    private static int readInt(byte[] buf, int pos) {
+        return ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16) | ((buf[pos + 2] & 0xFF) << 8) | (buf[pos + 3] & 0xFF);
+    }
+
+    static void write(HashSet<String> tlds, File file) throws IOException {
+        String[] sorted = tlds.toArray(new String[tlds.size()]);
+        Arrays.sort(sorted);
+        int length = 0;
+        for(String tld: sorted){
+            if(tld.isEmpty() || tld.length() > 255){
+                throw new IOException(String.format("TLD '%s' length out of range for snapshot", tld));
+            }
+            length += 1 + tld.length();
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(length);
+            out.writeInt(sorted.length);
+            for(String tld: sorted){
+                out.writeByte(tld.length());
+                out.write(tld.getBytes(ascii));
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    // build step: tlds.bin output path
+    public static void main(String[] args) throws IOException {
+        if(args.length != 1){
+            System.err.println("usage: TldSnapshot <output_file>");
+            System.exit(3);
+        }
+        File file = new File(args[0]);
+        File dir = file.getAbsoluteFile().getParentFile();
+        if(dir != null && ! dir.isDirectory() && ! dir.mkdirs()){
+            throw new IOException("failed to create directory " + dir);
+        }
+        HashSet<String> tlds = Utils.loadTldsFromText(true);
+        write(tlds, file);
+        System.out.println(String.format("wrote %d TLDs to %s", tlds.size(), file));
+    }
+
+}
@@ -0,0 +1,185 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:52:36 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+// Units of measurement understood by Units.parse() / convert(), grouped by Dimension
+//
+// Factors are exact integers relative to the smallest unit of each dimension - bytes for data, nanoseconds for time -
+// so that conversions are done by one exact multiply or divide wherever possible.
+//
+// Data units come in IEC binary (KiB = 1024) and SI decimal (kB = 1000) flavours. The bare prefixes K / KB, M / MB
+// etc are ambiguous and mean binary by default, as they always have in expandUnits() / humanUnits() and Nagios
+// plugins, or SI decimal when parsed with si = true
+public enum Unit {
+
+    NONE        ("",    Dimension.NONE,     1L),
+    PERCENT     ("%",   Dimension.PERCENT,  1L),
+    COUNTER     ("c",   Dimension.COUNTER,  1L),
+
+    BYTE        ("B",   Dimension.DATA,     1L),
+    KILOBYTE    ("kB",  Dimension.DATA,     1000L),
+    MEGABYTE    ("MB",  Dimension.DATA,     1000000L),
+    GIGABYTE    ("GB",  Dimension.DATA,     1000000000L),
+    TERABYTE    ("TB",  Dimension.DATA,     1000000000000L),
+    PETABYTE    ("PB",  Dimension.DATA,     1000000000000000L),
+    EXABYTE     ("EB",  Dimension.DATA,     1000000000000000000L),
+    KIBIBYTE    ("KiB", Dimension.DATA,     1L << 10),
+    MEBIBYTE    ("MiB", Dimension.DATA,     1L << 20),
+    GIBIBYTE    ("GiB", Dimension.DATA,     1L << 30),
+    TEBIBYTE    ("TiB", Dimension.DATA,     1L << 40),
+    PEBIBYTE    ("PiB", Dimension.DATA,     1L << 50),
+    EXBIBYTE    ("EiB", Dimension.DATA,     1L << 60),
+
+    NANOSECOND  ("ns",  Dimension.TIME,     1L),
+    MICROSECOND ("us",  Dimension.TIME,     1000L),
+    MILLISECOND ("ms",  Dimension.TIME,     1000000L),
+    SECOND      ("s",   Dimension.TIME,     1000000000L),
+    MINUTE      ("min", Dimension.TIME,     60000000000L),
+    HOUR        ("h",   Dimension.TIME,     3600000000000L),
+    DAY         ("d",   Dimension.TIME,     86400000000000L);
+
+    public enum Dimension {
+        NONE, PERCENT, COUNTER, DATA, TIME
+    }
+
+    private final String symbol;
+    private final Dimension dimension;
+    private final long factor;
+
+    Unit(String symbol, Dimension dimension, long factor) {
+        this.symbol = symbol;
+        this.dimension = dimension;
+        this.factor = factor;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    // multiple of the smallest unit of the same dimension, eg. 1024 for KIBIBYTE, 1000000 for MILLISECOND
+    public long getFactor() {
+        return factor;
+    }
+
+    // the unit values are returned in by Units.parse(str) - bytes for data, seconds for time, otherwise itself
+    public Unit getBase() {
+        switch(dimension){
+            case DATA: return BYTE;
+            case TIME: return SECOND;
+            default:   return this;
+        }
+    }
+
+    // indexed by prefix power, 1024^n / 1000^n
+    static final Unit[] binary = { BYTE, KIBIBYTE, MEBIBYTE, GIBIBYTE, TEBIBYTE, PEBIBYTE, EXBIBYTE };
+    static final Unit[] decimal = { BYTE, KILOBYTE, MEGABYTE, GIGABYTE, TERABYTE, PETABYTE, EXABYTE };
+    static final Unit[] time = { NANOSECOND, MICROSECOND, MILLISECOND, SECOND, MINUTE, HOUR, DAY };
+
+    // Unit for the symbol in chars [start, end) ignoring surrounding whitespace and case, or null if not recognized.
+    // An empty symbol is NONE. Doesn't allocate.
+    //
+    //   data - B, K / KB, Ki / KiB, M / MB, Mi / MiB ... E / EB, Ei / EiB
+    //   time - ns, us / micro sign s (U+00B5 or Greek mu U+03BC), ms, s, min, h, d
+    //   other - % and c
+    public static Unit parse(CharSequence str, int start, int end, boolean si) {
+        if(str == null || start < 0 || end > str.length() || start > end){
+            return null;
+        }
+        while(start < end && str.charAt(start) <= ' '){
+            start++;
+        }
+        while(end > start && str.charAt(end - 1) <= ' '){
+            end--;
+        }
+        int len = end - start;
+        if(len == 0){
+            return NONE;
+        }
+        char c0 = toLower(str.charAt(start));
+        char c1 = len > 1 ? toLower(str.charAt(start + 1)) : 0;
+        char c2 = len > 2 ? toLower(str.charAt(start + 2)) : 0;
+        if(len == 1){
+            switch(c0){
+                case '%': return PERCENT;
+                case 'c': return COUNTER;
+                case 'b': return BYTE;
+                case 's': return SECOND;
+                case 'h': return HOUR;
+                case 'd': return DAY;
+                default: break;
+            }
+        } else if(len == 2 && c1 == 's'){
+            switch(c0){
+                case 'n': return NANOSECOND;
+                case 'u':
+                case '\u00B5':
+                case '\u03BC': return MICROSECOND;
+                case 'm': return MILLISECOND;
+                default: break;
+            }
+        } else if(len == 3 && c0 == 'm' && c1 == 'i' && c2 == 'n'){
+            return MINUTE;
+        }
+        int power = prefixPower(c0);
+        if(power < 0 || len > 3){
+            return null;
+        }
+        if(len == 1 || (len == 2 && c1 == 'b')){
+            return si ? decimal[power] : binary[power];
+        }
+        if(c1 == 'i' && (len == 2 || c2 == 'b')){
+            return binary[power];
+        }
+        return null;
+    }
+
+    public static Unit parse(CharSequence symbol, boolean si) {
+        return symbol == null ? null : parse(symbol, 0, symbol.length(), si);
+    }
+
+    // bare K / M / G etc are binary
+    public static Unit parse(CharSequence symbol) {
+        return parse(symbol, false);
+    }
+
+    private static int prefixPower(char c) {
+        switch(c){
+            case 'k': return 1;
+            case 'm': return 2;
+            case 'g': return 3;
+            case 't': return 4;
+            case 'p': return 5;
+            case 'e': return 6;
+            default:  return -1;
+        }
+    }
+
+    private static char toLower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c;
+    }
+
+    @Override
+    public String toString() {
+        return symbol;
+    }
+
+}
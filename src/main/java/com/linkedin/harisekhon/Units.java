@@ -0,0 +1,348 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:58:04 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+// Parses and converts values with units, eg. "12.5GiB", "300ms", "1.2e6", "90%", without regex or allocating
+// for the common cases, and converts between units in bulk over double[] for metrics
+//
+// Bare K / KB / M / MB etc are binary by default as in Utils.expandUnits() and Nagios plugins, pass si = true to
+// parse them as decimal 1000^n. Ki / KiB etc are always binary
+public final class Units {
+
+    private Units() {}
+
+    // 10^0 - 10^22, every one exact in a double
+    private static final double[] pow10 = {
+        1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // number of significant digits that always fit exactly in the 53 bit mantissa of a double
+    private static final int max_exact_digits = 15;
+
+    // value of str converted to target, or to the base unit of whatever unit str has if target is null - bytes for
+    // data, seconds for time. A plain number without units is taken to already be in target units
+    public static double parse(CharSequence str, Unit target, boolean si) {
+        if(str == null){
+            throw new IllegalArgumentException("null passed to Units.parse()");
+        }
+        int start = 0;
+        int end = str.length();
+        while(start < end && str.charAt(start) <= ' '){
+            start++;
+        }
+        int num_end = numberEnd(str, start, end);
+        if(num_end < 0){
+            throw new IllegalArgumentException(String.format("invalid number in '%s'", str));
+        }
+        Unit unit = Unit.parse(str, num_end, end, si);
+        if(unit == null){
+            throw new IllegalArgumentException(String.format("unrecognized units '%s' in '%s'", str.subSequence(num_end, end).toString().trim(), str));
+        }
+        double value = parseNumber(str, start, num_end);
+        if(unit == Unit.NONE || target == unit){
+            return value;
+        }
+        if(target == null){
+            target = unit.getBase();
+        }
+        return convert(value, unit, target);
+    }
+
+    public static double parse(CharSequence str, Unit target) {
+        return parse(str, target, false);
+    }
+
+    public static double parse(CharSequence str) {
+        return parse(str, null, false);
+    }
+
+    // as parse() but must come out as a whole number of target units, eg. parseLong("1.5KiB", Unit.BYTE) => 1536
+    public static long parseLong(CharSequence str, Unit target, boolean si) {
+        double value = parse(str, target, si);
+        if(value != Math.rint(value) || value < -0x1p63 || value >= 0x1p63){
+            throw new IllegalArgumentException(String.format("'%s' is not a whole number of %s", str, target == null ? "base units" : target.name().toLowerCase() + "s"));
+        }
+        return (long) value;
+    }
+
+    public static long parseLong(CharSequence str, Unit target) {
+        return parseLong(str, target, false);
+    }
+
+    public static long parseLong(CharSequence str) {
+        return parseLong(str, null, false);
+    }
+
+    // the units of a value string, eg. Unit.MILLISECOND for "300ms", Unit.NONE for "1.2e6"
+    public static Unit parseUnit(CharSequence str, boolean si) {
+        if(str == null){
+            throw new IllegalArgumentException("null passed to Units.parseUnit()");
+        }
+        int start = 0;
+        while(start < str.length() && str.charAt(start) <= ' '){
+            start++;
+        }
+        int num_end = numberEnd(str, start, str.length());
+        Unit unit = num_end < 0 ? null : Unit.parse(str, num_end, str.length(), si);
+        if(unit == null){
+            throw new IllegalArgumentException(String.format("invalid value with units '%s'", str));
+        }
+        return unit;
+    }
+
+    public static Unit parseUnit(CharSequence str) {
+        return parseUnit(str, false);
+    }
+
+    public static boolean isValid(CharSequence str) {
+        if(str == null){
+            return false;
+        }
+        int start = 0;
+        while(start < str.length() && str.charAt(start) <= ' '){
+            start++;
+        }
+        int num_end = numberEnd(str, start, str.length());
+        return num_end >= 0 && Unit.parse(str, num_end, str.length(), false) != null;
+    }
+
+    // end of the [+-]digits[.digits][e[+-]digits] number starting at start, or -1 if there isn't one. An e not
+    // followed by exponent digits is left for the units, eg. "1EB"
+    static int numberEnd(CharSequence str, int start, int end) {
+        int i = start;
+        if(i < end && (str.charAt(i) == '+' || str.charAt(i) == '-')){
+            i++;
+        }
+        int digits = 0;
+        while(i < end && isDigit(str.charAt(i))){
+            i++;
+            digits++;
+        }
+        if(i < end && str.charAt(i) == '.'){
+            i++;
+            while(i < end && isDigit(str.charAt(i))){
+                i++;
+                digits++;
+            }
+        }
+        if(digits == 0){
+            return -1;
+        }
+        if(i < end && (str.charAt(i) | 0x20) == 'e'){
+            int j = i + 1;
+            if(j < end && (str.charAt(j) == '+' || str.charAt(j) == '-')){
+                j++;
+            }
+            if(j < end && isDigit(str.charAt(j))){
+                i = j;
+                while(i < end && isDigit(str.charAt(i))){
+                    i++;
+                }
+            }
+        }
+        return i;
+    }
+
+    // the number in chars [start, end) already checked by numberEnd(). Up to 15 significant digits with a decimal
+    // exponent within +-22 is an exact long times or divided by an exact power of 10, a single correctly rounded
+    // operation, which covers practically every metric. Anything longer goes to Double.parseDouble()
+    static double parseNumber(CharSequence str, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if(str.charAt(i) == '+' || str.charAt(i) == '-'){
+            negative = str.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        for(; i < end; i++){
+            char c = str.charAt(i);
+            if(c == '.'){
+                fraction = true;
+                continue;
+            }
+            if(! isDigit(c)){
+                break;
+            }
+            if(mantissa == 0 && c == '0'){
+                // leading zeros aren't significant
+                if(fraction){
+                    exponent--;
+                }
+                continue;
+            }
+            if(significant == max_exact_digits){
+                return Double.parseDouble(str.subSequence(start, end).toString());
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            significant++;
+            if(fraction){
+                exponent--;
+            }
+        }
+        if(i < end){
+            // exponent, at most 4 digits here else leave over / underflow to parseDouble()
+            i++;
+            boolean negative_exponent = str.charAt(i) == '-';
+            if(str.charAt(i) == '+' || negative_exponent){
+                i++;
+            }
+            if(end - i > 4){
+                return Double.parseDouble(str.subSequence(start, end).toString());
+            }
+            int exp = 0;
+            for(; i < end; i++){
+                exp = exp * 10 + (str.charAt(i) - '0');
+            }
+            exponent += negative_exponent ? -exp : exp;
+        }
+        double value;
+        if(mantissa == 0){
+            value = 0;
+        } else if(exponent >= 0 && exponent < pow10.length){
+            value = mantissa * pow10[exponent];
+        } else if(exponent < 0 && -exponent < pow10.length){
+            value = mantissa / pow10[-exponent];
+        } else {
+            return Double.parseDouble(str.subSequence(start, end).toString());
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static void checkConvertible(Unit from, Unit to) {
+        if(from == null || to == null){
+            throw new IllegalArgumentException("null unit passed to Units.convert()");
+        }
+        if(from.getDimension() != to.getDimension()){
+            throw new IllegalArgumentException(String.format("cannot convert %s to %s", from.name().toLowerCase(), to.name().toLowerCase()));
+        }
+    }
+
+    public static double convert(double value, Unit from, Unit to) {
+        checkConvertible(from, to);
+        long f = from.getFactor();
+        long t = to.getFactor();
+        if(f == t){
+            return value;
+        } else if(f % t == 0){
+            return value * (double) (f / t);
+        } else if(t % f == 0){
+            return value / (double) (t / f);
+        }
+        return value * f / t;
+    }
+
+    // converts length values from src to dest, which may be the same array and overlap, eg. a column of metrics
+    //
+    // Factors are exact integers so this is one multiply or divide per value wherever one unit is a whole multiple
+    // of the other, giving exactly the same results as convert() on each value
+    public static void convert(double[] src, int src_pos, double[] dest, int dest_pos, int length, Unit from, Unit to) {
+        checkConvertible(from, to);
+        if(src == null || dest == null){
+            throw new IllegalArgumentException("null array passed to Units.convert()");
+        }
+        if(src_pos < 0 || dest_pos < 0 || length < 0 || length > src.length - src_pos || length > dest.length - dest_pos){
+            throw new IndexOutOfBoundsException(String.format("cannot convert %d values from position %d of %d to position %d of %d",
+                                                              length, src_pos, src.length, dest_pos, dest.length));
+        }
+        if(src == dest && src_pos != dest_pos && Math.abs(src_pos - dest_pos) < length){
+            System.arraycopy(src, src_pos, dest, dest_pos, length);
+            src_pos = dest_pos;
+        }
+        long f = from.getFactor();
+        long t = to.getFactor();
+        if(f == t){
+            if(src != dest || src_pos != dest_pos){
+                System.arraycopy(src, src_pos, dest, dest_pos, length);
+            }
+        } else if(f % t == 0){
+            double multiplier = f / t;
+            for(int i = 0; i < length; i++){
+                dest[dest_pos + i] = src[src_pos + i] * multiplier;
+            }
+        } else if(t % f == 0){
+            double divisor = t / f;
+            for(int i = 0; i < length; i++){
+                dest[dest_pos + i] = src[src_pos + i] / divisor;
+            }
+        } else {
+            double ff = f;
+            double tt = t;
+            for(int i = 0; i < length; i++){
+                dest[dest_pos + i] = src[src_pos + i] * ff / tt;
+            }
+        }
+    }
+
+    // in place, returns values
+    public static double[] convert(double[] values, Unit from, Unit to) {
+        if(values == null){
+            throw new IllegalArgumentException("null array passed to Units.convert()");
+        }
+        convert(values, 0, values, 0, values.length, from, to);
+        return values;
+    }
+
+    // value in unit scaled to the largest unit of the same dimension it is at least 1 of, with up to 2 decimal
+    // places, eg. 1536 BYTE => "1.5KiB", or "1.5kB" for si = true, 90 SECOND => "1.5min"
+    public static String human(double value, Unit unit, boolean si) {
+        if(unit == null){
+            throw new IllegalArgumentException("null unit passed to Units.human()");
+        }
+        Unit[] units;
+        switch(unit.getDimension()){
+            case DATA: units = si ? Unit.decimal : Unit.binary;
+                       break;
+            case TIME: units = Unit.time;
+                       break;
+            default:   units = null;
+        }
+        Unit unit2 = unit;
+        double value2 = value;
+        if(units != null){
+            Unit smallest = units[0];
+            double abs = Math.abs(convert(value, unit, smallest));
+            unit2 = unit.getBase();
+            if(abs > 0 && abs < Double.POSITIVE_INFINITY){
+                unit2 = smallest;
+                for(int i = units.length - 1; i > 0; i--){
+                    if(abs >= units[i].getFactor()){
+                        unit2 = units[i];
+                        break;
+                    }
+                }
+            }
+            value2 = convert(value, unit, unit2);
+        }
+        StringBuilder sb = new StringBuilder(16);
+        Utils.appendDecimal2(sb, value2);
+        return sb.append(unit2.getSymbol()).toString();
+    }
+
+    public static String human(double value, Unit unit) {
+        return human(value, unit, false);
+    }
+
+}
@@ -26,17 +26,31 @@ import org.apache.log4j.Logger;
 import java.io.*;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 
-import static java.lang.Math.pow;
 
 // Stuff to still be ported:
 // TODO: autoflush
 // TODO: env support
-// TODO: threshold range support
 // TODO: cmd
 // TODO: curl and curl_json
 // TODO: get_field
@@ -47,7 +61,7 @@ import static java.lang.Math.pow;
 
 // Methods should not allow unhandled Exceptions since we want to catch and provide concise one liner errors
 
-public final class Utils {
+public final class Utils implements TldRegex {
 
     private static final String utils_version = "1.17.6";
 
@@ -102,47 +116,86 @@ public final class Utils {
     // must permit numbers as valid host identifiers that are being used in the wild in FQDNs
     public static final String hostname_component_regex = "\\b[A-Za-z0-9](?:[A-Za-z0-9_\\-]{0,61}[a-zA-Z0-9])?\\b";
     public static final String domain_component         = "\\b[a-zA-Z0-9](?:[a-zA-Z0-9\\-]{0,61}[a-zA-Z0-9])?\\b";
-    public static final String domain_regex;
-    public static final String domain_regex_strict;
-    public static final String hostname_regex;
-    public static final String aws_hostname_regex;
-    public static final String host_regex;
+    // tld_regex and the regexes generated from it - domain_regex, domain_regex_strict, hostname_regex, host_regex,
+    // fqdn_regex, email_regex, url_regex, krb5_principal_regex, aws_hostname_regex and aws_fqdn_regex - along with
+    // tlds itself are inherited from TldRegex so they aren't built until first used
     public static final String dirname_regex            = "[/\\w\\s\\\\.:,*()=%?+-]+";
     public static final String filename_regex           = dirname_regex + "[^/]";
     public static final String rwxt_regex               = "[r-][w-][x-][r-][w-][x-][r-][w-][xt-]";
-    public static final String fqdn_regex;
-    public static final String aws_fqdn_regex;
-    public static final String email_regex;
     public static final String subnet_mask_regex        = "\\b(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(?:25[0-5]|2[0-4][0-9]|[01]?[1-9][0-9]|[01]?0[1-9]|[12]00|[0-9])\\b";
     public static final String mac_regex                = "\\b[0-9A-Fa-f]{1,2}[:-](?:[0-9A-Fa-f]{1,2}[:-]){4}[0-9A-Fa-f]{1,2}\\b";
     public static final String process_name_regex       = "\\s*[\\w./<>-][\\w\\s./<>-]+";
     public static final String url_path_suffix_regex    = "/(?:[\\w.,:/%&?#!=*|\\[\\]~+-]+)?"; // there is an RFC3987 regex but it's gigantic, this is easier to reason about and serves my needs
     public static final String user_regex               = "\\b[A-Za-z0-9][A-Za-z0-9\\._-]*[A-Za-z0-9]\\b";
-    public static final String url_regex;
     public static final String column_regex             = "\\b[\\w:]+\\b";
     public static final String ldap_dn_regex            = "\\b\\w+=[\\w\\s-]+(?:,\\w+=[\\w\\s-]+)*\\b";
-    public static final String krb5_principal_regex;
     public static final String threshold_range_regex    = "^(@)?(-?\\d+(?:\\.\\d+)?)(:)(-?\\d+(?:\\.\\d+)?)?$";
     public static final String threshold_simple_regex   = "^(-?\\d+(?:\\.\\d+)?)$";
     public static final String label_regex              = "\\s*[\\%\\(\\)\\/\\*\\w-][\\%\\(\\)\\/\\*\\w\\s-]*";
     public static final String version_regex            = "\\d(\\.\\d+)*";
     public static final String version_regex_lax        = version_regex + "-?.*";
 
-    public static HashSet<String> tlds = new HashSet<String>();
-    public static final String tld_regex;
+    // the TLDs as loaded from resources, on first use - TldRegex.tlds and the initial TldRegistry snapshot are both
+    // built from this same set so the resources are only ever loaded once
+    private static final class TldHolder {
+        // let initialization fail if missing a resource to prevent relying on the regexes which won't match
+        static final HashSet<String> tlds = initTlds();
+    }
 
     protected static final void loadTlds(String filename) throws IOException {
-        int tld_count = 0;
+        loadTlds(filename, tlds, false);
+    }
+
+    // called once to initialize TldHolder.tlds, from the binary snapshot generated at build time if present
+    static final HashSet<String> initTlds() {
         try {
-            final InputStream resourceAsStream = Utils.class.getResourceAsStream("/" + filename);
-            if (resourceAsStream == null) {
-                throw new IOException(String.format("file '%s' does not exist under resources!", filename));
+            HashSet<String> tld_set = TldSnapshot.load();
+            if(tld_set != null){
+                log.debug(tld_set.size() + " TLDs loaded from snapshot '" + TldSnapshot.RESOURCE + "'");
+                return tld_set;
             }
-            // works on disk, not on jar
-//            URL url = com.linkedin.harisekhon.Utils.class.getResource("/" + filename);
-//            File file = new File(url.getFile());
-//            Scanner scanner = new Scanner(file);
-            BufferedReader br = new BufferedReader(new InputStreamReader(resourceAsStream));
+        } catch(IOException e){
+            log.warn(e.getMessage() + ", falling back to TLD text files");
+        }
+        try {
+            return loadTldsFromText(false);
+        } catch(IOException e){
+            // logged by loadTlds when throwing exception
+            quit("UNKNOWN", String.format("unable to load a resource file containing TLDs for generated domain/fqdn regex generation: %s", e.getMessage()));
+        }
+        return null;
+    }
+
+    // strict fails on invalid TLD lines instead of skipping them, for validating the files at build time
+    static final HashSet<String> loadTldsFromText(boolean strict) throws IOException {
+        HashSet<String> tld_set = new HashSet<String>();
+        loadTlds("tlds-alpha-by-domain.txt", tld_set, strict);
+        checkTldCount(tld_set);
+        loadTlds("custom_tlds.txt", tld_set, strict);
+        // XXX: TODO: this fails correctly but doesn't give stack trace or file name
+//        loadTlds("custom_tldsa.txt", tld_set, strict);
+        return tld_set;
+    }
+
+    static final void loadTlds(String filename, HashSet<String> tlds, boolean strict) throws IOException {
+        final InputStream resourceAsStream = Utils.class.getResourceAsStream("/" + filename);
+        if (resourceAsStream == null) {
+            String err_msg = String.format("file '%s' does not exist under resources!", filename);
+            log.error(err_msg);
+            throw new IOException(err_msg);
+        }
+        // works on disk, not on jar
+//        URL url = com.linkedin.harisekhon.Utils.class.getResource("/" + filename);
+//        File file = new File(url.getFile());
+//        Scanner scanner = new Scanner(file);
+        loadTlds(resourceAsStream, filename, tlds, strict);
+    }
+
+    // same format as the IANA tlds-alpha-by-domain.txt, closes the stream
+    static final void loadTlds(InputStream in, String filename, HashSet<String> tlds, boolean strict) throws IOException {
+        int tld_count = 0;
+        try {
+            BufferedReader br = new BufferedReader(new InputStreamReader(in));
             String line;
             while((line = br.readLine()) != null) {
                 line = line.replaceFirst("[#;].*", "");
@@ -153,6 +206,8 @@ public final class Utils {
                 if (line.matches("^[A-Za-z0-9-]+$")) {
                     tlds.add(line);
                     tld_count += 1;
+                } else if (strict) {
+                    throw new IOException(String.format("TLD: '%s' from tld file '%s' not validated", line, filename));
                 } else {
                     log.warn(String.format("TLD: '%s' from tld file '%s' not validated, skipping that TLD", line, filename));
                 }
@@ -160,12 +215,26 @@ public final class Utils {
             br.close();
         } catch (IOException e){
             log.error(e.getMessage());
+            in.close();
             throw e;
         }
         log.debug(tld_count + " TLDs loaded from '" + filename + "'");
     }
 
+    static final HashSet<String> loadedTlds() {
+        return TldHolder.tlds;
+    }
+
+    // current TLDs as of the last TldRegistry reload, used by HostScanner
+    static final TldMatcher tldMatcher() {
+        return TldRegistry.tldMatcher();
+    }
+
     public static void checkTldCount() throws IllegalStateException {
+        checkTldCount(tlds);
+    }
+
+    static final void checkTldCount(HashSet<String> tlds) throws IllegalStateException {
         long tld_count = tlds.size();
         log.debug(String.format("%d total unique TLDs loaded from resources", tld_count));
         if (tld_count < 1000) {
@@ -180,6 +249,55 @@ public final class Utils {
         }
     }
 
+    // ===================================================================== //
+    //
+    //           P r e c o m p i l e d   P a t t e r n   R e g i s t r y
+    //
+    // ===================================================================== //
+
+    // compiled once from the regex constants above instead of String.matches() recompiling on every call,
+    // the regex strings passed in are exactly the ones that were previously passed to String.matches()
+    private static final CachedPattern alnum_pattern            = new CachedPattern("^[A-Za-z0-9]+$");
+    // A-z range retained from original isAlNum regex
+    private static final CachedPattern alnum_lax_pattern        = new CachedPattern("^[A-za-z0-9]+$");
+    private static final CachedPattern aws_access_key_pattern   = new CachedPattern("^" + aws_access_key_regex + "$");
+    private static final CachedPattern aws_secret_key_pattern   = new CachedPattern("^" + aws_secret_key_regex + "$");
+    private static final CachedPattern collection_pattern       = new CachedPattern("^(\\w(?:[\\w.]*\\w)?)$");
+    private static final CachedPattern database_pattern         = new CachedPattern("^\\w+$");
+    private static final CachedPattern column_pattern           = new CachedPattern("^" + column_regex + "$");
+    private static final CachedPattern field_pattern            = new CachedPattern("^(?:\\d+|[\\w()*,._-]+)$");
+    private static final CachedPattern table_pattern            = new CachedPattern("^[A-Za-z0-9]\\w*[A-Za-z0-9]$");
+    private static final CachedPattern table_qualified_pattern  = new CachedPattern("^[A-Za-z0-9][\\w.]*[A-Za-z0-9]$");
+    private static final CachedPattern dirname_pattern          = new CachedPattern("^" + dirname_regex + "$");
+    private static final CachedPattern filename_pattern         = new CachedPattern("^" + filename_regex + "$");
+    private static final CachedPattern hex_pattern              = new CachedPattern("^0x[A-Fa-f\\d]+$");
+    private static final CachedPattern interface_pattern        = new CachedPattern("^(?:em|eth|bond|lo|docker)\\d+|lo|veth[A-Fa-f0-9]+$");
+    private static final CachedPattern label_pattern            = new CachedPattern("^" + label_regex + "$");
+    private static final CachedPattern ldap_dn_pattern          = new CachedPattern("^" + ldap_dn_regex + "$");
+    private static final CachedPattern nosql_key_pattern        = new CachedPattern("^[\\w_,.:+-]+$");
+    private static final CachedPattern port_pattern             = new CachedPattern("^\\d+$");
+    private static final CachedPattern process_name_pattern     = new CachedPattern("^" + process_name_regex + "$");
+    private static final CachedPattern url_path_suffix_pattern  = new CachedPattern("^" + url_path_suffix_regex + "$");
+    private static final CachedPattern user_pattern             = new CachedPattern("^" + user_regex + "$");
+    private static final CachedPattern version_pattern          = new CachedPattern("^" + version_regex + "$");
+    private static final CachedPattern version_lax_pattern      = new CachedPattern(version_regex_lax);
+    private static final Pattern       min_version_pattern      = Pattern.compile("(\\d+(?:\\.\\d+)?)");
+    private static final Pattern       host_port_suffix_pattern = Pattern.compile(":(\\d+)$");
+    private static final CachedPattern query_select_show_pattern = new CachedPattern("^(?i)\\s*(?:SHOW|SELECT)\\s+.+$");
+    private static final CachedPattern query_dml_pattern        = new CachedPattern("(?i).*\\b(?:insert|update|delete|create|drop|alter|truncate)\\b.*");
+    private static final CachedPattern program_relative_pattern = new CachedPattern("^[./]");
+    private static final CachedPattern program_path_pattern     = new CachedPattern("^(?:/|\\./).*");
+    private static final CachedPattern posix_subshell_pattern   = new CachedPattern(".*(?:\\$\\(|`).*");
+    private static final CachedPattern password_quotes_pattern  = new CachedPattern(".*[\"'`].*");
+    private static final CachedPattern password_subshell_pattern = new CachedPattern(".*\\$\\(.*");
+
+    // Patterns generated from the TLDs are held in the current TldRegistry.Snapshot so they follow TLD reloads.
+    // Each is compiled on first use, and the TLDs are only loaded when TldRegistry is first used - a program that
+    // only checks isEmail() never compiles the URL regex and one that only uses expandUnits() never loads the TLDs
+    private static CachedPattern tldPattern(int index) {
+        return TldRegistry.current().pattern(index);
+    }
+
     // can't throw any Exception up from static initializer
     static {
         // autoboxing
@@ -188,35 +306,6 @@ public final class Utils {
         exit_codes.put("CRITICAL",  2);
         exit_codes.put("UNKNOWN",   3);
         exit_codes.put("DEPENDENT", 4);
-
-        // let the class fail to initialize if missing a resource to prevent relying on the regexes which won't match
-        try {
-            loadTlds("tlds-alpha-by-domain.txt");
-            checkTldCount();
-            loadTlds("custom_tlds.txt");
-            // XXX: TODO: this fails correctly but doesn't give stack trace or file name
-//            loadTlds("custom_tldsa.txt");
-//            log.trace("tld_regex = " + tld_regex);
-        } catch(IOException e){
-            // logged by loadTlds when throwing exception
-//            log.error(e.getMessage());
-            quit("UNKNOWN", String.format("unable to load a resource file containing TLDs for generated domain/fqdn regex generation: %s", e.getMessage()));
-//            throw e;
-        }
-
-        tld_regex = "\\b(?i:" + StringUtils.join(tlds.iterator(), "|") + ")\\b";
-
-        //tld_regex                   = "\\b(?i:[A-Za-z]{2,4}|london|museum|travel|local|localdomain|intra|intranet|internal)\\b";
-        domain_regex                = "(?:" + domain_component + "\\.)*" + tld_regex;
-        domain_regex_strict         = "(?:" + domain_component + "\\.)+" + tld_regex;
-        hostname_regex              = String.format("%s(?:\\.%s)?", hostname_component_regex, domain_regex);
-        aws_hostname_regex          = aws_host_ip_regex + "(?:\\." + domain_regex + ")?";
-        aws_fqdn_regex              = aws_host_ip_regex + "\\." + domain_regex;
-        host_regex                  = String.format("\\b(?:%s|%s)\\b", hostname_regex, ip_regex);
-        fqdn_regex                  = hostname_component_regex + "\\." + domain_regex;
-        krb5_principal_regex        = String.format("%s(?:/%s)?(?:@%s)?", user_regex, hostname_regex, domain_regex);
-        email_regex                 = "\\b[A-Za-z0-9](?:[A-Za-z0-9\\._\\%\\'\\+-]{0,62}[A-Za-z0-9\\._\\%\\+-])?@" + domain_regex + "\\b";
-        url_regex                   = "\\b(?i:https?://)?" + host_regex + "(?::\\d{1,5})?(?:" + url_path_suffix_regex + ")?";
     }
 
     // ===================================================================== //
@@ -357,28 +446,41 @@ public final class Utils {
     }
 
 
+    // 1024^n, exact in a double, instead of calling pow(1024, n) each time
+    private static final double[] pow1024 = {
+        1d, 1024d, 1048576d, 1073741824d, 1099511627776d, 1125899906842624d, 1152921504606846976d, 1180591620717411303424d
+    };
+    private static final String[] human_units = { "", "KB", "MB", "GB", "TB", "PB", "EB" };
+
+    // B, K, KB, Ki, KiB ... E, EB, Ei, EiB case insensitive, all binary 1024^n as the bare K / KB etc always have
+    // been here, parsed by Unit.parse() instead of trying a regex per unit in turn
+    private static int unitsPower(String units, String name) {
+        Unit unit = Unit.parse(units, false);
+        int power = -1;
+        if(unit == Unit.NONE){
+            power = 0;
+        } else if(unit != null && unit.getDimension() == Unit.Dimension.DATA){
+            power = Long.numberOfTrailingZeros(unit.getFactor()) / 10;
+        }
+        if(power < 0){
+            String name2 = name(name).trim();
+            if(! name2.isEmpty()){
+                name2 = " for " + name2;
+            }
+            throw new IllegalArgumentException(String.format("unrecognized units '%s' passed to expandUnits()%s", units.trim(), name2));
+        }
+        return power;
+    }
+
     public static final double expandUnits(double num, String units, String name) {
         if(units == null){
             throw new IllegalArgumentException("null passed for units to expandUnits()");
         }
-        String name2 = name(name).trim();
-        String units2 = units.trim();
-        if(! name2.isEmpty()){
-            name2 = " for " + name2;
-        }
-        int power = 1;
-        if(units2.matches("(?i)^B?$")){
+        int power = unitsPower(units, name);
+        if(power == 0){
             return num;
-        } else if(units2.matches("(?i)^KB?$")){ power = 1;
-        } else if(units2.matches("(?i)^MB?$")){ power = 2;
-        } else if(units2.matches("(?i)^GB?$")){ power = 3;
-        } else if(units2.matches("(?i)^TB?$")){ power = 4;
-        } else if(units2.matches("(?i)^PB?$")) {
-            power = 5;
-        } else {
-            throw new IllegalArgumentException(String.format("unrecognized units '%s' passed to expandUnits()%s", units2, name2));
         }
-        return (num * ( pow(1024, power) ) );
+        return num * pow1024[power];
     }
     public static final double expandUnits(double num, String units) {
         return expandUnits(num, units, null);
@@ -397,61 +499,102 @@ public final class Utils {
 
 
     public static final String humanUnits(double num, String units, Boolean terse) {
-        double num2;
-        String units2;
-        if(units == null){
-            units2 = "";
-        } else {
-            units2 = units.trim();
-        }
-        if(!units2.isEmpty()){
-            num2 = expandUnits(num, units2, "humanUnits");
-        } else {
-            num2 = num;
+        return appendHumanUnits(new StringBuilder(16), num, units, terse).toString();
+    }
+
+    // humanUnits() appended to a caller's StringBuilder, eg. reused across perfdata values, returns sb
+    public static final StringBuilder appendHumanUnits(StringBuilder sb, double num, String units, Boolean terse) {
+        double num2 = num;
+        int power = 0;
+        if(units != null){
+            power = unitsPower(units, "humanUnits");
+            num2 = num * pow1024[power];
         }
-        if (num2 >= pow(1024, 7)) {
+        String units2;
+        if (num2 >= pow1024[7]) {
             throw new IllegalArgumentException(String.format("determined suspicious units for number '%s', larger than Exabytes?!!", num2));
-        } else if(num2 >= pow(1024, 6)){
-            //num_str = String.format("%.2f", num / pow(1024, 6)).replaceFirst("\\.0+$", "");
-            num2 = num2 / pow(1024, 6);
-            units2 = "EB";
-        } else if(num2 >= pow(1024, 5)){
-            //num_str = String.format("%.2f", num / pow(1024, 5));
-            num2 = num2 / pow(1024, 5);
-            units2 = "PB";
-        } else if(num2 >= pow(1024, 4)){
-            //num_str = String.format("%.2f", num / pow(1024, 4));
-            num2 = num2 / pow(1024, 4);
-            units2 = "TB";
-        } else if(num2 >= pow(1024, 3)){
-            //num_str = String.format("%.2f", num / pow(1024, 3));
-            num2 = num2 / pow(1024, 3);
-            units2 = "GB";
-        } else if(num2 >= pow(1024, 2)){
-            //num_str = String.format("%.2f", num / pow(1024, 2));
-            num2 = num2 / pow(1024, 2);
-            units2 = "MB";
-        } else if(num2 >= pow(1024, 1)){
-            //num_str = String.format("%.2f", num / pow(1024, 1));
-            num2 = num2 / pow(1024, 1);
-            units2 = "KB";
+        } else if(num2 >= pow1024[1]){
+            power = 6;
+            while(num2 < pow1024[power]){
+                power--;
+            }
+            num2 = num2 / pow1024[power];
+            units2 = human_units[power];
         } else if(num2 < 1024){
-            //num_str = String.valueOf(num);
             if(terse){
-                //return String.format("%sB", num);
                 units2 = "B";
             } else {
-                //return String.format("%s bytes", num);
                 units2 = " bytes";
             }
-        // unreachable
-//        } else {
-//            throw new IllegalArgumentException(String.format("unable to determine units for number '%s'", num));
+        } else {
+            // NaN, original units passed through
+            units2 = units == null ? "" : units.trim();
+        }
+        appendDecimal2(sb, num2);
+        return sb.append(units2);
+    }
+
+    // String.format("%.2f") with trailing zeros past the decimal point removed, eg. 1.50 => 1.5, 2.00 => 2
+    //
+    // Formatter rounds HALF_UP on the shortest decimal representation of the double, not its exact binary value, so
+    // this rounds in whole hundredths and hands anything within a few ulps of a .xx5 tie to the original format +
+    // regex path, along with NaN / infinite / huge values and default locales that don't format as plain ASCII
+    static final void appendDecimal2(StringBuilder sb, double num) {
+        double abs = Math.abs(num);
+        if(! (abs < 1e13) || ! isPlainFormatLocale()){
+            sb.append(formatDecimal2(num));
+            return;
+        }
+        double hundredths = abs * 100;
+        double floor = Math.floor(hundredths);
+        double fraction = hundredths - floor;
+        if(Math.abs(fraction - 0.5) <= 8 * Math.ulp(hundredths)){
+            sb.append(formatDecimal2(num));
+            return;
+        }
+        long rounded = (long) floor + (fraction > 0.5 ? 1 : 0);
+        // Formatter keeps the sign of negative numbers that round to zero, including -0.0
+        if(Double.doubleToRawLongBits(num) < 0){
+            sb.append('-');
+        }
+        sb.append(rounded / 100);
+        int decimals = (int) (rounded % 100);
+        if(decimals != 0){
+            sb.append('.').append((char) ('0' + decimals / 10));
+            if(decimals % 10 != 0){
+                sb.append((char) ('0' + decimals % 10));
+            }
+        }
+    }
+
+    // the original humanUnits() formatting
+    private static String formatDecimal2(double num) {
+        return String.format("%.2f", num).replaceFirst("(\\.\\d+)0$", "$1").replaceFirst("\\.0+$", "");
+    }
+
+    private static final class FormatLocale {
+        final Locale locale;
+        final boolean plain;
+
+        FormatLocale(Locale locale) {
+            this.locale = locale;
+            this.plain = String.format(locale, "%.2f", -1234.5).equals("-1234.50");
+        }
+    }
+
+    private static volatile FormatLocale format_locale;
+
+    // true if the default format locale formats %.2f with ASCII digits, a '.' decimal point and no grouping
+    private static boolean isPlainFormatLocale() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        FormatLocale f = format_locale;
+        if(f == null || f.locale != locale){
+            f = new FormatLocale(locale);
+            format_locale = f;
         }
-        // remove trailing zeros past the decimal point
-        String num_str = String.format("%.2f", num2).replaceFirst("(\\.\\d+)0$", "$1").replaceFirst("\\.0+$", "");
-        return num_str + units2;
+        return f.plain;
     }
+
     public static final String humanUnits(double num, String units) {
         return humanUnits(num, units, false);
     }
@@ -459,9 +602,11 @@ public final class Utils {
         return humanUnits(num, null, false);
     }
 
+    // same as the original str.replaceAll("(\\x9B|\\x1B\\[)[0-?]*[ -\\/]*[@-~]", "") ported from
+    // https://github.com/HariSekhon/pylib but a single pass, see AnsiStripper, and the Reader / InputStream filters
+    // for captures too big to load in to one String
     public static final String stripANSIEscapeCodes(String str) {
-        // ported from https://github.com/HariSekhon/pylib
-        return str.replaceAll("(\\x9B|\\x1B\\[)[0-?]*[ -\\/]*[@-~]", "");
+        return AnsiStripper.strip(str);
     }
 
     public static final String stripScheme(String str) {
@@ -477,7 +622,7 @@ public final class Utils {
             return str.replaceFirst("^\\w+:///", "/");
         } else {
             //return str.replaceFirst("^\\w+:(?://[^/]+)?/", "/");
-            return str.replaceFirst("^\\w+:(?://" + host_regex + "(?::\\d+)?)?/", "/");
+            return tldPattern(TldRegistry.SCHEME_HOST_PREFIX).pattern().matcher(str).replaceFirst("/");
         }
     }
 
@@ -507,21 +652,21 @@ public final class Utils {
     //
     //                     Non-deterministic Ordering
     //
+    // uniqArray / uniqArraylist keep the first of each item in order too now, via Dedupe instead of a HashSet
     public static final String[] uniqArray(String[] list) {
-        HashSet<String> set = new HashSet<String>();
-        for(String item: list) {
-            set.add(item);
-        }
-        String[] a = {};
-        return set.toArray(a);
+        String[] a = list.clone();
+        return Arrays.copyOf(a, Dedupe.dedupe(a));
     }
 
     // TODO: change this to be uniq_list instead and use List<String>
     public static final ArrayList<String> uniqArraylist(List<String> list) {
-        HashSet<String> set = new HashSet<String>(list);
-        ArrayList<String> a = new ArrayList<String>();
-        a.addAll(set);
-        return a;
+        String[] a = list.toArray(new String[list.size()]);
+        int len = Dedupe.dedupe(a);
+        ArrayList<String> list2 = new ArrayList<String>(len);
+        for(int i = 0; i < len; i++){
+            list2.add(a[i]);
+        }
+        return list2;
     }
 
     // ===================================================================== //
@@ -529,19 +674,11 @@ public final class Utils {
     //                     Order Preserving
     //
     public static final String[] uniqArrayOrdered(String[] list){
-        Set<String> set = new LinkedHashSet<String>();
-        for(String item: list) {
-            set.add(item);
-        }
-        String[] a = {};
-        return set.toArray(a);
+        return uniqArray(list);
     }
 
     public static final ArrayList<String> uniqArraylistOrdered(ArrayList<String> list) {
-        Set<String> set = new LinkedHashSet<String>(list);
-        ArrayList<String> a = new ArrayList<String>();
-        a.addAll(set);
-        return a;
+        return uniqArraylist(list);
     }
 
 
@@ -555,7 +692,7 @@ public final class Utils {
         if(str == null){
             return false;
         }
-        return str.matches("^[A-za-z0-9]+$");
+        return alnum_lax_pattern.matches(str);
     }
 
 
@@ -563,7 +700,7 @@ public final class Utils {
         if(str == null){
             return false;
         }
-        return str.matches("^" + aws_access_key_regex + "$");
+        return aws_access_key_pattern.matches(str);
     }
 
     public static final Boolean isAwsBucket (String arg) {
@@ -575,14 +712,14 @@ public final class Utils {
         if(str == null){
             return false;
         }
-        return str.matches("^" + aws_hostname_regex + "$");
+        return tldPattern(TldRegistry.AWS_HOSTNAME).matches(str);
     }
 
     public static final Boolean isAwsFqdn (String str) {
         if(str == null){
             return false;
         }
-        return str.matches("^" + aws_fqdn_regex + "$");
+        return tldPattern(TldRegistry.AWS_FQDN).matches(str);
     }
 
 
@@ -590,7 +727,7 @@ public final class Utils {
         if(str == null){
             return false;
         }
-        return str.matches("^" + aws_secret_key_regex + "$");
+        return aws_secret_key_pattern.matches(str);
     }
 
 
@@ -609,7 +746,7 @@ public final class Utils {
         if(collection == null || collection.trim().isEmpty()){
             return false;
         }
-        return collection.matches("^(\\w(?:[\\w.]*\\w)?)$");
+        return collection_pattern.matches(collection);
     }
 
 
@@ -617,14 +754,14 @@ public final class Utils {
         if(database == null || database.trim().isEmpty()){
             return false;
         }
-        return database.matches("^\\w+$");
+        return database_pattern.matches(database);
     }
 
     public static final Boolean isDatabaseColumnName (String column) {
         if(column == null || column.trim().isEmpty()){
             return false;
         }
-        return column.matches("^" + column_regex + "$");
+        return column_pattern.matches(column);
     }
 
 
@@ -633,7 +770,7 @@ public final class Utils {
             return false;
         }
         // allows field number integer or field name
-        return field.matches("^(?:\\d+|[\\w()*,._-]+)$");
+        return field_pattern.matches(field);
     }
 
 
@@ -642,9 +779,9 @@ public final class Utils {
             return false;
         }
         if(allow_qualified){
-            return table.matches("^[A-Za-z0-9][\\w.]*[A-Za-z0-9]$");
+            return table_qualified_pattern.matches(table);
         } else {
-            return table.matches("^[A-Za-z0-9]\\w*[A-Za-z0-9]$");
+            return table_pattern.matches(table);
         }
     }
     public static final Boolean isDatabaseTableName (String table) {
@@ -664,14 +801,14 @@ public final class Utils {
         if(dir == null || dir.trim().isEmpty()){
             return false;
         }
-        return dir.matches("^" + dirname_regex + "$");
+        return dirname_pattern.matches(dir);
     }
 
     public static final Boolean isDomain (String domain) {
         if(domain == null || domain.trim().isEmpty()){
             return false;
         }
-        return domain.matches("^" + domain_regex + "$");
+        return HostScanner.isDomain(domain);
     }
 
 
@@ -679,7 +816,7 @@ public final class Utils {
         if(domain == null || domain.trim().isEmpty()){
             return false;
         }
-        return domain.matches("^" + domain_regex_strict + "$");
+        return HostScanner.isDomainStrict(domain);
     }
 
 
@@ -687,7 +824,7 @@ public final class Utils {
         if(dns == null || dns.trim().length() < 3 || dns.length() > 63 ){
             return false;
         }
-        return dns.matches("^" + hostname_component_regex + "$");
+        return HostScanner.isDnsShortName(dns);
     }
 
 
@@ -695,7 +832,7 @@ public final class Utils {
         if(email == null || email.trim().isEmpty() || email.length() > 256){
             return false;
         }
-        return email.matches("^" + email_regex + "$");
+        return HostScanner.isEmail(email);
     }
 
 
@@ -703,7 +840,7 @@ public final class Utils {
         if(filename == null || filename.trim().isEmpty()){
             return false;
         }
-        return filename.matches("^" + filename_regex + "$");
+        return filename_pattern.matches(filename);
     }
 
 
@@ -711,12 +848,12 @@ public final class Utils {
         if(fqdn == null || fqdn.trim().isEmpty() || fqdn.length() > 255){
             return false;
         }
-        return fqdn.matches("^" + fqdn_regex + "$");
+        return HostScanner.isFqdn(fqdn);
     }
 
 
     public static final Boolean isHex (String hex) {
-        if(hex != null && hex.matches("^0x[A-Fa-f\\d]+$")){
+        if(hex_pattern.matches(hex)){
             return true;
         } else {
             return false;
@@ -732,7 +869,10 @@ public final class Utils {
             return false;
         } else if(isIP(host)){
             return true;
-        } else if(host.matches("^" + host_regex + "$")){
+        } else if(isIPv6(host)){
+            return true;
+        // host_regex is just the union of hostname_regex and ip_regex
+        } else if(isHostname(host)){
             return true;
         } else {
             return false;
@@ -741,16 +881,12 @@ public final class Utils {
 
 
     public static final Boolean isHostname (String hostname) {
-        if(hostname != null && hostname.length() < 256 && hostname.matches("^" + hostname_regex + "$")){
-            return true;
-        } else {
-            return false;
-        }
+        return HostScanner.isHostname(hostname);
     }
 
 
     public static final Boolean isInterface (String networkInterface) {
-        if(networkInterface != null && networkInterface.matches("^(?:em|eth|bond|lo|docker)\\d+|lo|veth[A-Fa-f0-9]+$")){
+        if(interface_pattern.matches(networkInterface)){
             return true;
         } else {
             return false;
@@ -763,7 +899,7 @@ public final class Utils {
 
 
     public static final Boolean isKrb5Princ (String princ) {
-        if(princ != null && princ.matches("^" + krb5_principal_regex + "$")){
+        if(tldPattern(TldRegistry.KRB5_PRINCIPAL).matches(princ)){
             return true;
         } else {
             return false;
@@ -772,7 +908,7 @@ public final class Utils {
 
 
     public static final Boolean isLabel (String label) {
-        if(label != null && label.matches("^" + label_regex + "$")){
+        if(label_pattern.matches(label)){
             return true;
         } else {
             return false;
@@ -781,7 +917,7 @@ public final class Utils {
 
 
     public static final Boolean isLdapDn (String dn) {
-        if(dn != null && dn.matches("^" + ldap_dn_regex + "$")){
+        if(ldap_dn_pattern.matches(dn)){
             return true;
         } else {
             return false;
@@ -799,8 +935,7 @@ public final class Utils {
         if(!isVersionLax(version)){
             return false;
         }
-        Pattern pattern = Pattern.compile("(\\d+(?:\\.\\d+)?)");
-        Matcher matcher = pattern.matcher(version);
+        Matcher matcher = min_version_pattern.matcher(version);
         if(matcher.find()){
             String m1 = matcher.group(1);
             // this will never happen because of the regex
@@ -828,7 +963,7 @@ public final class Utils {
 
 
     public static final Boolean isNoSqlKey (String key) {
-        if(key != null && key.matches("^[\\w_,.:+-]+$")){
+        if(nosql_key_pattern.matches(key)){
             return true;
         } else {
              return false;
@@ -836,29 +971,44 @@ public final class Utils {
     }
 
 
+    // single pass parse, accepts exactly what ip_regex does
     public static final Boolean isIP (String ip) {
+        return IPv4.isValid(ip);
+    }
+
+    // returns the IPv4 address packed in to an int, big endian, eg. 10.1.2.3 => 0x0A010203
+    public static final int parseIPv4 (CharSequence ip) {
         if(ip == null){
-            return false;
+            throw new IllegalArgumentException("null passed to parseIPv4()");
         }
-        String[] octets = ip.split("\\.");
-        if(octets.length != 4){
-            return false;
+        long address = IPv4.parse(ip);
+        if(address == IPv4.INVALID){
+            throw new IllegalArgumentException("invalid IPv4 address passed to parseIPv4(): '" + ip + "'");
         }
-        for(String octet: octets){
-            int octet_int;
-            try{
-                octet_int = Integer.parseInt(octet);
-            } catch (NumberFormatException e) {
-                return false;
-            }
-            if(octet_int < 0 || octet_int > 255){
-                return false;
-            }
+        return (int) address;
+    }
+
+
+    public static final Boolean isIPv6 (String ip) {
+        return IPv6.isValid(ip);
+    }
+
+    // returns the IPv6 address packed in to 2 longs, the high and low 64 bits
+    public static final long[] parseIPv6 (CharSequence ip) {
+        if(ip == null){
+            throw new IllegalArgumentException("null passed to parseIPv6()");
         }
-        if(ip.matches("^" + ip_regex + "$")){
-            return true;
+        long[] address = new long[2];
+        if(! IPv6.parse(ip, address)){
+            throw new IllegalArgumentException("invalid IPv6 address passed to parseIPv6(): '" + ip + "'");
         }
-        return false;
+        return address;
+    }
+
+
+    // IPv4 or IPv6 address / prefix length
+    public static final Boolean isCidr (String cidr) {
+        return Cidr.isValid(cidr);
     }
 
 
@@ -872,7 +1022,7 @@ public final class Utils {
         } catch (NumberFormatException e) {
             return false;
         }
-        if(port.matches("^\\d+$")){
+        if(port_pattern.matches(port)){
             return isPort(port_int);
         }
         return false;
@@ -887,7 +1037,7 @@ public final class Utils {
 
 
     public static final Boolean isProcessName (String proc) {
-        if(proc != null && proc.matches("^"+ process_name_regex + "$")){
+        if(process_name_pattern.matches(proc)){
             return true;
         } else {
             return false;
@@ -912,14 +1062,16 @@ public final class Utils {
 
     // not implementing isScientific
 
-    // TODO: isThreshold()
+    public static final Boolean isThreshold (String threshold) {
+        return Threshold.isValid(threshold);
+    }
 
 
     public static final Boolean isUrl (String url) {
         if(url == null || url.trim().isEmpty()){
             return false;
         }
-        if(url.matches("^" + url_regex + "$")){
+        if(tldPattern(TldRegistry.URL).matches(url)){
             return true;
         } else {
             return false;
@@ -928,7 +1080,7 @@ public final class Utils {
 
 
     public static final Boolean isUrlPathSuffix (String url) {
-        if(url != null && url.matches("^" + url_path_suffix_regex + "$")){
+        if(url_path_suffix_pattern.matches(url)){
             return true;
         } else {
             return false;
@@ -940,7 +1092,7 @@ public final class Utils {
         if(user == null){
             return false;
         }
-        if(user.matches("^" + user_regex + "$")){
+        if(user_pattern.matches(user)){
             return true;
         }
         return false;
@@ -948,7 +1100,7 @@ public final class Utils {
 
 
     public static final Boolean isVersion (String version) {
-        if(version != null && version.matches("^" + version_regex + "$")){
+        if(version_pattern.matches(version)){
             return true;
         } else {
             return false;
@@ -956,7 +1108,7 @@ public final class Utils {
     }
 
     public static final Boolean isVersionLax (String version) {
-        if(version != null && version.matches(version_regex_lax)){
+        if(version_lax_pattern.matches(version)){
             return true;
         } else {
             return false;
@@ -1107,6 +1259,21 @@ public final class Utils {
 //        }
 //    }
 
+    // shared by resolveIp() and validateResolvable(), replace with setDnsCache() to change the TTLs / size or to
+    // plug in a different Resolver
+    private static volatile DnsCache dns_cache = new DnsCache();
+
+    public static final DnsCache getDnsCache() {
+        return dns_cache;
+    }
+
+    public static final void setDnsCache(DnsCache cache) {
+        if(cache == null){
+            throw new IllegalArgumentException("null DnsCache passed to setDnsCache()");
+        }
+        dns_cache = cache;
+    }
+
     public static final String resolveIp(String host) throws UnknownHostException {
         if(host == null){
             throw new IllegalArgumentException("no host passed to resolveIp (null)");
@@ -1115,14 +1282,159 @@ public final class Utils {
             throw new IllegalArgumentException("no host passed to resolveIp (blank)");
         }
 //        try {
-            InetAddress address = InetAddress.getByName(host);
+            InetAddress address = dns_cache.resolve(host);
             return address.getHostAddress();
 //        } catch (UnknownHostException e) {
 //            return null;
 //        }
     }
 
+    // ===================================================================== //
+    //
+    //                   B u l k   A s y n c   R e s o l v e
+    //
+    // ===================================================================== //
+
+    // default deadline for resolveAll(hosts), the same as the CLI default --timeout
+    public static final long resolve_all_timeout_millis = 10000;
+
+    // max lookups in flight at once across all resolveAll() calls
+    public static final int resolve_all_concurrency = 64;
+
+    // Started on first use. Virtual threads where the JVM has them (Java 21+, looked up by reflection as this builds
+    // for Java 8), otherwise a pool of daemon threads, either way bounded to resolve_all_concurrency lookups at once
+    private static final class ResolvePool {
+        static final ExecutorService executor = createExecutor();
+        static final Semaphore permits = new Semaphore(resolve_all_concurrency);
+        static final ScheduledExecutorService deadlines = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("resolveAll-deadline"));
+
+        private static ExecutorService createExecutor() {
+            try {
+                Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                log.debug("resolveAll() using virtual threads");
+                return (ExecutorService) m.invoke(null);
+            } catch (ReflectiveOperationException e){
+                ThreadPoolExecutor pool = new ThreadPoolExecutor(resolve_all_concurrency, resolve_all_concurrency,
+                        60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), daemonThreadFactory("resolveAll"));
+                pool.allowCoreThreadTimeOut(true);
+                return pool;
+            }
+        }
+
+        private static ThreadFactory daemonThreadFactory(final String name) {
+            return new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            };
+        }
+    }
+
+    // Resolves the hosts concurrently via resolveIp() and the shared DnsCache instead of one after another.
+    //
+    // The future completes with the IPs in input order as soon as every lookup has finished or the deadline passes,
+    // whichever is first. It never completes exceptionally - each host that failed or hadn't resolved by the deadline
+    // is null in the array, see resolveAllDetailed() for why. Lookups still running at the deadline are left to
+    // finish in the background and populate the DnsCache.
+    public static final CompletableFuture<String[]> resolveAll(String[] hosts, long timeout_millis) {
+        return resolveAllDetailed(hosts, timeout_millis).thenApply(new Function<ResolveResult, String[]>() {
+            @Override
+            public String[] apply(ResolveResult result) {
+                return result.getIps();
+            }
+        });
+    }
+
+    public static final CompletableFuture<String[]> resolveAll(String[] hosts) {
+        return resolveAll(hosts, resolve_all_timeout_millis);
+    }
+
+    // as resolveAll() but with the error for each host that didn't resolve
+    public static final CompletableFuture<ResolveResult> resolveAllDetailed(final String[] hosts, final long timeout_millis) {
+        if(hosts == null){
+            throw new IllegalArgumentException("null hosts passed to resolveAll()");
+        }
+        if(timeout_millis <= 0){
+            throw new IllegalArgumentException("invalid resolveAll() timeout " + timeout_millis + "ms, must be > 0");
+        }
+        final int n = hosts.length;
+        final String[] hosts2 = hosts.clone();
+        final AtomicReferenceArray<String> ips = new AtomicReferenceArray<String>(n);
+        final AtomicReferenceArray<Throwable> errors = new AtomicReferenceArray<Throwable>(n);
+        final CompletableFuture<ResolveResult> result = new CompletableFuture<ResolveResult>();
+        // built once by whichever of the last lookup or the deadline gets there first
+        final Runnable complete = new Runnable() {
+            @Override
+            public void run() {
+                if(result.isDone()){
+                    return;
+                }
+                String[] ips2 = new String[n];
+                Throwable[] errors2 = new Throwable[n];
+                for(int i = 0; i < n; i++){
+                    ips2[i] = ips.get(i);
+                    errors2[i] = errors.get(i);
+                    if(ips2[i] == null && errors2[i] == null){
+                        errors2[i] = new TimeoutException(String.format("host '%s' not resolved within %d ms", hosts2[i], timeout_millis));
+                    }
+                }
+                result.complete(new ResolveResult(hosts2, ips2, errors2));
+            }
+        };
+        final AtomicInteger remaining = new AtomicInteger(n);
+        if(n == 0){
+            complete.run();
+            return result;
+        }
+        final ScheduledFuture<?> deadline = ResolvePool.deadlines.schedule(complete, timeout_millis, TimeUnit.MILLISECONDS);
+        for(int i = 0; i < n; i++){
+            final int index = i;
+            ResolvePool.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if(! result.isDone()){
+                            ResolvePool.permits.acquire();
+                            try {
+                                ips.set(index, resolveIp(hosts2[index]));
+                            } finally {
+                                ResolvePool.permits.release();
+                            }
+                        }
+                    } catch (InterruptedException e){
+                        errors.set(index, e);
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e){
+                        errors.set(index, e);
+                    } finally {
+                        if(remaining.decrementAndGet() == 0){
+                            deadline.cancel(false);
+                            complete.run();
+                        }
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    // only created if userExists() is used
+    private static final class PasswdHolder {
+        static final PasswdIndex index = new PasswdIndex();
+    }
+
+    static final PasswdIndex passwdIndex() {
+        return PasswdHolder.index;
+    }
+
     // only works on unix systems
+    //
+    // answered from the cached PasswdIndex of /etc/passwd by user name or, like 'id', numeric uid - only forks
+    // 'id -u <user>' if it isn't in the file and the passwd database has other sources such as LDAP / SSSD, or on Mac
     public static final Boolean userExists(String user) throws IOException, UnsupportedOSException {
         linuxMacOnly();
         if(user == null) {
@@ -1134,24 +1446,44 @@ public final class Utils {
         if(! isUser(user)){
             return false;
         }
-        StringBuilder id = new StringBuilder();
-//        try {
-            Process child = Runtime.getRuntime().exec(new String[] {"id", "-u", user});
-            InputStream in = child.getInputStream();
-            int c;
-            while((c = in.read()) != -1){
-                id.append((char)c);
+        PasswdIndex passwd = passwdIndex();
+        if(passwd.contains(user)){
+            return true;
+        }
+        // 'id -u 1000' falls back to looking up an all digit user as a uid
+        if(passwd.containsUid(PasswdIndex.parseUid(user, 0, user.length()))){
+            return true;
+        }
+        if(passwd.isAuthoritative()){
+            return false;
+        }
+        return idUserExists(user);
+    }
+
+    private static boolean idUserExists(String user) throws IOException {
+        Process child = Runtime.getRuntime().exec(new String[] {"id", "-u", user});
+        child.getOutputStream().close();
+        InputStream in = child.getInputStream();
+        boolean output = false;
+        try {
+            byte[] buf = new byte[64];
+            int n;
+            while((n = in.read(buf)) != -1){
+                if(n > 0){
+                    output = true;
+                }
             }
+        } finally {
             in.close();
-//        } catch (IOException e){
-//            return false;
-//        }
-        String id2 = id.toString();
-//        println("id2" + id2);
-        if(id2 != null && ! id2.isEmpty()){
-            return true;
         }
-        return false;
+        try {
+            child.waitFor();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        } finally {
+            child.getErrorStream().close();
+        }
+        return output;
     }
 
 //    public static final void arg_error (String msg) {
@@ -1257,7 +1589,7 @@ public final class Utils {
         if(alnum2.isEmpty()){
             throw new IllegalArgumentException(name2 + "not defined (blank)");
         }
-        if(! alnum2.matches("^[A-Za-z0-9]+$")){
+        if(! alnum_pattern.matches(alnum2)){
             throw new IllegalArgumentException("invalid " + name2 + " defined: must be alphanumeric");
         }
         vlogOption(name2, alnum2);
@@ -1453,10 +1785,10 @@ public final class Utils {
             throw new IllegalArgumentException(name2 + "query not defined (blank)");
         }
         // XXX: fix this to be case insensitive and re-enable case insensitive unit test
-        if(! query2.matches("^(?i)\\s*(?:SHOW|SELECT)\\s+.+$")){
+        if(! query_select_show_pattern.matches(query2)){
             throw new IllegalArgumentException("invalid " + name2 + "query defined: may only be a SELECT or SHOW statement");
         }
-        if(query2.matches("(?i).*\\b(?:insert|update|delete|create|drop|alter|truncate)\\b.*")){
+        if(query_dml_pattern.matches(query2)){
             throw new IllegalArgumentException("invalid " + name2 + "query defined: DML statement or suspect chars detected in query");
         }
         vlogOption(name2 + "query", query2);
@@ -1521,16 +1853,12 @@ public final class Utils {
 
     public static final String validateDomain(String domain, String name) {
         String name2 = name(name);
-        if(domain == null){
-            throw new IllegalArgumentException(name2 + "domain not defined (null)");
+        ValidationError error = checkDomain(domain);
+        if(error != ValidationError.OK){
+            checkDefined(error, name2 + "domain");
+            throw new ValidationException(error, "invalid " + name2 + "domain name defined ('" + domain.trim() + "')");
         }
         String domain2 = domain.trim();
-        if(domain2.isEmpty()){
-            throw new IllegalArgumentException(name2 + "domain not defined (blank)");
-        }
-        if(! isDomain(domain2)){
-            throw new IllegalArgumentException("invalid " + name2 + "domain name defined ('" + domain2 + "')");
-        }
         vlogOption(name2 + "domain", domain2);
         return domain2;
     }
@@ -1540,16 +1868,12 @@ public final class Utils {
 
     public static final String validateDomainStrict(String domain, String name) {
         String name2 = name(name);
-        if(domain == null){
-            throw new IllegalArgumentException(name2 + "domain not defined (null)");
+        ValidationError error = checkDomainStrict(domain);
+        if(error != ValidationError.OK){
+            checkDefined(error, name2 + "domain");
+            throw new ValidationException(error, "invalid " + name2 + "domain name defined ('" + domain + "')");
         }
         String domain2 = domain.trim();
-        if(domain2.isEmpty()){
-            throw new IllegalArgumentException(name2 + "domain not defined (blank)");
-        }
-        if(! isDomainStrict(domain2)){
-            throw new IllegalArgumentException("invalid " + name2 + "domain name defined ('" + domain + "')");
-        }
         vlogOption(name2 + "domain", domain2);
         return domain2;
     }
@@ -1617,16 +1941,12 @@ public final class Utils {
 
 
     public static final String validateEmail(String email) {
-        if(email == null){
-            throw new IllegalArgumentException("email not defined (null)");
+        ValidationError error = checkEmail(email);
+        if(error != ValidationError.OK){
+            checkDefined(error, "email");
+            throw new ValidationException(error, "invalid email address defined: failed regex validation");
         }
         String email2 = email.trim();
-        if(email2.isEmpty()){
-            throw new IllegalArgumentException("email not defined (blank)");
-        }
-        if(! isEmail(email2)){
-            throw new IllegalArgumentException("invalid email address defined: failed regex validation");
-        }
         vlogOption("email", email2);
         return email2;
     }
@@ -1679,16 +1999,12 @@ public final class Utils {
 
     public static final String validateFqdn(String fqdn, String name) {
         String name2 = name(name);
-        if(fqdn == null){
-            throw new IllegalArgumentException(name2 + "FQDN not defined (null)");
+        ValidationError error = checkFqdn(fqdn);
+        if(error != ValidationError.OK){
+            checkDefined(error, name2 + "FQDN");
+            throw new ValidationException(error, "invalid " + name2 + "FQDN defined");
         }
         String fqdn2 = fqdn.trim();
-        if(fqdn2.trim().isEmpty()){
-            throw new IllegalArgumentException(name2 + "FQDN not defined (blank)");
-        }
-        if(! isFqdn(fqdn2)){
-            throw new IllegalArgumentException("invalid " + name2 + "FQDN defined");
-        }
         vlogOption(name2 + "fqdn", fqdn2);
         return fqdn2;
     }
@@ -1705,16 +2021,12 @@ public final class Utils {
 
     public static final String validateHost(String host, String name) {
         String name2 = name(name);
-        if(host == null){
-            throw new IllegalArgumentException(name2 + "host not defined (null)");
+        ValidationError error = checkHost(host);
+        if(error != ValidationError.OK){
+            checkDefined(error, name2 + "host");
+            throw new ValidationException(error, "invalid " + name2 + "host defined: not a valid hostname or IP address");
         }
         String host2 = host.trim();
-        if(host2.isEmpty()){
-            throw new IllegalArgumentException(name2 + "host not defined (blank)");
-        }
-        if(! isHost(host2)){
-            throw new IllegalArgumentException("invalid " + name2 + "host defined: not a valid hostname or IP address");
-        }
         vlogOption(name2 + "host", host2);
         return host2;
     }
@@ -1735,45 +2047,95 @@ public final class Utils {
         return port_int;
     }
 
-    public static final String[] validateHosts(String[] hosts, int port) {
+    // Validates hosts or host:ports, one per item, and adds them to the sink as host:port in the order given with
+    // duplicates dropped, returning the sink. Nothing is added if any host is invalid.
+    //
+    // The items are collected in to a single array and deduped in place by Dedupe rather than going through
+    // intermediate lists and hash sets so this is the one to use for large inventories, the other validateHosts()
+    // methods are built on it, eg.
+    //
+    //   HashSet<String> hosts = validateHosts(inventory, 8080, new HashSet<String>());
+    public static final <C extends Collection<? super String>> C validateHosts(Iterable<? extends CharSequence> hosts, int port, C sink) {
+        if(hosts == null){
+            throw new IllegalArgumentException("hosts not defined (null)");
+        }
+        ListBuffer hosts2 = new ListBuffer(hosts);
+        for(CharSequence host: hosts){
+            hosts2.add(host == null ? null : host.toString());
+        }
+        return validateHosts(hosts2, port, sink);
+    }
+    public static final <C extends Collection<? super String>> C validateHosts(Iterable<? extends CharSequence> hosts, String port, C sink) {
+        return validateHosts(hosts, parsePort(port), sink);
+    }
+    private static <C extends Collection<? super String>> C validateHosts(ListBuffer hosts, int port, C sink) {
+        if(sink == null){
+            throw new IllegalArgumentException("null sink passed to validateHosts()");
+        }
         if(! isPort(port)){
             throw new IllegalArgumentException("invalid port defined, integer must be between 1 and 65535");
         }
-        String[] hosts2 = uniqArrayOrdered(hosts);
-        if(hosts.length < 1){
+        hosts.dedupe();
+        if(hosts.size < 1){
             throw new IllegalArgumentException("hosts not defined");
         }
-        Pattern p = Pattern.compile(":(\\d+)$");
-        for(int i=0; i < hosts2.length; i++){
-            String node_port = null;
-            Matcher m = p.matcher(hosts2[i]);
+        String default_port = Integer.toString(port);
+        for(int i = 0; i < hosts.size; i++){
+            hosts.items[i] = hostWithPort(hosts.items[i], default_port, i + 1);
+        }
+        hosts.addTo(sink);
+        return sink;
+    }
+    // validates a single host or host:port and returns it as host:port, number is 1-based for error messages
+    private static String hostWithPort(String host, String default_port, int number) {
+        String node_port = null;
+        if(host != null && (host.startsWith("[") || isIPv6(host))){
+            String[] host_port = splitIPv6HostPort(host);
+            if(host_port == null){
+                throw new IllegalArgumentException("invalid IPv6 address given for host " + Integer.toString(number));
+            }
+            if(host_port.length > 1){
+                node_port = host_port[1];
+                if(! isPort(node_port)){
+                    throw new IllegalArgumentException("invalid port given for host " + Integer.toString(number));
+                }
+            }
+            host = host_port[0];
+        } else if(host != null){
+            Matcher m = host_port_suffix_pattern.matcher(host);
             if(m.find()){
                 node_port = m.group(1);
                 if(! isPort(node_port)){
-                    throw new IllegalArgumentException("invalid port given for host " + Integer.toString(i+1));
+                    throw new IllegalArgumentException("invalid port given for host " + Integer.toString(number));
                 }
-                hosts2[i] = hosts2[i].replaceAll(":\\d+$", "");
+                host = m.replaceFirst("");
             }
-            hosts2[i] = validateHost(hosts2[i]);
-            //hosts2[i] = validateResolvable(hosts2[i]);
-            if(node_port == null){
-                node_port = Integer.toString(port);
-            }
-            hosts2[i] = hosts2[i] + ":" + node_port;
-            vlogOption("port", node_port);
         }
-        return hosts2;
+        host = validateHost(host);
+        //host = validateResolvable(host);
+        if(node_port == null){
+            node_port = default_port;
+        }
+        vlogOption("port", node_port);
+        if(isIPv6(host)){
+            return "[" + host + "]:" + node_port;
+        }
+        return host + ":" + node_port;
+    }
+    public static final String[] validateHosts(String[] hosts, int port) {
+        if(hosts == null){
+            throw new IllegalArgumentException("hosts not defined (null)");
+        }
+        ArrayList<String> hosts2 = validateHosts(Arrays.asList(hosts), port, new ArrayList<String>(hosts.length));
+        return hosts2.toArray(new String[hosts2.size()]);
     }
     public static final String[] validateHosts(String[] hosts, String port){
-        // don't uniq here it's done in called validateHosts method
         return validateHosts(hosts, parsePort(port));
     }
     public static final ArrayList<String> validateHosts(ArrayList<String> hosts, int port){
-        // don't uniq here it's done in called validateHosts method
-        return arrayToArraylist(validateHosts(arraylistToArray(hosts), port));
+        return validateHosts(hosts, port, new ArrayList<String>());
     }
     public static final ArrayList<String> validateHosts(ArrayList<String> hosts, String port){
-        // don't uniq here it's done in called validateHosts method
         return validateHosts(hosts, parsePort(port));
     }
     public static final String validateHosts(String hosts, int port) {
@@ -1783,12 +2145,14 @@ public final class Utils {
         if(hosts.trim().isEmpty()){
             throw new IllegalArgumentException("hosts not defined (blank)");
         }
-        String[] hosts2 = validateHosts(hosts.split("[,\\s]+"), port);
-        String final_hosts = StringUtils.join(hosts2, ",");
+        ListBuffer hosts2 = new ListBuffer(null);
+        hosts2.addSplit(hosts);
+        String final_hosts = StringUtils.join(validateHosts(hosts2, port, new ArrayList<String>(hosts2.size)), ",");
         // vlogged in validateNodePortList
         //vlogOption("node list", final_hosts);
         return final_hosts;
     }
+
     public static final String validateHosts(String hosts, String port) {
         return validateHosts(hosts, parsePort(port));
     }
@@ -1796,32 +2160,67 @@ public final class Utils {
 
     public static final String validateHostPort(String hostport, String name, Boolean port_required, Boolean novlog) {
         String name2 = name(name);
-        if(hostport == null){
-            throw new IllegalArgumentException(name2 + "host:port not defined (null)");
+        ValidationError error = checkHostPort(hostport, port_required);
+        if(error != ValidationError.OK){
+            checkDefined(error, name2 + "host:port");
+            throw hostPortException(error, hostport.trim(), name2);
         }
         String hostport2 = hostport.trim();
-        if(hostport2.isEmpty()){
-            throw new IllegalArgumentException(name2 + "host:port not defined (blank)");
+        if(!novlog){
+            vlogOption(name2 + "hostport", hostport2);
         }
-        String[] host_port = hostport2.split(":");
-        if(host_port.length > 2){
-            throw new IllegalArgumentException("invalid " + name2 + "host:port supplied (too many colon separated components)");
+        return hostport2;
+    }
+    // only called on failure so the splitting to build the message is off the happy path
+    private static ValidationException hostPortException(ValidationError error, String hostport2, String name2) {
+        switch(error){
+            case INVALID:
+            case INVALID_IPV6:
+                return new ValidationException(error, "invalid " + name2 + "host:port '" + hostport2 + "' defined: IPv6 address must be a bare address or in the form [address]:port");
+            case TOO_MANY_COMPONENTS:
+                return new ValidationException(error, "invalid " + name2 + "host:port supplied (too many colon separated components)");
+            case PORT_REQUIRED:
+                return new ValidationException(error, "port is required");
+            default:
+                break;
+        }
+        String[] host_port;
+        if(hostport2.startsWith("[")){
+            host_port = splitIPv6HostPort(hostport2);
+        } else {
+            host_port = hostport2.split(":");
         }
-        if(! isHost(host_port[0])){
-            throw new IllegalArgumentException("invalid " + name2 + "host:port '" + hostport2 + "' defined: host portion '" + host_port[0] + "' is not a valid hostname or IP address");
+        if(error == ValidationError.INVALID_PORT){
+            return new ValidationException(error, String.format("invalid port '%s' defined for " + name2 + "host:port: must be a positive integer", host_port[1]));
         }
-        if(host_port.length > 1){
-            if (!isPort(host_port[1])) {
-                throw new IllegalArgumentException(String.format("invalid port '%s' defined for " + name2 + "host:port: must be a positive integer", host_port[1]));
-            }
-        } else if (port_required) {
-            throw new IllegalArgumentException("port is required");
+        return new ValidationException(error, "invalid " + name2 + "host:port '" + hostport2 + "' defined: host portion '" + (host_port.length > 0 ? host_port[0] : "") + "' is not a valid hostname or IP address");
+    }
+    // splits a bare IPv6 address or [IPv6]:port in to { host } or { host, port }, returns null if malformed,
+    // the port is not validated
+    private static String[] splitIPv6HostPort(String hostport) {
+        if(isIPv6(hostport)){
+            return new String[]{ hostport };
         }
-        if(!novlog){
-            vlogOption(name2 + "hostport", hostport2);
+        if(! hostport.startsWith("[")){
+            return null;
         }
-        return hostport2;
+        int close = hostport.indexOf(']');
+        if(close < 0){
+            return null;
+        }
+        String host = hostport.substring(1, close);
+        if(! isIPv6(host)){
+            return null;
+        }
+        if(close == hostport.length() - 1){
+            return new String[]{ host };
+        }
+        if(hostport.charAt(close + 1) != ':'){
+            return null;
+        }
+        return new String[]{ host, hostport.substring(close + 2) };
     }
+
     public static final String validateHostPort(String host, String name, Boolean port_required) {
         return validateHostPort(host, name, port_required, false);
     }
@@ -1835,16 +2234,12 @@ public final class Utils {
 
     public static final String validateHostname(String hostname, String name) {
         String name2 = name(name);
-        if(hostname == null){
-            throw new IllegalArgumentException("hostname not defined (null)");
+        ValidationError error = checkHostname(hostname);
+        if(error != ValidationError.OK){
+            checkDefined(error, "hostname");
+            throw new ValidationException(error, "invalid " + name2 + "hostname '" + hostname.trim() + "' defined");
         }
         String hostname2 = hostname.trim();
-        if(hostname2.isEmpty()){
-            throw new IllegalArgumentException("hostname not defined (blank)");
-        }
-        if(! isHostname(hostname2)){
-            throw new IllegalArgumentException("invalid " + name2 + "hostname '" + hostname2 + "' defined");
-        }
         vlogOption(name2 + "hostname", hostname2);
         return hostname2;
     }
@@ -1957,16 +2352,12 @@ public final class Utils {
 
     public static final String validateIP(String ip, String name) {
         String name2 = name(name);
-        if(ip == null){
-            throw new IllegalArgumentException(name2 + "IP not defined (null)");
+        ValidationError error = checkIP(ip);
+        if(error != ValidationError.OK){
+            checkDefined(error, name2 + "IP");
+            throw new ValidationException(error, "invalid " + name2 + "IP defined");
         }
         String ip2 = ip.trim();
-        if(ip2.isEmpty()){
-            throw new IllegalArgumentException(name2 + "IP not defined (blank)");
-        }
-        if(! isIP(ip2)){
-            throw new IllegalArgumentException("invalid " + name2 + "IP defined");
-        }
         vlogOption(name2 + "ip", ip2);
         return ip2;
     }
@@ -1975,6 +2366,22 @@ public final class Utils {
     }
 
 
+    public static final String validateCidr(String cidr, String name) {
+        String name2 = name(name);
+        ValidationError error = checkCidr(cidr);
+        if(error != ValidationError.OK){
+            checkDefined(error, name2 + "CIDR");
+            throw new ValidationException(error, "invalid " + name2 + "CIDR defined: must be an IPv4 or IPv6 address followed by /<prefix length>");
+        }
+        String cidr2 = cidr.trim();
+        vlogOption(name2 + "cidr", cidr2);
+        return cidr2;
+    }
+    public static final String validateCidr(String cidr) {
+        return validateCidr(cidr, null);
+    }
+
+
     public static final String validateKrb5Princ(String princ, String name) {
         String name2 = name(name);
         if(princ == null) {
@@ -2051,31 +2458,53 @@ public final class Utils {
     }
 
 
-    public static final ArrayList<String> validateNodeList(ArrayList<String> nodes){
-        ArrayList<String> final_nodes = new ArrayList<String>();
-        ArrayList<String> nodes2 = uniqArraylistOrdered(nodes);
-        if(nodes2.size() < 1){
+    // Validates node list items, each of which may itself be a comma / whitespace separated list, and adds the nodes
+    // to the sink in the order given with duplicates dropped, returning the sink. Nothing is added if any node is
+    // invalid. Like validateHosts() above this collects in to a single array deduped in place rather than copying
+    // between lists, the other validateNodeList() methods are built on it
+    public static final <C extends Collection<? super String>> C validateNodeList(Iterable<? extends CharSequence> nodes, C sink){
+        if(nodes == null){
+            throw new IllegalArgumentException("node(s) not defined (null)");
+        }
+        if(sink == null){
+            throw new IllegalArgumentException("null sink passed to validateNodeList()");
+        }
+        ListBuffer nodes2 = new ListBuffer(nodes);
+        boolean defined = false;
+        for(CharSequence node: nodes){
+            if(node == null){
+                throw new IllegalArgumentException("node(s) not defined (null)");
+            }
+            nodes2.addSplit(node);
+            defined = true;
+        }
+        if(! defined){
             throw new IllegalArgumentException("node(s) not defined");
         }
-        for(String node: nodes2){
-            //node = node.trim();
-            for(String node2: node.split("[,\\s]+")){
-                node2 = node2.trim();
-                if(! isHost(node2)){
-                    throw new IllegalArgumentException("invalid node name '" + node2 + "': must be hostname/FQDN or IP address");
-                }
-                final_nodes.add(node2);
+        for(int i = 0; i < nodes2.size; i++){
+            String node = nodes2.items[i].trim();
+            if(! isHost(node)){
+                throw new IllegalArgumentException("invalid node name '" + node + "': must be hostname/FQDN or IP address");
             }
+            nodes2.items[i] = node;
         }
-        if(final_nodes.size() < 1){
+        nodes2.dedupe();
+        if(nodes2.size < 1){
             throw new IllegalArgumentException("node(s) not defined (empty nodes given)");
         }
-        vlogOption("node list", final_nodes.toString());
-        return final_nodes;
+        vlogOption("node list", nodes2.toString());
+        nodes2.addTo(sink);
+        return sink;
+    }
+    public static final ArrayList<String> validateNodeList(ArrayList<String> nodes){
+        return validateNodeList(nodes, new ArrayList<String>());
     }
     public static final String[] validateNodeList(String[] nodes){
-        // don't uniq here it's done in called validateNodeList method
-        return arraylistToArray(validateNodeList(arrayToArraylist(nodes)));
+        if(nodes == null){
+            throw new IllegalArgumentException("node(s) not defined (null)");
+        }
+        ArrayList<String> nodes2 = validateNodeList(Arrays.asList(nodes), new ArrayList<String>(nodes.length));
+        return nodes2.toArray(new String[nodes2.size()]);
     }
     public static final String validateNodeList(String nodelist) {
         if(nodelist == null) {
@@ -2084,14 +2513,120 @@ public final class Utils {
         if(nodelist.trim().isEmpty()){
             throw new IllegalArgumentException("node(s) not defined (blank)");
         }
-        String[] nodelist2 = validateNodeList(nodelist.split("[,\\s]+"));
-        String final_nodes = StringUtils.join(nodelist2, ",");
+        String final_nodes = StringUtils.join(validateNodeList(Collections.singletonList(nodelist), new ArrayList<String>()), ",");
         // vlogged in validateNodeList
         //vlogOption("node list", final_nodes);
         return final_nodes;
     }
 
 
+    // Non-throwing checks returning ValidationError.OK or an error code, these don't log or allocate and are what the
+    // corresponding validateX() methods are built on
+    public static final ValidationError checkHost(CharSequence host) {
+        return Validators.HOST.check(host);
+    }
+    public static final ValidationError checkHostname(CharSequence hostname) {
+        return Validators.HOSTNAME.check(hostname);
+    }
+    public static final ValidationError checkFqdn(CharSequence fqdn) {
+        return Validators.FQDN.check(fqdn);
+    }
+    public static final ValidationError checkDomain(CharSequence domain) {
+        return Validators.DOMAIN.check(domain);
+    }
+    public static final ValidationError checkDomainStrict(CharSequence domain) {
+        return Validators.DOMAIN_STRICT.check(domain);
+    }
+    public static final ValidationError checkEmail(CharSequence email) {
+        return Validators.EMAIL.check(email);
+    }
+    public static final ValidationError checkIP(CharSequence ip) {
+        return Validators.IP.check(ip);
+    }
+    public static final ValidationError checkIPv6(CharSequence ip) {
+        return Validators.IPV6.check(ip);
+    }
+    public static final ValidationError checkCidr(CharSequence cidr) {
+        return Validators.CIDR.check(cidr);
+    }
+    public static final ValidationError checkPort(CharSequence port) {
+        return Validators.PORT.check(port);
+    }
+    public static final ValidationError checkHostPort(CharSequence hostport, boolean port_required) {
+        if(port_required){
+            return Validators.HOST_PORT_REQUIRED.check(hostport);
+        }
+        return Validators.HOST_PORT.check(hostport);
+    }
+    public static final ValidationError checkHostPort(CharSequence hostport) {
+        return checkHostPort(hostport, false);
+    }
+
+    // throws the "<what> not defined (null|blank)" messages shared by the validateX() methods, returns otherwise
+    private static void checkDefined(ValidationError error, String what) {
+        if(error == ValidationError.NULL){
+            throw new ValidationException(error, what + " not defined (null)");
+        } else if(error == ValidationError.BLANK){
+            throw new ValidationException(error, what + " not defined (blank)");
+        }
+    }
+
+
+    // Bulk validation of large inputs such as host inventories in a single pass - unlike the validateX() methods
+    // below this doesn't throw, log or copy per item, returning a pass bitset and error code per item instead, eg.
+    //
+    //   ValidationResult result = validateAll(Validators.HOST, hosts);
+    //   for(int i = result.nextInvalid(0); i >= 0; i = result.nextInvalid(i + 1)){
+    //       log.warn("invalid host '" + hosts[i] + "': " + result.getError(i));
+    //   }
+    public static final ValidationResult validateAll(Validator validator, CharSequence[] values) {
+        if(validator == null){
+            throw new IllegalArgumentException("null validator passed to validateAll()");
+        }
+        if(values == null){
+            throw new IllegalArgumentException("null values passed to validateAll()");
+        }
+        byte[] codes = new byte[values.length];
+        for(int i = 0; i < values.length; i++){
+            codes[i] = validator.check(values[i]).code();
+        }
+        return new ValidationResult(codes, values.length);
+    }
+
+    public static final ValidationResult validateAll(Validator validator, Iterator<? extends CharSequence> values) {
+        if(validator == null){
+            throw new IllegalArgumentException("null validator passed to validateAll()");
+        }
+        if(values == null){
+            throw new IllegalArgumentException("null values passed to validateAll()");
+        }
+        byte[] codes = new byte[64];
+        int size = 0;
+        while(values.hasNext()){
+            if(size == codes.length){
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = validator.check(values.next()).code();
+        }
+        return new ValidationResult(codes, size);
+    }
+
+    public static final ValidationResult validateAll(Validator validator, Iterable<? extends CharSequence> values) {
+        if(values == null){
+            throw new IllegalArgumentException("null values passed to validateAll()");
+        }
+        return validateAll(validator, values.iterator());
+    }
+
+    // results are in encounter order, a parallel stream is consumed sequentially
+    public static final ValidationResult validateAll(Validator validator, Stream<? extends CharSequence> values) {
+        if(values == null){
+            throw new IllegalArgumentException("null values passed to validateAll()");
+        }
+        return validateAll(validator, values.sequential().iterator());
+    }
+
+
     public static final ArrayList<String> validateNodePortList(ArrayList<String> nodes, String name) {
         String name2 = "";
         if(name != null) {
@@ -2218,9 +2753,12 @@ public final class Utils {
         if(path2.isEmpty()){
             throw new IllegalArgumentException(name2 + " path not defined (blank)");
         }
-        if(! path2.matches("^[./]")){
+        // which() has already checked it's an executable file
+        boolean from_path = false;
+        if(! program_relative_pattern.matches(path2)){
             try {
                 path2 = which(path2);
+                from_path = true;
             } catch (IOException e){
 //                throw new IllegalArgumentException(name + " program not found in $PATH (" + System.getenv("PATH") + ")");
                 throw new IllegalArgumentException(e.getMessage());
@@ -2242,12 +2780,14 @@ public final class Utils {
         if(! path2.matches("(?:^|.*/)" + regex2 + "$")){
            throw new IllegalArgumentException("invalid path given for " + name2 + ", is not a path to the " + name2 + " command");
         }
-        File f = new File(path2);
-        if( ! ( f.exists() && f.isFile() ) ){
-            throw new IllegalArgumentException(path2 + " not found");
-        }
-        if(!f.canExecute()){
-            throw new IllegalArgumentException(path2 + " not executable");
+        if(! from_path){
+            File f = new File(path2);
+            if( ! ( f.exists() && f.isFile() ) ){
+                throw new IllegalArgumentException(path2 + " not found");
+            }
+            if(!f.canExecute()){
+                throw new IllegalArgumentException(path2 + " not executable");
+            }
         }
         vlogOption(name2 + " program path", path2);
         return path2;
@@ -2267,7 +2807,7 @@ public final class Utils {
             throw new IllegalArgumentException(name2 + "regex not defined (blank)");
         }
         if(posix){
-            if(regex.matches(".*(?:\\$\\(|`).*")){
+            if(posix_subshell_pattern.matches(regex)){
                 throw new IllegalArgumentException("invalid " + name2 + "posix regex supplied: contains sub shell metachars ( $( / ` ) that would be dangerous to pass to shell");
             }
             // TODO: cmd("egrep '$regex' < /dev/null") and check for any output signifying error with the regex
@@ -2327,10 +2867,10 @@ public final class Utils {
         if(allow_all){
             return password;
         }
-        if(password.matches(".*[\"'`].*")){
+        if(password_quotes_pattern.matches(password)){
             throw new IllegalArgumentException("invalid " + name2 + "password defined: may not contain quotes or backticks");
         }
-        if(password.matches(".*\\$\\(.*")){
+        if(password_subshell_pattern.matches(password)){
             throw new IllegalArgumentException("invalid " + name2 + "password defined: may not contain $( as this is a subshell escape and could be dangerous to pass through to programs, especially on the command line");
         }
         vlogOption("password", "<omitted>");
@@ -2365,6 +2905,27 @@ public final class Utils {
     }
 
 
+    // returns the parsed Threshold so callers can check values against it without re-parsing
+    public static final Threshold validateThreshold(String threshold, String name) {
+        String name2 = name(name);
+        if(threshold == null) {
+            throw new IllegalArgumentException(name2 + "threshold not defined (null)");
+        }
+        String threshold2 = threshold.trim();
+        if(threshold2.isEmpty()){
+            throw new IllegalArgumentException(name2 + "threshold not defined (blank)");
+        }
+        if(! isThreshold(threshold2)){
+            throw new IllegalArgumentException("invalid " + name2 + "threshold '" + threshold2 + "' defined, must be a Nagios range such as 10, 10:, ~:10, 10:20 or @10:20");
+        }
+        vlogOption(name2 + "threshold", threshold2);
+        return Threshold.parse(threshold2);
+    }
+    public static final Threshold validateThreshold(String threshold) {
+        return validateThreshold(threshold, null);
+    }
+
+
     public static final String validateUnits(String units, String name) {
         String name2 = name(name);
         if(units == null) {
@@ -2439,7 +3000,7 @@ public final class Utils {
             throw new IllegalArgumentException("no bin passed to which()");
         }
         // TODO: should probably consider switching this to os path sep instead of unix biased /
-        if(bin.matches("^(?:/|\\./).*")){
+        if(program_path_pattern.matches(bin)){
             File f = new File(bin);
             if(f.isFile()){
                 if(f.canExecute()){
@@ -2450,7 +3011,14 @@ public final class Utils {
             } else {
                 throw new IOException(String.format("couldn't find executable '%s'", bin));
             }
+        } else if(bin.indexOf('/') < 0){
+            String fullpath = pathIndex().which(bin);
+            if(fullpath != null){
+                return fullpath;
+            }
+            throw new IOException(String.format("couldn't find '%s' in PATH (%s)", bin, System.getenv("PATH")));
         } else {
+            // relative path with a directory component, eg. bin/prog, isn't a single name in a PATH directory listing
             for(String path: System.getenv("PATH").split(":")){
                 String fullpath = path + "/" + bin;
                 File f = new File(fullpath);
@@ -2466,6 +3034,15 @@ public final class Utils {
         }
     }
 
+    // only created if which() is used
+    private static final class PathHolder {
+        static final PathIndex index = new PathIndex();
+    }
+
+    static final PathIndex pathIndex() {
+        return PathHolder.index;
+    }
+
     // ===================================================================== //
     //
     //                            L o g g i n g
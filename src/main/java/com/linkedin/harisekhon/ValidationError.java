@@ -0,0 +1,69 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 18:44:30 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Error codes returned by a Validator or Utils.checkX() instead of throwing, compact enough to store one byte per
+// item in a ValidationResult
+//
+// Append new codes to the end so that stored codes keep their meaning
+public enum ValidationError {
+
+    OK("valid"),
+    NULL("not defined (null)"),
+    BLANK("not defined (blank)"),
+    INVALID("invalid value"),
+    INVALID_HOST("invalid host: not a valid hostname or IP address"),
+    INVALID_PORT("invalid port: must be an integer between 1 and 65535"),
+    INVALID_HOSTNAME("invalid hostname"),
+    INVALID_FQDN("invalid FQDN"),
+    INVALID_DOMAIN("invalid domain name"),
+    INVALID_EMAIL("invalid email address"),
+    INVALID_IP("invalid IP address"),
+    INVALID_IPV6("invalid IPv6 address"),
+    INVALID_CIDR("invalid CIDR: must be an IPv4 or IPv6 address followed by /<prefix length>"),
+    PORT_REQUIRED("port is required"),
+    TOO_MANY_COMPONENTS("too many colon separated components");
+
+    private static final ValidationError[] codes = values();
+
+    private final String description;
+
+    ValidationError(String description) {
+        this.description = description;
+    }
+
+    public boolean isOk() {
+        return this == OK;
+    }
+
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    // generic message without the offending value, used by the cached ValidationExceptions
+    public String getDescription() {
+        return description;
+    }
+
+    public static ValidationError fromCode(int code) {
+        if(code < 0 || code >= codes.length){
+            throw new IllegalArgumentException("invalid validation error code " + code);
+        }
+        return codes[code];
+    }
+
+}
@@ -0,0 +1,52 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 19:36:20 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// IllegalArgumentException carrying a ValidationError code, thrown by the Utils.validateX() methods which are thin
+// wrappers around the non-throwing Utils.checkX() methods
+//
+// Validation failures are expected user input errors rather than bugs so the stack trace, which is most of the cost of
+// constructing an exception, is only filled in when debug logging is enabled - which is when CLI prints it. Hot loops
+// that don't want to allocate at all should call the checkX() methods instead. Existing callers catching
+// IllegalArgumentException are unaffected
+public class ValidationException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ValidationError error;
+
+    public ValidationException(ValidationError error, String message) {
+        super(message);
+        if(error == null){
+            throw new IllegalArgumentException("null error passed to ValidationException");
+        }
+        this.error = error;
+    }
+
+    public ValidationError getError() {
+        return error;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if(Utils.log.isDebugEnabled()){
+            return super.fillInStackTrace();
+        }
+        return this;
+    }
+
+}
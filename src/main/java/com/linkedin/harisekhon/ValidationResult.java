@@ -0,0 +1,92 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 18:52:48 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.util.BitSet;
+
+// Per item outcome of a bulk Utils.validateAll() call - a bitset of which items passed plus one error code byte
+// per item, indexed in input order
+public final class ValidationResult {
+
+    private final int size;
+    private final BitSet valid;
+    private final byte[] codes;
+
+    // takes ownership of codes, which may be longer than size
+    ValidationResult(byte[] codes, int size) {
+        this.size = size;
+        this.codes = codes;
+        this.valid = new BitSet(size);
+        for(int i = 0; i < size; i++){
+            if(codes[i] == 0){
+                valid.set(i);
+            }
+        }
+    }
+
+    // number of items validated
+    public int size() {
+        return size;
+    }
+
+    public boolean isValid(int index) {
+        checkIndex(index);
+        return valid.get(index);
+    }
+
+    public ValidationError getError(int index) {
+        checkIndex(index);
+        return ValidationError.fromCode(codes[index]);
+    }
+
+    public int validCount() {
+        return valid.cardinality();
+    }
+
+    public int invalidCount() {
+        return size - valid.cardinality();
+    }
+
+    public boolean allValid() {
+        return valid.cardinality() == size;
+    }
+
+    // index of the next invalid item at or after from, or -1 if there are none, for iterating failures:
+    //
+    //   for(int i = result.nextInvalid(0); i >= 0; i = result.nextInvalid(i + 1))
+    public int nextInvalid(int from) {
+        int i = valid.nextClearBit(from);
+        return i < size ? i : -1;
+    }
+
+    // copy of the pass bitset, bit i set if item i is valid
+    public BitSet getValid() {
+        return (BitSet) valid.clone();
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("index " + index + " out of range for " + size + " validation results");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult(size=" + size + ", valid=" + validCount() + ", invalid=" + invalidCount() + ")";
+    }
+
+}
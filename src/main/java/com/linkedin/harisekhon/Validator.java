@@ -0,0 +1,28 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 18:47:12 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Non-throwing check of a single value for the bulk Utils.validateAll() methods, see Validators for the built-ins
+//
+// Implementations must be stateless or thread safe and should not allocate on the happy path as they are called
+// once per item over potentially very large inputs
+public interface Validator {
+
+    // returns ValidationError.OK if valid, never null
+    ValidationError check(CharSequence value);
+
+}
@@ -0,0 +1,191 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 18:58:05 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+// Built-in Validators for the bulk Utils.validateAll() methods
+//
+// Each accepts the same values as the corresponding Utils.isX() / validateX() method, including trimming surrounding
+// whitespace first, but scans the trimmed region in place rather than allocating a trimmed copy
+public enum Validators implements Validator {
+
+    HOST {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return isHost(str, start, end) ? ValidationError.OK : ValidationError.INVALID_HOST;
+        }
+    },
+    HOSTNAME {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return HostScanner.isHostname(str, start, end) ? ValidationError.OK : ValidationError.INVALID_HOSTNAME;
+        }
+    },
+    FQDN {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return HostScanner.isFqdn(str, start, end) ? ValidationError.OK : ValidationError.INVALID_FQDN;
+        }
+    },
+    DOMAIN {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return HostScanner.isDomain(str, start, end, false) ? ValidationError.OK : ValidationError.INVALID_DOMAIN;
+        }
+    },
+    DOMAIN_STRICT {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return HostScanner.isDomain(str, start, end, true) ? ValidationError.OK : ValidationError.INVALID_DOMAIN;
+        }
+    },
+    EMAIL {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return HostScanner.isEmail(str, start, end) ? ValidationError.OK : ValidationError.INVALID_EMAIL;
+        }
+    },
+    IP {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return IPv4.isValid(str, start, end) ? ValidationError.OK : ValidationError.INVALID_IP;
+        }
+    },
+    IPV6 {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return IPv6.isValid(str, start, end) ? ValidationError.OK : ValidationError.INVALID_IPV6;
+        }
+    },
+    CIDR {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return Cidr.isValid(str, start, end) ? ValidationError.OK : ValidationError.INVALID_CIDR;
+        }
+    },
+    PORT {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return isPort(str, start, end) ? ValidationError.OK : ValidationError.INVALID_PORT;
+        }
+    },
+    // host with an optional :port, IPv6 as a bare address or [address]:port
+    HOST_PORT {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return checkHostPort(str, start, end, false);
+        }
+    },
+    HOST_PORT_REQUIRED {
+        @Override
+        ValidationError check(CharSequence str, int start, int end) {
+            return checkHostPort(str, start, end, true);
+        }
+    };
+
+    // checks the non-blank trimmed region [start, end) of the value
+    abstract ValidationError check(CharSequence str, int start, int end);
+
+    @Override
+    public ValidationError check(CharSequence value) {
+        if(value == null){
+            return ValidationError.NULL;
+        }
+        // same whitespace as String.trim()
+        int start = 0;
+        int end = value.length();
+        while(start < end && value.charAt(start) <= ' '){
+            start++;
+        }
+        while(end > start && value.charAt(end - 1) <= ' '){
+            end--;
+        }
+        if(start == end){
+            return ValidationError.BLANK;
+        }
+        return check(value, start, end);
+    }
+
+    static boolean isHost(CharSequence str, int start, int end) {
+        return IPv4.isValid(str, start, end) || IPv6.isValid(str, start, end) || HostScanner.isHostname(str, start, end);
+    }
+
+    // all digits, 1-65535 as per Utils.isPort()
+    static boolean isPort(CharSequence str, int start, int end) {
+        if(start >= end){
+            return false;
+        }
+        int port = 0;
+        for(int i = start; i < end; i++){
+            char c = str.charAt(i);
+            if(c < '0' || c > '9'){
+                return false;
+            }
+            port = port * 10 + (c - '0');
+            if(port > 65535){
+                return false;
+            }
+        }
+        return port >= 1;
+    }
+
+    // same acceptance as Utils.validateHostPort(), including its String.split() behaviour of ignoring trailing colons
+    static ValidationError checkHostPort(CharSequence str, int start, int end, boolean port_required) {
+        if(str.charAt(start) == '['){
+            int close = indexOf(str, ']', start, end);
+            if(close < 0 || ! IPv6.isValid(str, start + 1, close)){
+                return ValidationError.INVALID_IPV6;
+            }
+            if(close == end - 1){
+                return port_required ? ValidationError.PORT_REQUIRED : ValidationError.OK;
+            }
+            if(str.charAt(close + 1) != ':'){
+                return ValidationError.INVALID;
+            }
+            return isPort(str, close + 2, end) ? ValidationError.OK : ValidationError.INVALID_PORT;
+        }
+        if(IPv6.isValid(str, start, end)){
+            return port_required ? ValidationError.PORT_REQUIRED : ValidationError.OK;
+        }
+        while(end > start && str.charAt(end - 1) == ':'){
+            end--;
+        }
+        int colon = indexOf(str, ':', start, end);
+        if(colon < 0){
+            if(! isHost(str, start, end)){
+                return ValidationError.INVALID_HOST;
+            }
+            return port_required ? ValidationError.PORT_REQUIRED : ValidationError.OK;
+        }
+        if(indexOf(str, ':', colon + 1, end) >= 0){
+            return ValidationError.TOO_MANY_COMPONENTS;
+        }
+        if(! isHost(str, start, colon)){
+            return ValidationError.INVALID_HOST;
+        }
+        return isPort(str, colon + 1, end) ? ValidationError.OK : ValidationError.INVALID_PORT;
+    }
+
+    private static int indexOf(CharSequence str, char c, int start, int end) {
+        for(int i = start; i < end; i++){
+            if(str.charAt(i) == c){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,202 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:58:19 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.AnsiStripper, AnsiStrippingReader and AnsiStrippingInputStream, fuzzed against
+ * the original regex
+ */
+public class AnsiStripperTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private static final long seed = 20151101L;
+
+    private static final String regex = "(\\x9B|\\x1B\\[)[0-?]*[ -\\/]*[@-~]";
+
+    // introducers, each char class and its boundaries, and chars whose UTF-8 contains C2 or 9B bytes
+    private static final char[] alphabet = {
+        0x1B, 0x1B, '[', '[', 0x9B, '0', '9', ';', '?', ' ', '/', '!', '@', 'm', 'K', '~', 0x7F, 'a', '\n', 0xA9, 0xDB, 0xC2
+    };
+
+    private static String random(Random random, int len) {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < len; i++){
+            sb.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testStrip(){
+        assertEquals("some content here", AnsiStripper.strip("some \033[01;31m\033[Kcontent\033[m\033[K here"));
+        assertEquals("plain", AnsiStripper.strip("\u009B1;2 !mplain"));
+        // incomplete or invalid sequences are left alone
+        assertEquals("\033[12", AnsiStripper.strip("\033[12"));
+        assertEquals("\033[1 2m", AnsiStripper.strip("\033[1 2m"));
+        assertEquals("\033x\033[12", AnsiStripper.strip("\033x\033[12\033[0m"));
+        String plain = "nothing to strip";
+        assertSame(plain, AnsiStripper.strip(plain));
+        StringBuilder sb = new StringBuilder("> ");
+        assertSame(sb, AnsiStripper.strip("\033[1mbold\033[0m", sb));
+        assertEquals("> bold", sb.toString());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testStripNullException() throws IllegalArgumentException {
+        AnsiStripper.strip(null);
+    }
+
+    @Test
+    public void testStripMatchesRegex(){
+        Random random = new Random(seed);
+        for(int i = 0; i < 20000; i++){
+            String str = random(random, random.nextInt(30));
+            assertEquals(str, str.replaceAll(regex, ""), AnsiStripper.strip(str));
+        }
+    }
+
+    private static String readAll(Reader reader, Random random) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[16];
+        while(true){
+            if(random.nextInt(4) == 0){
+                int c = reader.read();
+                if(c < 0){
+                    break;
+                }
+                sb.append((char) c);
+            } else {
+                int n = reader.read(buf, 0, 1 + random.nextInt(buf.length));
+                if(n < 0){
+                    break;
+                }
+                sb.append(buf, 0, n);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static byte[] readAll(InputStream in, Random random) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[16];
+        while(true){
+            if(random.nextInt(4) == 0){
+                int b = in.read();
+                if(b < 0){
+                    break;
+                }
+                out.write(b);
+            } else {
+                int n = in.read(buf, 0, 1 + random.nextInt(buf.length));
+                if(n < 0){
+                    break;
+                }
+                out.write(buf, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    // feeds the wrapped stream a few chars at a time so sequences get split across reads
+    private static class TrickleReader extends Reader {
+        private final Reader reader;
+        private final Random random;
+        TrickleReader(String str, Random random) {
+            this.reader = new StringReader(str);
+            this.random = random;
+        }
+        @Override
+        public int read(char[] buf, int off, int len) throws IOException {
+            return reader.read(buf, off, Math.min(len, 1 + random.nextInt(5)));
+        }
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class TrickleInputStream extends ByteArrayInputStream {
+        private final Random random;
+        TrickleInputStream(byte[] bytes, Random random) {
+            super(bytes);
+            this.random = random;
+        }
+        @Override
+        public synchronized int read(byte[] buf, int off, int len) {
+            return super.read(buf, off, Math.min(len, 1 + random.nextInt(5)));
+        }
+    }
+
+    @Test
+    public void testReaderMatchesRegex() throws IOException {
+        Random random = new Random(seed);
+        for(int i = 0; i < 5000; i++){
+            String str = random(random, random.nextInt(60));
+            Reader reader = new AnsiStrippingReader(new TrickleReader(str, random));
+            assertEquals(str, str.replaceAll(regex, ""), readAll(reader, random));
+            assertEquals(-1, reader.read());
+        }
+    }
+
+    @Test
+    public void testInputStreamMatchesRegex() throws IOException {
+        Random random = new Random(seed);
+        for(int i = 0; i < 5000; i++){
+            String str = random(random, random.nextInt(60));
+            // UTF-8, CSI is C2 9B and a lone 9B is part of another char
+            byte[] utf8 = str.getBytes(StandardCharsets.UTF_8);
+            InputStream in = new AnsiStrippingInputStream(new TrickleInputStream(utf8, random));
+            assertArrayEquals(str, str.replaceAll(regex, "").getBytes(StandardCharsets.UTF_8), readAll(in, random));
+            // 8 bit, CSI is the single byte 9B
+            byte[] latin1 = str.getBytes(StandardCharsets.ISO_8859_1);
+            in = new AnsiStrippingInputStream(new TrickleInputStream(latin1, random), true);
+            assertArrayEquals(str, str.replaceAll(regex, "").getBytes(StandardCharsets.ISO_8859_1), readAll(in, random));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testLongUnterminatedSequence() throws IOException {
+        StringBuilder sb = new StringBuilder("\033[");
+        for(int i = 0; i < 100000; i++){
+            sb.append(';');
+        }
+        String str = sb.toString() + "\033[0mend";
+        assertEquals(str.replaceAll(regex, ""), readAll(new AnsiStrippingReader(new StringReader(str)), new Random(seed)));
+        byte[] bytes = str.getBytes(StandardCharsets.US_ASCII);
+        InputStream in = new AnsiStrippingInputStream(new ByteArrayInputStream(bytes));
+        assertEquals(bytes.length - 4, in.skip(Long.MAX_VALUE));
+    }
+
+}
@@ -92,6 +92,13 @@ public class CLITest {
 //        cli.main();
     }
 
+    @Test
+    public void testRemainingMillis() {
+        assertEquals("cli.getRemainingMillis() default", 1000L * cli.getTimeoutDefault(), cli.getRemainingMillis());
+        cli.setTimeout(5);
+        assertEquals("cli.getRemainingMillis()", 5000, cli.getRemainingMillis());
+    }
+
     @Test
     public void testReinitSetVerbose() {
         cli.setVerbose(0);
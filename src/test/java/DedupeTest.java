@@ -0,0 +1,123 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:55:02 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.Dedupe, checked against LinkedHashSet
+ */
+public class DedupeTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private static final long seed = 20151101L;
+
+    @Test
+    public void testDedupe(){
+        String[] a = { "one", "two", "three", "", "one", null, "two", null };
+        assertEquals(5, Dedupe.dedupe(a));
+        assertArrayEquals(new String[]{ "one", "two", "three", "", null, null, null, null }, a);
+
+        int[] ints = { 3, 1, 3, 2, 1, 0, 0 };
+        assertEquals(4, Dedupe.dedupe(ints));
+        assertArrayEquals(new int[]{ 3, 1, 2, 0 }, Arrays.copyOf(ints, 4));
+
+        long[] longs = { Long.MIN_VALUE, -1, Long.MIN_VALUE, 0xFFFFFFFFL << 32, 0xFFFFFFFFL, -1 };
+        assertEquals(4, Dedupe.dedupe(longs));
+        assertArrayEquals(new long[]{ Long.MIN_VALUE, -1, 0xFFFFFFFFL << 32, 0xFFFFFFFFL }, Arrays.copyOf(longs, 4));
+
+        assertEquals(0, Dedupe.dedupe(new String[0]));
+        assertEquals(0, Dedupe.dedupe(new int[0]));
+        assertEquals(0, Dedupe.dedupe(new long[0]));
+    }
+
+    @Test
+    public void testDedupeRange(){
+        int[] ints = { 9, 9, 1, 2, 1, 2, 9, 9 };
+        assertEquals(4, Dedupe.dedupe(ints, 2, 6));
+        assertArrayEquals(new int[]{ 9, 9, 1, 2 }, Arrays.copyOf(ints, 4));
+        assertEquals(9, ints[6]);
+        String[] a = { "x", "a", "a", "x" };
+        assertEquals(2, Dedupe.dedupe(a, 1, 3));
+        assertArrayEquals(new String[]{ "x", "a", null, "x" }, a);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testDedupeRangeException() throws IndexOutOfBoundsException {
+        Dedupe.dedupe(new long[4], 3, 5);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testDedupeNullException() throws IllegalArgumentException {
+        Dedupe.dedupe((int[]) null);
+    }
+
+    @Test
+    public void testDedupeMatchesLinkedHashSet(){
+        Random random = new Random(seed);
+        for(int round = 0; round < 2000; round++){
+            int n = random.nextInt(round % 10 == 0 ? 5000 : 40);
+            // small ranges of values to get plenty of duplicates, including colliding hashes
+            int range = 1 + random.nextInt(Math.max(1, n));
+            String[] strings = new String[n];
+            int[] ints = new int[n];
+            long[] longs = new long[n];
+            LinkedHashSet<String> string_set = new LinkedHashSet<String>();
+            LinkedHashSet<Integer> int_set = new LinkedHashSet<Integer>();
+            LinkedHashSet<Long> long_set = new LinkedHashSet<Long>();
+            for(int i = 0; i < n; i++){
+                int value = random.nextInt(range) * (round % 3 == 0 ? 1024 : 1);
+                strings[i] = value == 0 ? null : "host" + value;
+                ints[i] = value;
+                longs[i] = (long) value << (round % 2 == 0 ? 32 : 0);
+                string_set.add(strings[i]);
+                int_set.add(ints[i]);
+                long_set.add(longs[i]);
+            }
+            int len = Dedupe.dedupe(strings);
+            assertEquals(new ArrayList<String>(string_set), Arrays.asList(strings).subList(0, len));
+            for(int i = len; i < n; i++){
+                assertNull(strings[i]);
+            }
+            len = Dedupe.dedupe(ints);
+            List<Integer> int_list = new ArrayList<Integer>();
+            for(int i = 0; i < len; i++){
+                int_list.add(ints[i]);
+            }
+            assertEquals(new ArrayList<Integer>(int_set), int_list);
+            len = Dedupe.dedupe(longs);
+            List<Long> long_list = new ArrayList<Long>();
+            for(int i = 0; i < len; i++){
+                long_list.add(longs[i]);
+            }
+            assertEquals(new ArrayList<Long>(long_set), long_list);
+        }
+    }
+
+}
@@ -0,0 +1,299 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:04:15 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.DnsCache against an in-process fake resolver, no real DNS
+ */
+public class DnsCacheTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    // resolves host<n>.example.com to 10.0.0.<n>, anything else is unknown, counting calls per host
+    private static class FakeResolver implements Resolver {
+        final ConcurrentHashMap<String, AtomicInteger> calls = new ConcurrentHashMap<String, AtomicInteger>();
+        final AtomicInteger total = new AtomicInteger();
+
+        @Override
+        public InetAddress resolve(String host) throws UnknownHostException {
+            total.incrementAndGet();
+            calls.putIfAbsent(host, new AtomicInteger());
+            calls.get(host).incrementAndGet();
+            if(host.matches("host\\d{1,3}\\.example\\.com")){
+                byte last = (byte) Integer.parseInt(host.substring(4, host.indexOf('.')));
+                return InetAddress.getByAddress(host, new byte[]{ 10, 0, 0, last });
+            }
+            throw new UnknownHostException(host + ": Name or service not known");
+        }
+
+        int calls(String host) {
+            AtomicInteger count = calls.get(host);
+            return count == null ? 0 : count.get();
+        }
+    }
+
+    @Test
+    public void testPositiveCaching() throws UnknownHostException {
+        FakeResolver resolver = new FakeResolver();
+        DnsCache cache = new DnsCache(resolver);
+        assertEquals("10.0.0.1", cache.resolve("host1.example.com").getHostAddress());
+        assertEquals("10.0.0.1", cache.resolve("host1.example.com").getHostAddress());
+        assertEquals("10.0.0.1", cache.resolve(" HOST1.Example.com ").getHostAddress());
+        assertEquals(1, resolver.calls("host1.example.com"));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+        cache.invalidate("Host1.example.com");
+        cache.resolve("host1.example.com");
+        assertEquals(2, resolver.calls("host1.example.com"));
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testNegativeCaching() {
+        FakeResolver resolver = new FakeResolver();
+        DnsCache cache = new DnsCache(resolver);
+        for(int i = 0; i < 3; i++){
+            try {
+                cache.resolve("nonexistent.example.com");
+                fail("resolved nonexistent host");
+            } catch (UnknownHostException e){
+                assertEquals("nonexistent.example.com: Name or service not known", e.getMessage());
+            }
+        }
+        assertEquals(1, resolver.calls("nonexistent.example.com"));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testZeroTtl() throws UnknownHostException {
+        FakeResolver resolver = new FakeResolver();
+        DnsCache cache = new DnsCache(resolver, 100, 0, 0);
+        cache.resolve("host1.example.com");
+        cache.resolve("host1.example.com");
+        assertEquals(2, resolver.calls("host1.example.com"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        FakeResolver resolver = new FakeResolver();
+        DnsCache cache = new DnsCache(resolver, 100, 50, 50);
+        cache.resolve("host1.example.com");
+        Thread.sleep(100);
+        cache.resolve("host1.example.com");
+        assertEquals(2, resolver.calls("host1.example.com"));
+    }
+
+    @Test
+    public void testLruEviction() throws UnknownHostException {
+        FakeResolver resolver = new FakeResolver();
+        DnsCache cache = new DnsCache(resolver, 3, 60000, 60000);
+        cache.resolve("host1.example.com");
+        cache.resolve("host2.example.com");
+        cache.resolve("host3.example.com");
+        // touch host1 so host2 is the least recently used
+        cache.resolve("host1.example.com");
+        cache.resolve("host4.example.com");
+        assertEquals(3, cache.size());
+        cache.resolve("host1.example.com");
+        cache.resolve("host3.example.com");
+        cache.resolve("host4.example.com");
+        assertEquals(4, resolver.total.get());
+        cache.resolve("host2.example.com");
+        assertEquals(2, resolver.calls("host2.example.com"));
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final FakeResolver fake = new FakeResolver();
+        final DnsCache cache = new DnsCache(new Resolver() {
+            @Override
+            public InetAddress resolve(String host) throws UnknownHostException {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e){
+                    throw new UnknownHostException("interrupted");
+                }
+                return fake.resolve(host);
+            }
+        });
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] threads = new Thread[8];
+        for(int i = 0; i < threads.length; i++){
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        assertEquals("10.0.0.7", cache.resolve("host7.example.com").getHostAddress());
+                    } catch (Throwable t){
+                        failure.set(t);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        started.await();
+        // let the other threads queue up behind the first lookup
+        Thread.sleep(100);
+        release.countDown();
+        for(Thread thread: threads){
+            thread.join();
+        }
+        if(failure.get() != null){
+            throw new AssertionError(failure.get());
+        }
+        assertEquals(1, fake.calls("host7.example.com"));
+        assertEquals(1, cache.getMisses());
+        assertEquals(threads.length - 1, cache.getHits());
+    }
+
+    @Test
+    public void testResolverRuntimeExceptionNotCached() throws UnknownHostException {
+        final AtomicInteger calls = new AtomicInteger();
+        DnsCache cache = new DnsCache(new Resolver() {
+            @Override
+            public InetAddress resolve(String host) throws UnknownHostException {
+                if(calls.incrementAndGet() == 1){
+                    throw new SecurityException("denied");
+                }
+                return InetAddress.getByAddress(host, new byte[]{ 127, 0, 0, 1 });
+            }
+        });
+        try {
+            cache.resolve("host.example.com");
+            fail("resolver exception not passed through");
+        } catch (SecurityException e){
+            assertEquals("denied", e.getMessage());
+        }
+        assertEquals("127.0.0.1", cache.resolve("host.example.com").getHostAddress());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testUtilsResolveIp() throws UnknownHostException {
+        DnsCache original = Utils.getDnsCache();
+        FakeResolver resolver = new FakeResolver();
+        Utils.setDnsCache(new DnsCache(resolver));
+        try {
+            assertEquals("10.0.0.5", Utils.resolveIp("host5.example.com"));
+            assertEquals("10.0.0.5", Utils.validateResolvable(" host5.example.com "));
+            assertEquals(1, resolver.total.get());
+            try {
+                Utils.validateResolvable("nonexistent.example.com");
+                fail("validateResolvable() passed nonexistent host");
+            } catch (UnknownHostException e){
+                // expected
+            }
+        } finally {
+            Utils.setDnsCache(original);
+        }
+    }
+
+    @Test
+    public void testResolveAll() throws Exception {
+        DnsCache original = Utils.getDnsCache();
+        final FakeResolver fake = new FakeResolver();
+        final CountDownLatch release = new CountDownLatch(1);
+        Utils.setDnsCache(new DnsCache(new Resolver() {
+            @Override
+            public InetAddress resolve(String host) throws UnknownHostException {
+                if(host.equals("host99.example.com")){
+                    try {
+                        release.await();
+                    } catch (InterruptedException e){
+                        throw new UnknownHostException("interrupted");
+                    }
+                }
+                return fake.resolve(host);
+            }
+        }));
+        try {
+            String[] hosts = new String[200];
+            for(int i = 0; i < hosts.length; i++){
+                hosts[i] = "host" + (i % 100) + ".example.com";
+            }
+            hosts[3] = "nonexistent.example.com";
+            hosts[4] = " ";
+            hosts[5] = null;
+            ResolveResult result = Utils.resolveAllDetailed(hosts, 1000).get();
+            assertEquals(hosts.length, result.size());
+            assertEquals("10.0.0.0", result.getIp(0));
+            assertEquals("10.0.0.50", result.getIp(150));
+            assertNull(result.getIp(3));
+            assertTrue(result.getError(3) instanceof UnknownHostException);
+            assertTrue(result.getError(4) instanceof IllegalArgumentException);
+            assertTrue(result.getError(5) instanceof IllegalArgumentException);
+            // blocked until after the deadline
+            assertTrue(result.getError(99) instanceof TimeoutException);
+            assertTrue(result.getError(199) instanceof TimeoutException);
+            assertFalse(result.allResolved());
+            assertEquals(5, result.failedCount());
+            assertEquals(hosts.length - 5, result.resolvedCount());
+            assertTrue(result.getFailures().containsKey("nonexistent.example.com"));
+            assertNull(result.getError(0));
+            release.countDown();
+            String[] ips = Utils.resolveAll(new String[]{ "host1.example.com", "host99.example.com", "nonexistent.example.com" }).get();
+            assertArrayEquals(new String[]{ "10.0.0.1", "10.0.0.99", null }, ips);
+            assertEquals(0, Utils.resolveAll(new String[0]).get().length);
+        } finally {
+            release.countDown();
+            Utils.setDnsCache(original);
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testResolveAllNullException(){
+        Utils.resolveAll(null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNullResolverException(){
+        new DnsCache(null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testInvalidMaxSizeException(){
+        new DnsCache(DnsCache.SYSTEM_RESOLVER, 0, 1000, 1000);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testBlankHostException() throws UnknownHostException {
+        new DnsCache(new FakeResolver()).resolve("  ");
+    }
+
+}
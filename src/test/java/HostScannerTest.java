@@ -0,0 +1,119 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 15:58:42 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import static com.linkedin.harisekhon.Utils.*;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Differential fuzz tests for com.linkedin.harisekhon.HostScanner against the original Utils regexes
+ */
+public class HostScannerTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    // fixed seed so any failure is reproducible
+    private static final long seed = 20151031L;
+    private static final int iterations = 20000;
+
+    private static final Pattern domain_pattern             = Pattern.compile("^" + domain_regex + "$");
+    private static final Pattern domain_strict_pattern      = Pattern.compile("^" + domain_regex_strict + "$");
+    private static final Pattern hostname_pattern           = Pattern.compile("^" + hostname_regex + "$");
+    private static final Pattern hostname_component_pattern = Pattern.compile("^" + hostname_component_regex + "$");
+    private static final Pattern fqdn_pattern               = Pattern.compile("^" + fqdn_regex + "$");
+    private static final Pattern email_pattern              = Pattern.compile("^" + email_regex + "$");
+
+    // fragments chosen to hit label boundaries, TLD case folding, length limits and chars either side of each char class
+    private static final String[] fragments = {
+        "a", "Z", "9", "0", "-", "_", ".", "..", "@", "'", "%", "+", " ", "~", "/", "\u00E9", "\u212A",
+        "com", "COM", "Com", "local", "uk", "co", "xn--p1ai", "1", "255", "10", "ip-10-1-2-3",
+        repeatString("a", 61), repeatString("b", 62), repeatString("c", 63), repeatString("d", 64),
+    };
+
+    private static String randomName(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int parts = 1 + random.nextInt(8);
+        for(int i = 0; i < parts; i++){
+            if(random.nextInt(10) == 0){
+                sb.append((char) (32 + random.nextInt(95)));
+            } else {
+                sb.append(fragments[random.nextInt(fragments.length)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void assertSameResult(String what, String input, boolean expected, boolean actual) {
+        if(expected != actual){
+            fail(String.format("%s('%s') scanner returned %s but regex returned %s (seed %d)", what, input, actual, expected, seed));
+        }
+    }
+
+    @Test
+    public void testFuzzAgainstRegexes(){
+        Random random = new Random(seed);
+        int positives = 0;
+        for(int i = 0; i < iterations; i++){
+            String s = randomName(random);
+            int len = s.length();
+            boolean domain = domain_pattern.matcher(s).matches();
+            boolean hostname = len < 256 && hostname_pattern.matcher(s).matches();
+            boolean email = len <= 256 && email_pattern.matcher(s).matches();
+            assertSameResult("isDomain",        s, domain,      HostScanner.isDomain(s));
+            assertSameResult("isDomainStrict",  s, domain_strict_pattern.matcher(s).matches(), HostScanner.isDomainStrict(s));
+            assertSameResult("isHostname",      s, hostname,    HostScanner.isHostname(s));
+            assertSameResult("isFqdn",          s, len <= 255 && fqdn_pattern.matcher(s).matches(), HostScanner.isFqdn(s));
+            assertSameResult("isEmail",         s, email,       HostScanner.isEmail(s));
+            assertSameResult("isDnsShortName",  s, len >= 3 && len <= 63 && hostname_component_pattern.matcher(s).matches(), HostScanner.isDnsShortName(s));
+            if(domain || hostname || email){
+                positives += 1;
+            }
+        }
+        // make sure the generator is actually producing valid names and not just testing rejections
+        assertTrue("too few valid names generated: " + positives, positives > iterations / 10);
+    }
+
+    @Test
+    public void testRegion(){
+        String s = "host1.harisekhon.com";
+        assertTrue(HostScanner.isHostnameComponent(s, 0, 5));
+        assertFalse(HostScanner.isHostnameComponent(s, 0, 6));
+        assertTrue(HostScanner.isDomainComponent(s, 6, 16));
+        assertTrue(HostScanner.isDomain(s, 6, s.length(), true));
+        assertFalse(HostScanner.isDomain(s, 17, s.length(), true));
+        assertTrue(HostScanner.isDomain(s, 17, s.length(), false));
+        assertFalse(HostScanner.isDomain(s, 6, 16, false));
+    }
+
+    @Test
+    public void testCharSequence(){
+        assertTrue(HostScanner.isFqdn(new StringBuilder("hari.sekhon.com")));
+        assertTrue(HostScanner.isEmail(new StringBuilder("hari'sekhon@gmail.com")));
+        assertFalse(HostScanner.isHostname(null));
+        assertFalse(HostScanner.isDomain(""));
+    }
+
+}
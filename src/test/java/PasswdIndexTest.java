@@ -0,0 +1,202 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:14:51 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.PasswdIndex against temporary passwd and nsswitch.conf files
+ */
+public class PasswdIndexTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private File passwd;
+    private File nsswitch;
+
+    private static void write(File file, String content) throws IOException {
+        BufferedWriter bw = new BufferedWriter(new FileWriter(file));
+        bw.write(content);
+        bw.close();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        passwd = File.createTempFile("passwd", "");
+        nsswitch = File.createTempFile("nsswitch", ".conf");
+        write(passwd, "root:x:0:0:root:/root:/bin/bash\n" +
+                      "# comment\n" +
+                      "\n" +
+                      "hari:x:1000:1000:Hari Sekhon,,,:/home/hari:/bin/bash\n" +
+                      "nobody:x:65534:65534:nobody:/nonexistent:/usr/sbin/nologin");
+        write(nsswitch, "# /etc/nsswitch.conf\n" +
+                        "passwd:         files\n" +
+                        "group:          files ldap\n");
+    }
+
+    @After
+    public void tearDown() {
+        passwd.delete();
+        nsswitch.delete();
+    }
+
+    @Test
+    public void testLookup() {
+        PasswdIndex index = new PasswdIndex(passwd, nsswitch, 1000, false);
+        assertEquals(3, index.size());
+        assertTrue(index.contains("root"));
+        assertTrue(index.contains("hari"));
+        assertTrue(index.contains("nobody"));
+        assertFalse(index.contains("nonexistent"));
+        assertFalse(index.contains("# comment"));
+        assertFalse(index.contains(null));
+        assertEquals(0, index.getUid("root"));
+        assertEquals(1000, index.getUid("hari"));
+        assertEquals(65534, index.getUid("nobody"));
+        assertEquals(-1, index.getUid("nonexistent"));
+        assertTrue(index.containsUid(0));
+        assertTrue(index.containsUid(1000));
+        assertFalse(index.containsUid(1001));
+        assertFalse(index.containsUid(-1));
+        assertTrue(index.isAuthoritative());
+    }
+
+    @Test
+    public void testReloadOnChange() throws IOException {
+        PasswdIndex index = new PasswdIndex(passwd, nsswitch, 0, false);
+        assertFalse(index.contains("newuser"));
+        long mtime = passwd.lastModified();
+        write(passwd, "root:x:0:0:root:/root:/bin/bash\nnewuser:x:1001:1001::/home/newuser:/bin/sh\n");
+        // don't depend on the filesystem's mtime granularity
+        passwd.setLastModified(mtime + 5000);
+        assertTrue(index.contains("newuser"));
+        assertFalse(index.contains("hari"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testReloadSameSecond() throws IOException {
+        PasswdIndex index = new PasswdIndex(passwd, nsswitch, 0, false);
+        assertTrue(index.contains("hari"));
+        long mtime = passwd.lastModified();
+        long length = passwd.length();
+        write(passwd, "root:x:0:0:root:/root:/bin/bash\n" +
+                      "# comment\n" +
+                      "\n" +
+                      "jane:x:1000:1000:Hari Sekhon,,,:/home/hari:/bin/bash\n" +
+                      "nobody:x:65534:65534:nobody:/nonexistent:/usr/sbin/nologin");
+        // same size edit within the mtime resolution of the load, the file was only just written
+        passwd.setLastModified(mtime);
+        assertEquals(length, passwd.length());
+        assertTrue(index.contains("jane"));
+        assertFalse(index.contains("hari"));
+    }
+
+    @Test
+    public void testCheckInterval() throws IOException {
+        PasswdIndex index = new PasswdIndex(passwd, nsswitch, 3600000, false);
+        write(passwd, "newuser:x:1001:1001::/home/newuser:/bin/sh\n");
+        passwd.setLastModified(passwd.lastModified() + 5000);
+        // not rechecked until the interval has passed
+        assertFalse(index.contains("newuser"));
+        assertTrue(index.contains("hari"));
+    }
+
+    @Test
+    public void testNotAuthoritative() throws IOException {
+        write(nsswitch, "passwd: files sss\n");
+        assertFalse(new PasswdIndex(passwd, nsswitch, 0, false).isAuthoritative());
+        write(nsswitch, "passwd: files [NOTFOUND=return] ldap\n");
+        assertFalse(new PasswdIndex(passwd, nsswitch, 0, false).isAuthoritative());
+        write(nsswitch, "passwd: files systemd\n");
+        assertFalse(new PasswdIndex(passwd, nsswitch, 0, false).isAuthoritative());
+        write(nsswitch, "group: files\n");
+        assertFalse(new PasswdIndex(passwd, nsswitch, 0, false).isAuthoritative());
+        write(nsswitch, "passwd: files\n");
+        // Mac users are in Directory Services
+        assertFalse(new PasswdIndex(passwd, nsswitch, 0, true).isAuthoritative());
+        assertTrue(new PasswdIndex(passwd, nsswitch, 0, false).isAuthoritative());
+        // missing nsswitch.conf defaults to files
+        nsswitch.delete();
+        assertTrue(new PasswdIndex(passwd, nsswitch, 0, false).isAuthoritative());
+    }
+
+    @Test
+    public void testCompat() throws IOException {
+        write(nsswitch, "passwd: compat\n");
+        assertTrue(new PasswdIndex(passwd, nsswitch, 0, false).isAuthoritative());
+        write(passwd, "root:x:0:0:root:/root:/bin/bash\n+@netgroup\n");
+        PasswdIndex index = new PasswdIndex(passwd, nsswitch, 0, false);
+        assertFalse(index.isAuthoritative());
+        assertTrue(index.contains("root"));
+        assertFalse(index.contains("+@netgroup"));
+    }
+
+    @Test
+    public void testMissingPasswd() {
+        passwd.delete();
+        PasswdIndex index = new PasswdIndex(passwd, nsswitch, 0, false);
+        assertEquals(0, index.size());
+        assertFalse(index.isAuthoritative());
+    }
+
+    @Test
+    public void testParsePasswd() {
+        HashMap<String, Long> uids = new HashMap<String, Long>();
+        assertFalse(PasswdIndex.parsePasswd("a:x:1:1::/:/bin/sh\r\nb:x:notanumber:1::/:/bin/sh\nc\nd:x:4294967295", uids));
+        assertEquals(Long.valueOf(1), uids.get("a"));
+        assertEquals(Long.valueOf(-1), uids.get("b"));
+        assertFalse(uids.containsKey("c"));
+        assertEquals(Long.valueOf(4294967295L), uids.get("d"));
+        assertTrue(PasswdIndex.isFilesOnly(Arrays.asList("files"), false));
+        assertFalse(PasswdIndex.isFilesOnly(Arrays.asList("compat"), true));
+    }
+
+    @Test
+    public void testSystemPasswd() throws IOException, UnsupportedOSException {
+        if(Utils.isLinux()){
+            assertTrue(Utils.passwdIndex().contains("root"));
+            assertEquals(0, Utils.passwdIndex().getUid("root"));
+            assertTrue(Utils.userExists("root"));
+            // numeric uid as accepted by 'id', nobody is 65534 on most distributions
+            assertEquals(Utils.passwdIndex().containsUid(65534), Utils.userExists("65534"));
+            assertFalse(Utils.userExists("4294967294"));
+            assertFalse(Utils.userExists("nonexistentuser"));
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNullFileException() {
+        new PasswdIndex(null, nsswitch, 0);
+    }
+
+}
@@ -0,0 +1,155 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:40:22 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.PathIndex against temporary PATH directories
+ */
+public class PathIndexTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private File dir1;
+    private File dir2;
+
+    private static File mkdir(String prefix) throws IOException {
+        File dir = File.createTempFile(prefix, "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+        return dir;
+    }
+
+    private static File program(File dir, String name, boolean executable) throws IOException {
+        File f = new File(dir, name);
+        assertTrue(f.createNewFile());
+        assertTrue(f.setExecutable(executable));
+        return f;
+    }
+
+    private static void delete(File dir) {
+        File[] files = dir.listFiles();
+        if(files != null){
+            for(File f: files){
+                f.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        dir1 = mkdir("bin1");
+        dir2 = mkdir("bin2");
+        program(dir1, "prog1", true);
+        program(dir2, "prog1", true);
+        program(dir2, "prog2", true);
+        program(dir1, "data", false);
+        assertTrue(new File(dir1, "subdir").mkdir());
+    }
+
+    @After
+    public void tearDown() {
+        delete(dir1);
+        delete(dir2);
+    }
+
+    @Test
+    public void testWhich() {
+        PathIndex index = new PathIndex(dir1 + ":" + dir2 + ":/nonexistent/dir", 1000);
+        // first in PATH order wins
+        assertEquals(dir1 + "/prog1", index.which("prog1"));
+        assertEquals(dir2 + "/prog2", index.which("prog2"));
+        assertEquals(dir2 + "/prog2", index.which("prog2"));
+        assertNull(index.which("subdir"));
+        assertNull(index.which("nonexistentprogram"));
+        assertNull(index.which("bin/prog1"));
+        assertNull(index.which(""));
+        assertNull(index.which(null));
+        if(! System.getProperty("user.name").equals("root")){
+            // root can execute anything
+            assertNull(index.which("data"));
+        }
+    }
+
+    @Test
+    public void testRescanOnChange() throws IOException {
+        PathIndex index = new PathIndex(dir1 + ":" + dir2, 0);
+        assertNull(index.which("prog3"));
+        long mtime = dir2.lastModified();
+        program(dir2, "prog3", true);
+        assertTrue(new File(dir1, "prog1").delete());
+        // don't depend on the filesystem's mtime granularity
+        dir1.setLastModified(mtime + 5000);
+        dir2.setLastModified(mtime + 5000);
+        assertEquals(dir2 + "/prog3", index.which("prog3"));
+        assertEquals(dir2 + "/prog1", index.which("prog1"));
+    }
+
+    @Test
+    public void testRescanSameSecond() throws IOException {
+        PathIndex index = new PathIndex(dir1.toString(), 0);
+        assertNull(index.which("prog3"));
+        long mtime = dir1.lastModified();
+        program(dir1, "prog3", true);
+        // as if installed within the mtime resolution of the last listing, the directory was only just created
+        dir1.setLastModified(mtime);
+        assertEquals(dir1 + "/prog3", index.which("prog3"));
+    }
+
+    @Test
+    public void testCheckInterval() throws IOException {
+        PathIndex index = new PathIndex(dir1.toString(), 3600000);
+        assertNull(index.which("prog3"));
+        program(dir1, "prog3", true);
+        dir1.setLastModified(dir1.lastModified() + 5000);
+        // not rechecked until the interval has passed
+        assertNull(index.which("prog3"));
+    }
+
+    @Test
+    public void testEmptyPath() {
+        assertNull(new PathIndex(null, 0).which("sh"));
+        assertEquals("", new PathIndex(null, 0).getPath());
+    }
+
+    @Test
+    public void testSystemPath() throws IOException {
+        if(Utils.isLinuxOrMac()){
+            assertEquals(Utils.which("sh"), Utils.pathIndex().which("sh"));
+            assertTrue(Utils.validateProgramPath("sh", "sh").endsWith("/sh"));
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testInvalidCheckIntervalException() {
+        new PathIndex("/bin", -1);
+    }
+
+}
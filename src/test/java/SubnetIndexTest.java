@@ -0,0 +1,162 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 18:21:37 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.SubnetIndex, checked against a brute force scan of Cidr.contains()
+ */
+public class SubnetIndexTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private static final long seed = 20151101L;
+
+    @Test
+    public void testLookup(){
+        SubnetIndex<String> index = new SubnetIndex.Builder<String>()
+            .add("10.0.0.0/8", "ten")
+            .add("10.66.0.0/16", "ten-66")
+            .add("10.66.1.0/24", "ten-66-1")
+            .add("192.168.1.0/255.255.255.0", "home")
+            .add("0.0.0.0/0", "default")
+            .add("2001:db8::/32", "doc")
+            .add("2001:db8:1::/48", "doc-1")
+            .build();
+        assertEquals(7, index.size());
+        assertEquals("ten",      index.lookup("10.1.2.3"));
+        assertEquals("ten-66",   index.lookup("10.66.2.3"));
+        assertEquals("ten-66-1", index.lookup("10.66.1.3"));
+        assertEquals("home",     index.lookup("192.168.1.254"));
+        assertEquals("default",  index.lookup("192.168.2.1"));
+        assertEquals("doc",      index.lookup("2001:db8:2::1"));
+        assertEquals("doc-1",    index.lookup("2001:db8:1:ffff::1"));
+        assertNull(index.lookup("2001:db9::1"));
+        assertNull(index.lookup("not an ip"));
+        assertNull(index.lookup((CharSequence) null));
+        assertEquals("ten-66-1", index.lookup(Utils.parseIPv4("10.66.1.3")));
+        long[] ip = Utils.parseIPv6("2001:db8:1::5");
+        assertEquals("doc-1", index.lookup(ip[0], ip[1]));
+        assertTrue(index.contains("10.66.1.3"));
+        assertFalse(index.contains("::1"));
+    }
+
+    @Test
+    public void testReplaceAndHostRoutes(){
+        SubnetIndex<Boolean> index = new SubnetIndex.Builder<Boolean>()
+            .add("10.1.2.3/32", true)
+            .add("10.1.2.0/24", true)
+            .add("10.1.2.99/24", false)
+            .add("::1/128", true)
+            .build();
+        assertEquals(3, index.size());
+        assertEquals(Boolean.TRUE,  index.lookup("10.1.2.3"));
+        assertEquals(Boolean.FALSE, index.lookup("10.1.2.4"));
+        assertNull(index.lookup("10.1.3.3"));
+        assertEquals(Boolean.TRUE,  index.lookup("::1"));
+        assertNull(index.lookup("::2"));
+        assertTrue(new SubnetIndex.Builder<Boolean>().build().isEmpty());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNonContiguousNetmaskException(){
+        new SubnetIndex.Builder<Boolean>().add("10.0.0.0/255.0.255.0", true);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testInvalidCidrException(){
+        new SubnetIndex.Builder<Boolean>().addAll(Arrays.asList("10.0.0.0/8", "10.0.0.0/33"), true);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNullValueException(){
+        new SubnetIndex.Builder<Boolean>().add("10.0.0.0/8", null);
+    }
+
+    private static String find(ArrayList<Cidr> cidrs, ArrayList<String> values, int ipv4) {
+        String best = null;
+        int best_prefix = -1;
+        for(int i = 0; i < cidrs.size(); i++){
+            Cidr c = cidrs.get(i);
+            if(c.contains(ipv4) && c.getPrefix() >= best_prefix){
+                best = values.get(i);
+                best_prefix = c.getPrefix();
+            }
+        }
+        return best;
+    }
+
+    private static String find(ArrayList<Cidr> cidrs, ArrayList<String> values, long high, long low) {
+        String best = null;
+        int best_prefix = -1;
+        for(int i = 0; i < cidrs.size(); i++){
+            Cidr c = cidrs.get(i);
+            if(c.contains(high, low) && c.getPrefix() >= best_prefix){
+                best = values.get(i);
+                best_prefix = c.getPrefix();
+            }
+        }
+        return best;
+    }
+
+    @Test
+    public void testRandomAgainstBruteForce(){
+        Random random = new Random(seed);
+        ArrayList<Cidr> cidrs = new ArrayList<Cidr>();
+        ArrayList<String> values = new ArrayList<String>();
+        SubnetIndex.Builder<String> builder = new SubnetIndex.Builder<String>();
+        // narrow the address space so ranges overlap and nest
+        for(int i = 0; i < 2000; i++){
+            Cidr cidr;
+            if(random.nextBoolean()){
+                cidr = Cidr.ipv4(0x0A000000 | random.nextInt(1 << 20), 8 + random.nextInt(25));
+            } else {
+                cidr = Cidr.ipv6(0x20010db800000000L | random.nextInt(1 << 16), random.nextLong() & 0xFF000000000000FFL, 32 + random.nextInt(97));
+            }
+            // later duplicates replace earlier ones in the builder so drop them from the brute force list too
+            int dup = cidrs.indexOf(cidr);
+            if(dup >= 0){
+                cidrs.remove(dup);
+                values.remove(dup);
+            }
+            String value = "v" + i;
+            cidrs.add(cidr);
+            values.add(value);
+            builder.add(cidr, value);
+        }
+        SubnetIndex<String> index = builder.build();
+        assertEquals(cidrs.size(), index.size());
+        for(int i = 0; i < 20000; i++){
+            int ipv4 = 0x0A000000 | random.nextInt(1 << 20);
+            assertEquals(IPv4.toString(ipv4 & 0xFFFFFFFFL), find(cidrs, values, ipv4), index.lookup(ipv4));
+            long high = 0x20010db800000000L | random.nextInt(1 << 16);
+            long low = random.nextLong() & 0xFF000000000000FFL;
+            assertEquals(IPv6.toString(high, low), find(cidrs, values, high, low), index.lookup(high, low));
+        }
+    }
+
+}
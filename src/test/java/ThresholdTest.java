@@ -0,0 +1,155 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:47:50 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.Threshold against the Nagios plugin guidelines range semantics
+ */
+public class ThresholdTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private static final long seed = 20151101L;
+
+    private static void assertAlerts(String range, double[] alerting, double[] ok) {
+        Threshold threshold = Threshold.parse(range);
+        for(double value: alerting){
+            assertTrue(range + " should alert for " + value, threshold.isAlert(value));
+        }
+        for(double value: ok){
+            assertFalse(range + " should not alert for " + value, threshold.isAlert(value));
+        }
+    }
+
+    @Test
+    public void testIsAlert(){
+        assertAlerts("10",      new double[]{ -1, -0.001, 10.001, 11, Double.NaN },   new double[]{ 0, 5, 10 });
+        assertAlerts("10:",     new double[]{ 9.99, -5, Double.NEGATIVE_INFINITY },   new double[]{ 10, 1e300, Double.POSITIVE_INFINITY });
+        assertAlerts("~:10",    new double[]{ 10.5, Double.POSITIVE_INFINITY },       new double[]{ 10, -1e300, Double.NEGATIVE_INFINITY });
+        assertAlerts("10:20",   new double[]{ 9, 21 },                                new double[]{ 10, 15, 20 });
+        assertAlerts("@10:20",  new double[]{ 10, 15, 20, Double.NaN },               new double[]{ 9.9, 20.1 });
+        assertAlerts(":5",      new double[]{ -1, 6 },                                new double[]{ 0, 5 });
+        assertAlerts("@~:5",    new double[]{ -100, 5 },                              new double[]{ 5.5 });
+        assertAlerts("-10:-5",  new double[]{ -11, -4 },                              new double[]{ -10, -7.5, -5 });
+        assertAlerts("1e3:",    new double[]{ 999 },                                  new double[]{ 1000 });
+    }
+
+    @Test
+    public void testParse(){
+        Threshold threshold = Threshold.parse(" @~:5.5 ");
+        assertEquals(Double.NEGATIVE_INFINITY, threshold.getStart(), 0);
+        assertEquals(5.5, threshold.getEnd(), 0);
+        assertTrue(threshold.isInside());
+        threshold = Threshold.parse("10:");
+        assertEquals(10, threshold.getStart(), 0);
+        assertEquals(Double.POSITIVE_INFINITY, threshold.getEnd(), 0);
+        assertFalse(threshold.isInside());
+        assertEquals(Threshold.of(0, 10, false), Threshold.parse("0:10"));
+        assertEquals(Threshold.parse("0:10").hashCode(), Threshold.parse("10").hashCode());
+        assertNotEquals(Threshold.parse("10"), Threshold.parse("@10"));
+    }
+
+    @Test
+    public void testToString(){
+        for(String range: new String[]{ "10", "10:", "~:10", "10:20", "@10:20", "@~:-1.5", "-5:", "0:", "~:" }){
+            assertEquals(range, Threshold.parse(range).toString());
+            assertEquals(Threshold.parse(range), Threshold.parse(Threshold.parse(range).toString()));
+        }
+        assertEquals("10", Threshold.parse("0:10").toString());
+    }
+
+    @Test
+    public void testIsValid(){
+        for(String range: new String[]{ "", " ", "@", "~", ":", "a", "10:a", "10::", "1:2:3", "20:10", "~10", "1e", "10%", "@@1" }){
+            assertFalse(range, Threshold.isValid(range));
+        }
+        assertFalse(Threshold.isValid(null));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseException() throws IllegalArgumentException {
+        Threshold.parse("20:10");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseNullException() throws IllegalArgumentException {
+        Threshold.parse(null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testOfException() throws IllegalArgumentException {
+        Threshold.of(2, 1, false);
+    }
+
+    @Test
+    public void testBulk(){
+        Random random = new Random(seed);
+        double[] values = new double[10000];
+        for(int i = 0; i < values.length; i++){
+            values[i] = random.nextGaussian() * 50;
+        }
+        values[1234] = Double.NaN;
+        for(String range: new String[]{ "10", "10:", "~:10", "-20:20", "@-20:20" }){
+            Threshold threshold = Threshold.parse(range);
+            BitSet alerts = threshold.alerts(values);
+            int count = 0;
+            for(int i = 0; i < values.length; i++){
+                assertEquals(range + " " + values[i], threshold.isAlert(values[i]), alerts.get(i));
+                if(alerts.get(i)){
+                    count++;
+                }
+            }
+            assertEquals(range, count, threshold.countAlerts(values));
+            assertEquals(range, alerts.get(100, 200).cardinality(), threshold.countAlerts(values, 100, 200));
+            assertEquals(range, alerts.nextSetBit(0), threshold.nextAlert(values, 0));
+            assertEquals(range, alerts.nextSetBit(5000), threshold.nextAlert(values, 5000));
+        }
+        assertEquals(-1, Threshold.parse("1:").nextAlert(new double[]{ 1, 2, 3 }, 0));
+        assertEquals(0, Threshold.parse("1:").countAlerts(new double[0]));
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testBulkRangeException() throws IndexOutOfBoundsException {
+        Threshold.parse("10").countAlerts(new double[4], 2, 5);
+    }
+
+    @Test
+    public void testStatus(){
+        Threshold warning = Threshold.parse("80");
+        Threshold critical = Threshold.parse("90");
+        assertEquals(Threshold.OK,       Threshold.status(50, warning, critical));
+        assertEquals(Threshold.WARNING,  Threshold.status(85, warning, critical));
+        assertEquals(Threshold.CRITICAL, Threshold.status(95, warning, critical));
+        assertEquals(Threshold.WARNING,  Threshold.status(95, warning, null));
+        assertEquals(Threshold.OK,       Threshold.status(95, null, null));
+        assertEquals(Threshold.OK,       Threshold.status(new double[]{ 1, 50, 80 }, warning, critical));
+        assertEquals(Threshold.WARNING,  Threshold.status(new double[]{ 1, 85, 80 }, warning, critical));
+        assertEquals(Threshold.CRITICAL, Threshold.status(new double[]{ 1, 85, 91 }, warning, critical));
+        assertEquals(Threshold.CRITICAL, Threshold.status(new double[]{ Double.NaN }, null, critical));
+    }
+
+}
@@ -0,0 +1,203 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 22:31:09 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+
+package com.linkedin.harisekhon;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.TldRegistry, restores the original TLDs after each test
+ */
+public class TldRegistryTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private HashSet<String> original;
+
+    @Before
+    public void setUp() throws Exception {
+        original = new HashSet<String>(TldRegistry.current().getTlds());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TldRegistry.reload(original, false).get();
+    }
+
+    private static HashSet<String> withTld(HashSet<String> tlds, String tld) {
+        HashSet<String> tld_set = new HashSet<String>(tlds);
+        tld_set.add(tld);
+        return tld_set;
+    }
+
+    @Test
+    public void testInitial(){
+        TldRegistry.Snapshot snapshot = TldRegistry.current();
+        assertEquals(Utils.initTlds(), snapshot.getTlds());
+        assertEquals(Utils.loadedTlds(), snapshot.getTlds());
+        assertTrue(snapshot.isTld("com"));
+        assertTrue(snapshot.isTld("COM"));
+        assertTrue(snapshot.isTld("localdomain"));
+        assertFalse(snapshot.isTld("nonexistenttld"));
+        assertFalse(snapshot.isTld(null));
+        assertTrue("a.b.com".matches(snapshot.getDomainRegex()));
+        assertTrue("host.domain.com".matches(snapshot.getFqdnRegex()));
+        assertTrue("hari@domain.com".matches(snapshot.getEmailRegex()));
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testTldsUnmodifiable(){
+        TldRegistry.current().getTlds().add("newtld");
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        TldRegistry.Snapshot before = TldRegistry.current();
+        assertFalse(Utils.isDomain("domain.newtld"));
+        // compile the URL pattern so the reload precompiles it in the new snapshot
+        assertFalse(Utils.isUrl("http://host.domain.newtld/path"));
+        TldRegistry.Snapshot after = TldRegistry.reload(withTld(original, "newtld")).get();
+        assertSame(after, TldRegistry.current());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(before.size() + 1, after.size());
+        assertTrue(after.isTld("NewTld"));
+        assertTrue(Utils.isDomain("domain.newtld"));
+        assertTrue(Utils.isFqdn("host.domain.newtld"));
+        assertTrue(Utils.isHost("host.domain.newtld"));
+        assertTrue(Utils.isEmail("hari@domain.newtld"));
+        assertTrue(Utils.isUrl("http://host.domain.newtld/path"));
+        assertTrue("domain.newtld".matches(after.getDomainRegex()));
+        // a validation holding the old snapshot still sees the old TLDs
+        assertFalse(before.isTld("newtld"));
+        assertFalse("domain.newtld".matches(before.getDomainRegex()));
+        // Utils.tlds is fixed as first loaded
+        assertFalse(Utils.tlds.contains("newtld"));
+    }
+
+    @Test
+    public void testReloadWithoutCustom() throws Exception {
+        HashSet<String> tld_set = new HashSet<String>(original);
+        tld_set.remove("localdomain");
+        TldRegistry.reload(tld_set, false).get();
+        assertFalse(Utils.isDomain("localdomain"));
+        TldRegistry.reload(tld_set).get();
+        assertTrue(Utils.isDomain("localdomain"));
+    }
+
+    @Test
+    public void testReloadFile() throws Exception {
+        File f = File.createTempFile("tlds", ".txt");
+        try {
+            BufferedWriter bw = new BufferedWriter(new FileWriter(f));
+            bw.write("# Version 2026101800\n");
+            for(String tld: withTld(original, "NEWTLD")){
+                bw.write(tld + "\n");
+            }
+            bw.close();
+            TldRegistry.reload(f).get();
+            assertTrue(Utils.isFqdn("host.domain.newtld"));
+        } finally {
+            f.delete();
+        }
+    }
+
+    private static Throwable reloadFailure(HashSet<String> tld_set) throws InterruptedException {
+        try {
+            TldRegistry.reload(tld_set).get();
+        } catch (ExecutionException e){
+            return e.getCause();
+        }
+        throw new AssertionError("reload did not fail");
+    }
+
+    @Test
+    public void testReloadInvalid() throws Exception {
+        TldRegistry.Snapshot before = TldRegistry.current();
+        assertTrue(reloadFailure(withTld(original, "new_tld")) instanceof IllegalArgumentException);
+        assertTrue(reloadFailure(new HashSet<String>()) instanceof IllegalStateException);
+        assertSame(before, TldRegistry.current());
+    }
+
+    @Test
+    public void testReloadNonexistentFile() throws Exception {
+        try {
+            TldRegistry.reload(new File("/nonexistent/tlds.txt")).get();
+            fail("reload did not fail for nonexistent file");
+        } catch (ExecutionException e){
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testReloadNullException(){
+        TldRegistry.reload((HashSet<String>) null);
+    }
+
+    @Test
+    public void testConcurrentReload() throws Exception {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread[] readers = new Thread[4];
+        for(int i = 0; i < readers.length; i++){
+            readers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while(running.get()){
+                            // never affected by the reloads
+                            if(! Utils.isFqdn("host.domain.com") || Utils.isFqdn("host.domain.nonexistenttld")){
+                                throw new AssertionError("wrong result during reload");
+                            }
+                            Utils.isFqdn("host.domain.newtld");
+                        }
+                    } catch (Throwable t){
+                        failure.set(t);
+                    }
+                }
+            });
+            readers[i].start();
+        }
+        HashSet<String> with_new = withTld(original, "newtld");
+        for(int i = 0; i < 20; i++){
+            TldRegistry.reload(i % 2 == 0 ? with_new : original, false).get();
+        }
+        running.set(false);
+        for(Thread reader: readers){
+            reader.join();
+        }
+        if(failure.get() != null){
+            throw new AssertionError(failure.get());
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 23:59:12 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for com.linkedin.harisekhon.Units and Unit
+ */
+public class UnitsTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private static final long seed = 20151101L;
+
+    @Test
+    public void testParseUnit(){
+        assertSame(Unit.NONE,        Unit.parse(" "));
+        assertSame(Unit.PERCENT,     Unit.parse("%"));
+        assertSame(Unit.COUNTER,     Unit.parse("c"));
+        assertSame(Unit.BYTE,        Unit.parse("B"));
+        assertSame(Unit.BYTE,        Unit.parse("b"));
+        assertSame(Unit.KIBIBYTE,    Unit.parse("K"));
+        assertSame(Unit.KIBIBYTE,    Unit.parse("kb"));
+        assertSame(Unit.KIBIBYTE,    Unit.parse("KiB"));
+        assertSame(Unit.KILOBYTE,    Unit.parse("kB", true));
+        assertSame(Unit.KIBIBYTE,    Unit.parse("KiB", true));
+        assertSame(Unit.GIBIBYTE,    Unit.parse(" Gi "));
+        assertSame(Unit.EXBIBYTE,    Unit.parse("EB"));
+        assertSame(Unit.EXABYTE,     Unit.parse("E", true));
+        assertSame(Unit.NANOSECOND,  Unit.parse("ns"));
+        assertSame(Unit.MICROSECOND, Unit.parse("us"));
+        assertSame(Unit.MICROSECOND, Unit.parse("\u00B5s"));
+        assertSame(Unit.MICROSECOND, Unit.parse("\u03BCs"));
+        assertSame(Unit.MILLISECOND, Unit.parse("MS"));
+        assertSame(Unit.SECOND,      Unit.parse("s"));
+        assertSame(Unit.MINUTE,      Unit.parse("min"));
+        assertSame(Unit.HOUR,        Unit.parse("h"));
+        assertSame(Unit.DAY,         Unit.parse("d"));
+        assertNull(Unit.parse("Kbps"));
+        assertNull(Unit.parse("KiBB"));
+        assertNull(Unit.parse("x"));
+        assertNull(Unit.parse(null));
+        // every Nagios perfdata unit is recognized
+        for(String unit: new String[]{"%", "s", "ms", "us", "b", "kb", "mb", "gb", "tb", "c"}){
+            assertTrue(unit, Utils.isNagiosUnit(unit));
+            assertNotNull(unit, Unit.parse(unit));
+        }
+    }
+
+    @Test
+    public void testParse(){
+        assertEquals(12.5 * (1L << 30), Units.parse("12.5GiB"), 0);
+        assertEquals(12.5e9,            Units.parse("12.5GB", null, true), 0);
+        assertEquals(12.5 * (1L << 30), Units.parse("12.5GB"), 0);
+        assertEquals(0.3,               Units.parse("300ms"), 0);
+        assertEquals(300,               Units.parse("300ms", Unit.MILLISECOND), 0);
+        assertEquals(300000,            Units.parse("300 ms", Unit.MICROSECOND), 0);
+        assertEquals(1.2e6,             Units.parse("1.2e6"), 0);
+        assertEquals(1.2e6,             Units.parse(" +1.2E+6 "), 0);
+        assertEquals(-0.5,              Units.parse("-.5"), 0);
+        assertEquals(5,                 Units.parse("5."), 0);
+        assertEquals(90,                Units.parse("90%"), 0);
+        assertEquals(1L << 60,          Units.parse("1EB"), 0);
+        assertEquals(1e6 * (1L << 60),  Units.parse("1e6EB"), 0);
+        assertEquals(5400,              Units.parse("1.5h"), 0);
+        assertEquals(1.5,               Units.parse("1.5KiB", Unit.KIBIBYTE), 0);
+        assertEquals(1.536,             Units.parse("1.5KiB", Unit.KILOBYTE), 0);
+        // no units is already in the target units
+        assertEquals(42,                Units.parse("42", Unit.MEBIBYTE), 0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(Units.parse("-0")));
+    }
+
+    @Test
+    public void testParseMatchesParseDouble(){
+        Random random = new Random(seed);
+        for(int i = 0; i < 20000; i++){
+            double num;
+            switch(i % 4){
+                case 0:  num = random.nextInt(100000) / 100.0; break;
+                case 1:  num = random.nextDouble() * Math.pow(10, random.nextInt(40) - 20); break;
+                case 2:  num = Double.longBitsToDouble(random.nextLong() & 0x7fefffffffffffffL); break;
+                default: num = random.nextLong(); break;
+            }
+            String str = Double.toString(num);
+            assertEquals(str, Double.parseDouble(str), Units.parse(str), 0);
+            str = String.format("%.3f", num).replace(',', '.');
+            assertEquals(str, Double.parseDouble(str), Units.parse(str + "B"), 0);
+        }
+        assertEquals(Double.parseDouble("123456789012345678901234567890"), Units.parse("123456789012345678901234567890"), 0);
+        assertEquals(Double.parseDouble("0.000000000000000000000000001"), Units.parse("0.000000000000000000000000001"), 0);
+        assertEquals(Double.POSITIVE_INFINITY, Units.parse("1e99999"), 0);
+    }
+
+    @Test
+    public void testParseLong(){
+        assertEquals(1536,                Units.parseLong("1.5KiB"));
+        assertEquals(1500,                Units.parseLong("1.5kB", Unit.BYTE, true));
+        assertEquals(300,                 Units.parseLong("300ms", Unit.MILLISECOND));
+        assertEquals(300000000,           Units.parseLong("300ms", Unit.NANOSECOND));
+        assertEquals(1L << 62,            Units.parseLong("4EiB"));
+        assertEquals(-7,                  Units.parseLong("-7"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseLongFractionException() throws IllegalArgumentException {
+        Units.parseLong("300ms");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseLongOverflowException() throws IllegalArgumentException {
+        Units.parseLong("8EiB");
+    }
+
+    @Test
+    public void testParseUnits(){
+        assertSame(Unit.MILLISECOND, Units.parseUnit("300ms"));
+        assertSame(Unit.NONE,        Units.parseUnit("1.2e6"));
+        assertSame(Unit.EXBIBYTE,    Units.parseUnit("1e"));
+        assertSame(Unit.KILOBYTE,    Units.parseUnit("1k", true));
+        assertTrue(Units.isValid("12.5GiB"));
+        assertTrue(Units.isValid("1e-3s"));
+        assertFalse(Units.isValid("12.5Gbps"));
+        assertFalse(Units.isValid("GB"));
+        assertFalse(Units.isValid("."));
+        assertFalse(Units.isValid("1.2.3"));
+        assertFalse(Units.isValid(""));
+        assertFalse(Units.isValid(null));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseInvalidNumberException() throws IllegalArgumentException {
+        Units.parse("e6");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseInvalidUnitsException() throws IllegalArgumentException {
+        Units.parse("10Kbps");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseIncompatibleUnitsException() throws IllegalArgumentException {
+        Units.parse("10ms", Unit.BYTE);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseNullException() throws IllegalArgumentException {
+        Units.parse(null);
+    }
+
+    @Test
+    public void testConvert(){
+        assertEquals(1024,        Units.convert(1, Unit.KIBIBYTE, Unit.BYTE), 0);
+        assertEquals(0.9765625,   Units.convert(1, Unit.KILOBYTE, Unit.KIBIBYTE), 0);
+        assertEquals(1.024,       Units.convert(1, Unit.KIBIBYTE, Unit.KILOBYTE), 0);
+        assertEquals(0.001,       Units.convert(1, Unit.MILLISECOND, Unit.SECOND), 0);
+        assertEquals(1.5,         Units.convert(90, Unit.SECOND, Unit.MINUTE), 0);
+        assertEquals(50,          Units.convert(50, Unit.PERCENT, Unit.PERCENT), 0);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testConvertIncompatibleUnitsException() throws IllegalArgumentException {
+        Units.convert(1, Unit.PERCENT, Unit.COUNTER);
+    }
+
+    @Test
+    public void testConvertBulk(){
+        Random random = new Random(seed);
+        Unit[] units = Unit.values();
+        double[] src = new double[1000];
+        double[] dest = new double[src.length];
+        for(int i = 0; i < src.length; i++){
+            src[i] = random.nextDouble() * random.nextInt(1000000);
+        }
+        for(Unit from: units){
+            for(Unit to: units){
+                if(from.getDimension() != to.getDimension()){
+                    continue;
+                }
+                Units.convert(src, 0, dest, 0, src.length, from, to);
+                for(int i = 0; i < src.length; i++){
+                    assertEquals(from + " => " + to, Units.convert(src[i], from, to), dest[i], 0);
+                }
+            }
+        }
+        double[] values = { 1, 2, 3, 4, 5 };
+        assertSame(values, Units.convert(values, Unit.SECOND, Unit.MILLISECOND));
+        assertArrayEquals(new double[]{ 1000, 2000, 3000, 4000, 5000 }, values, 0);
+        // overlapping in both directions
+        values = new double[]{ 1, 2, 3, 4, 5 };
+        Units.convert(values, 0, values, 1, 4, Unit.KIBIBYTE, Unit.BYTE);
+        assertArrayEquals(new double[]{ 1, 1024, 2048, 3072, 4096 }, values, 0);
+        Units.convert(values, 1, values, 0, 4, Unit.BYTE, Unit.KIBIBYTE);
+        assertArrayEquals(new double[]{ 1, 2, 3, 4, 4096 }, values, 0);
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testConvertBulkBoundsException() throws IndexOutOfBoundsException {
+        Units.convert(new double[4], 1, new double[4], 0, 4, Unit.BYTE, Unit.KIBIBYTE);
+    }
+
+    @Test
+    public void testHuman(){
+        assertEquals("1.5KiB",    Units.human(1536, Unit.BYTE));
+        assertEquals("1.54kB",    Units.human(1536, Unit.BYTE, true));
+        assertEquals("1023B",     Units.human(1023, Unit.BYTE));
+        assertEquals("12.5GiB",   Units.human(12.5, Unit.GIBIBYTE));
+        assertEquals("1EiB",      Units.human(1024, Unit.PEBIBYTE));
+        assertEquals("0B",        Units.human(0, Unit.MEBIBYTE));
+        assertEquals("300ms",     Units.human(0.3, Unit.SECOND));
+        assertEquals("1.5min",    Units.human(90, Unit.SECOND));
+        assertEquals("2d",        Units.human(48, Unit.HOUR));
+        assertEquals("1.2us",     Units.human(1200, Unit.NANOSECOND));
+        assertEquals("-1.5h",     Units.human(-5400, Unit.SECOND));
+        assertEquals("0s",        Units.human(0, Unit.MILLISECOND));
+        assertEquals("99.5%",     Units.human(99.5, Unit.PERCENT));
+        assertEquals("7",         Units.human(7, Unit.NONE));
+    }
+
+}
@@ -28,7 +28,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 //import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeSet;
 
 // JUnit 3
 //import junit.framework.Test;
@@ -228,6 +232,30 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         throw new Exception("loadTlds() failed to thrown an IOException for a nonexistent file");
     }
 
+    @Test
+    public void testTldSnapshot() throws IOException {
+        HashSet<String> snapshot = TldSnapshot.load();
+        assertNotNull("tlds.bin snapshot not generated by the build", snapshot);
+        assertEquals(loadTldsFromText(true), snapshot);
+    }
+
+    @Test
+    public void testTldSnapshotRoundTrip() throws IOException {
+        HashSet<String> tld_set = new HashSet<String>(Arrays.asList("com", "ORG", "xn--p1ai", "localdomain"));
+        File f = File.createTempFile("tlds", ".bin");
+        try {
+            TldSnapshot.write(tld_set, f);
+            assertEquals(tld_set, TldSnapshot.read(new FileInputStream(f)));
+        } finally {
+            f.delete();
+        }
+    }
+
+    @Test(expected=IOException.class)
+    public void testTldSnapshotCorrupt() throws IOException {
+        TldSnapshot.read(new ByteArrayInputStream(new byte[]{ 'T', 'L', 'D', '1', 0, 0, 0, 9, 0, 0, 0, 2, 3, 'c', 'o', 'm' }));
+    }
+
     @Test(expected=IllegalStateException.class)
     public void testCheckTldcountTooHigh() throws IOException {
         loadTlds("tlds-alpha-by-domain.txt");
@@ -348,6 +376,12 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         assertEquals("expandUnits(10, KB, name)",  1024L,          expandUnits(1L, "KB", "name"));
         assertEquals("expandUnits(10, KB, name)",  10240.0,        expandUnits(10.0, "KB", "name"),   0);
         assertEquals("expandUnits(10, KB)",    10240.0,            expandUnits(10.0, "KB"),   0);
+        assertEquals("expandUnits(10, k)",     10240.0,            expandUnits(10.0, " k "),  0);
+        assertEquals("expandUnits(10, b)",     10.0,               expandUnits(10.0, "b"),    0);
+        assertEquals("expandUnits(10, '')",    10.0,               expandUnits(10.0, ""),     0);
+        assertEquals("expandUnits(10, KiB)",   10240L,             expandUnits(10L, "KiB"));
+        assertEquals("expandUnits(10, gi)",    10737418240L,       expandUnits(10L, "gi"));
+        assertEquals("expandUnits(1, EB)",     1152921504606846976L, expandUnits(1L, "EB"));
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -420,6 +454,71 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         humanUnits(pow(1024, 7), "");
     }
 
+    // the original String.format + regex formatting
+    private static String humanDecimal2(double num) {
+        return String.format("%.2f", num).replaceFirst("(\\.\\d+)0$", "$1").replaceFirst("\\.0+$", "");
+    }
+
+    @Test
+    public void testHumanUnitsMatchesFormat(){
+        double[] edges = { 0, -0.0, 0.001, 0.005, 0.015, 0.125, 0.995, 1.005, 1.015, 1.0049999, 2.675, 1023.995,
+                           1023.9949, 5e-324, -0.004, -0.005, -1.5, -1e20, 9.999e12, 1e13, 123456789.125,
+                           Double.NaN, Double.NEGATIVE_INFINITY };
+        for(double num: edges){
+            StringBuilder sb = new StringBuilder();
+            appendDecimal2(sb, num);
+            assertEquals("appendDecimal2(" + num + ")", humanDecimal2(num), sb.toString());
+        }
+        Random random = new Random(20151101L);
+        for(int i = 0; i < 20000; i++){
+            double num;
+            switch(i % 4){
+                case 0:  num = random.nextInt(1000000) / 1000.0; break;
+                case 1:  num = random.nextDouble() * 1024; break;
+                case 2:  num = (random.nextInt(2000000) - 1000000) / 100000.0; break;
+                default: num = random.nextDouble() * pow(1024, 1 + random.nextInt(6)); break;
+            }
+            StringBuilder expected = new StringBuilder();
+            double num2 = num;
+            String units = " bytes";
+            for(int power = 6; power > 0; power--){
+                if(num >= pow(1024, power)){
+                    num2 = num / pow(1024, power);
+                    units = new String[]{ "KB", "MB", "GB", "TB", "PB", "EB" }[power - 1];
+                    break;
+                }
+            }
+            expected.append(humanDecimal2(num2)).append(units);
+            assertEquals("humanUnits(" + num + ")", expected.toString(), humanUnits(num));
+        }
+    }
+
+    @Test
+    public void testHumanUnitsLocale(){
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            assertEquals("1,50KB", humanUnits(1.5, "KB"));
+            assertEquals("1,10 bytes", humanUnits(1.1));
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+        }
+        assertEquals("1.5KB", humanUnits(1.5, "KB"));
+    }
+
+    @Test
+    public void testAppendHumanUnits(){
+        StringBuilder sb = new StringBuilder("used=");
+        assertSame(sb, appendHumanUnits(sb, 1536, "MB", true));
+        assertEquals("used=1.5GB", sb.toString());
+        assertEquals("NaNKB", humanUnits(Double.NaN, " KB "));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testHumanUnitsUnrecognizedUnitsException() throws IllegalArgumentException {
+        humanUnits(1, "ms");
+    }
+
     // ====================================================================== //
     @Test
     public void testResolveIp() throws UnknownHostException {
@@ -1431,6 +1530,9 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         assertFalse(isHost("10.10.10.256"));
         assertFalse(isHost(repeatString("a", 256)));
         assertFalse(isHost(null));
+        assertTrue(isHost("::1"));
+        assertTrue(isHost("2001:db8::1"));
+        assertFalse(isHost("[::1]"));
     }
 
     @Test
@@ -1466,6 +1568,66 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         assertEquals("validateHosts(myHost)",     "myHost:8080",     validateHosts("myHost", 8080));
         assertEquals("validateHosts(myHost)",     "myHost:8081,myHost2:9200",    validateHosts("myHost,myHost2:9200", 8081));
         assertEquals("validateHosts(myHost.myDomain.com)", "myHost.myDomain.com:8080", validateHosts("myHost.myDomain.com", "8080"));
+        assertEquals("validateHosts(::1)",        "[::1]:8080",      validateHosts("::1", 8080));
+        assertEquals("validateHosts([::1])",      "[::1]:8080",      validateHosts("[::1]", 8080));
+        assertEquals("validateHosts([::1]:9200)", "[::1]:9200,[2001:db8::1]:8080", validateHosts("[::1]:9200,2001:db8::1", 8080));
+    }
+
+    @Test
+    public void testValidateHostsSink(){
+        List<CharSequence> items = Arrays.<CharSequence>asList("node1:9200", "node2:80", "node3", new StringBuilder("node4"), "node3", "node5", "[::1]");
+        ArrayList<String> hosts = validateHosts(items, 8080, new ArrayList<String>());
+        assertEquals("validateHosts(Iterable, sink)", Arrays.asList("node1:9200","node2:80","node3:8080","node4:8080","node5:8080","[::1]:8080"), hosts);
+        TreeSet<Object> sorted = new TreeSet<Object>(Arrays.asList("existing"));
+        assertSame("validateHosts(Iterable, sink)", sorted, validateHosts(Arrays.asList("node2", "node1"), "9200", sorted));
+        assertEquals("validateHosts(Iterable, sink)", new TreeSet<Object>(Arrays.asList("existing","node1:9200","node2:9200")), sorted);
+    }
+
+    @Test
+    public void testValidateHostsSinkAtomic(){
+        ArrayList<String> hosts = new ArrayList<String>();
+        try {
+            validateHosts(Arrays.asList("node1", "node2", "bad~host"), 8080, hosts);
+            fail("validateHosts() should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(hosts.isEmpty());
+        }
+    }
+
+    @Test
+    public void testValidateHostsBlankHostMessage(){
+        try {
+            validateHosts(new String[]{"node1", ""}, 8080);
+            fail("validateHosts() should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("host not defined (blank)", e.getMessage());
+        }
+        try {
+            validateHosts(",node1", 8080);
+            fail("validateHosts() should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("host not defined (blank)", e.getMessage());
+        }
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateHostsSinkEmptyException() {
+        validateHosts(new ArrayList<String>(), 8080, new ArrayList<String>());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateHostsSinkNullItemException() {
+        validateHosts(Arrays.asList("node1", null), 8080, new ArrayList<String>());
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateHostsIPv6Exception() {
+        validateHosts("[::1", 8080);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateHostsIPv6PortException() {
+        validateHosts("[::1]:80800", 8080);
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -1515,6 +1677,19 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         assertEquals("validateHostPort(myHost)",      "myHost",      validateHostPort("myHost"));
         assertEquals("validateHostPort(myHost2)",     "myHost2",     validateHostPort("myHost2", "name2"));
         assertEquals("validateHostPort(myHost.myDomain.com)",  "myHost.myDomain.com",  validateHostPort("myHost.myDomain.com", "fqdn_host", false, true));
+        assertEquals("validateHostPort([::1]:8080)", "[::1]:8080", validateHostPort("[::1]:8080", "name", true));
+        assertEquals("validateHostPort(::1)",        "::1",        validateHostPort("::1"));
+        assertEquals("validateHostPort([::1])",      "[::1]",      validateHostPort("[::1]"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateHostportIPv6PortRequiredException() {
+        validateHostPort("::1", "name", true);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateHostportIPv6Exception() {
+        validateHostPort("[::1]8080");
     }
 
     @Test(expected=IllegalArgumentException.class)
@@ -1644,6 +1819,146 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         assertFalse("isIP(null)",             isIP(null));
     }
 
+    @Test
+    public void testIsIPLeadingZeros(){
+        assertTrue("isIP(010.010.010.010)",   isIP("010.010.010.010"));
+        assertTrue("isIP(000.0.00.1)",        isIP("000.0.00.1"));
+        assertTrue("isIP(10.10.10.0)",        isIP("10.10.10.0"));
+        assertTrue("isIP(10.10.10.001)",      isIP("10.10.10.001"));
+        assertFalse("isIP(10.10.10.00)",      isIP("10.10.10.00"));
+        assertFalse("isIP(10.10.10.000)",     isIP("10.10.10.000"));
+        assertFalse("isIP(10.10.10.0001)",    isIP("10.10.10.0001"));
+        assertFalse("isIP(10.10.10.)",        isIP("10.10.10."));
+        assertFalse("isIP(10.10.10.1.)",      isIP("10.10.10.1."));
+        assertFalse("isIP(10..10.1)",         isIP("10..10.1"));
+        assertFalse("isIP(+10.10.10.1)",      isIP("+10.10.10.1"));
+        assertFalse("isIP(10.10.10.1 )",      isIP("10.10.10.1 "));
+    }
+
+    @Test
+    public void testIsIPMatchesRegex(){
+        // fixed seed differential check of the single pass parser against the original split + regex validation
+        java.util.Random random = new java.util.Random(1234);
+        String chars = "0123456789..";
+        for(int i = 0; i < 20000; i++){
+            StringBuilder sb = new StringBuilder();
+            int len = 7 + random.nextInt(9);
+            for(int j = 0; j < len; j++){
+                sb.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            String ip = sb.toString();
+            assertEquals("isIP(" + ip + ")", ip.matches("^" + ip_regex + "$"), isIP(ip));
+        }
+    }
+
+    @Test
+    public void testParseIPv4(){
+        assertEquals("parseIPv4(10.1.2.3)",           0x0A010203,  parseIPv4("10.1.2.3"));
+        assertEquals("parseIPv4(255.255.255.255)",    -1,          parseIPv4("255.255.255.255"));
+        assertEquals("parseIPv4(0.0.0.0)",            0,           parseIPv4("0.0.0.0"));
+        assertEquals("parseIPv4(StringBuilder)",      0xC0A80101,  parseIPv4(new StringBuilder("192.168.1.1")));
+        assertEquals("IPv4.parse(bytes)",             0x0A010203L, IPv4.parse("x 10.1.2.3 y".getBytes(), 2, 10));
+        assertEquals("IPv4.toString()",               "10.1.2.3",  IPv4.toString(0x0A010203L));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseIPv4Exception(){
+        parseIPv4("10.10.10.256");
+    }
+
+    @Test
+    public void testIsIPv6(){
+        assertTrue(isIPv6("::"));
+        assertTrue(isIPv6("::1"));
+        assertTrue(isIPv6("fe80::1"));
+        assertTrue(isIPv6("2001:db8:0:0:0:0:2:1"));
+        assertTrue(isIPv6("2001:DB8::2:1"));
+        assertTrue(isIPv6("1:2:3:4:5:6:7::"));
+        assertTrue(isIPv6("::ffff:10.1.2.3"));
+        assertTrue(isIPv6("1:2:3:4:5:6:10.1.2.3"));
+        assertFalse(isIPv6(":"));
+        assertFalse(isIPv6(":::"));
+        assertFalse(isIPv6("1:2"));
+        assertFalse(isIPv6("1::2::3"));
+        assertFalse(isIPv6("1:2:3:4:5:6:7:8:9"));
+        assertFalse(isIPv6("1:2:3:4:5:6:7::8"));
+        assertFalse(isIPv6("12345::1"));
+        assertFalse(isIPv6("1:"));
+        assertFalse(isIPv6("g::1"));
+        assertFalse(isIPv6("::10.1.2.256"));
+        assertFalse(isIPv6("::10.1.2.3:1"));
+        assertFalse(isIPv6("fe80::1%eth0"));
+        assertFalse(isIPv6("[::1]"));
+        assertFalse(isIPv6("10.1.2.3"));
+        assertFalse(isIPv6(null));
+    }
+
+    @Test
+    public void testParseIPv6(){
+        assertArrayEquals(new long[]{ 0, 1 }, parseIPv6("::1"));
+        assertArrayEquals(new long[]{ 0x20010db800000000L, 0x0000000000020001L }, parseIPv6("2001:db8::2:1"));
+        assertArrayEquals(new long[]{ 0, 0x0000ffff0a010203L }, parseIPv6("::ffff:10.1.2.3"));
+        assertArrayEquals(new long[]{ 0x0001000200030004L, 0x0005000600070000L }, parseIPv6("1:2:3:4:5:6:7::"));
+        assertEquals("2001:db8::2:1", IPv6.toString(0x20010db800000000L, 0x0000000000020001L));
+        assertEquals("::", IPv6.toString(0, 0));
+        assertEquals("1:0:1::1", IPv6.toString(0x0001000000010000L, 1));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testParseIPv6Exception(){
+        parseIPv6("1::2::3");
+    }
+
+    @Test
+    public void testIsCidr(){
+        assertTrue(isCidr("10.0.0.0/8"));
+        assertTrue(isCidr("10.1.2.3/32"));
+        assertTrue(isCidr("10.1.2.3/0"));
+        assertTrue(isCidr("2001:db8::/32"));
+        assertTrue(isCidr("::1/128"));
+        assertFalse(isCidr("10.0.0.0/33"));
+        assertFalse(isCidr("10.0.0.0/08"));
+        assertFalse(isCidr("10.0.0.0/"));
+        assertFalse(isCidr("10.0.0.0"));
+        assertFalse(isCidr("/8"));
+        assertFalse(isCidr("::1/129"));
+        assertFalse(isCidr("10.0.0.256/8"));
+        assertFalse(isCidr(null));
+    }
+
+    @Test
+    public void testCidr(){
+        Cidr cidr = Cidr.parse("10.1.2.3/8");
+        assertEquals("10.0.0.0/8", cidr.toString());
+        assertEquals(Cidr.parse("10.0.0.0/8"), cidr);
+        assertTrue(cidr.contains(parseIPv4("10.255.0.1")));
+        assertFalse(cidr.contains(parseIPv4("11.0.0.1")));
+        Cidr cidr6 = Cidr.parse("2001:db8:1::/48");
+        long[] ip = parseIPv6("2001:db8:1:ffff::1");
+        assertTrue(cidr6.contains(ip[0], ip[1]));
+        ip = parseIPv6("2001:db8:2::1");
+        assertFalse(cidr6.contains(ip[0], ip[1]));
+        assertFalse(cidr6.contains(parseIPv4("10.0.0.1")));
+        assertEquals("2001:db8:1::/48", cidr6.toString());
+        assertEquals("::/0", Cidr.parse("::1/0").toString());
+    }
+
+    @Test
+    public void testValidateCidr(){
+        assertEquals("validateCidr(10.0.0.0/8)",       "10.0.0.0/8",       validateCidr("10.0.0.0/8", "name"));
+        assertEquals("validateCidr(2001:db8::/32)",    "2001:db8::/32",    validateCidr(" 2001:db8::/32 "));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateCidrException() {
+        validateCidr("10.0.0.0/33");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateCidrNullException() {
+        validateCidr(null);
+    }
+
     @Test
     public void testValidateIp(){
         assertEquals("validateIP(validateIP(10.10.10.1)",     "10.10.10.1",   validateIP("10.10.10.1", "name"));
@@ -1853,6 +2168,45 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         validateUnits(" ");
     }
 
+    // ====================================================================== //
+    @Test
+    public void testIsThreshold(){
+        assertTrue(isThreshold("10"));
+        assertTrue(isThreshold("10:"));
+        assertTrue(isThreshold("~:10"));
+        assertTrue(isThreshold("10:20"));
+        assertTrue(isThreshold("@10:20"));
+        assertTrue(isThreshold("-1.5:-0.5"));
+        assertFalse(isThreshold("20:10"));
+        assertFalse(isThreshold("10:20:30"));
+        assertFalse(isThreshold("~"));
+        assertFalse(isThreshold("@"));
+        assertFalse(isThreshold("10ms"));
+        assertFalse(isThreshold(""));
+        assertFalse(isThreshold(null));
+    }
+
+    @Test
+    public void testValidateThreshold(){
+        assertEquals("validateThreshold(10:20)",   Threshold.of(10, 20, false),   validateThreshold(" 10:20 ", "warning"));
+        assertEquals("validateThreshold(@~:5)",    Threshold.of(Double.NEGATIVE_INFINITY, 5, true), validateThreshold("@~:5"));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateThresholdException() {
+        validateThreshold("20:10");
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateThresholdNullException() {
+        validateThreshold(null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateThresholdBlankException() {
+        validateThreshold(" ");
+    }
+
     // ====================================================================== //
 
     @Test
@@ -1863,6 +2217,22 @@ public class UtilsTest { // extends TestCase { // JUnit 3
         assertArrayEquals("validateNodeList(String[])",  a, validateNodeList(a));
     }
 
+    @Test
+    public void testValidateNodeListSink(){
+        List<CharSequence> items = new ArrayList<CharSequence>();
+        items.add("node1 ,node2");
+        items.add(new StringBuilder("node3  node1\n"));
+        items.add("192.168.1.1");
+        assertEquals("validateNodeList(Iterable, sink)", Arrays.asList("node1","node2","node3","192.168.1.1"), validateNodeList(items, new ArrayList<String>()));
+        LinkedHashSet<String> nodes = validateNodeList(Arrays.asList("node2", "node1"), new LinkedHashSet<String>());
+        assertArrayEquals("validateNodeList(Iterable, sink)", new String[]{"node2","node1"}, nodes.toArray(new String[0]));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testValidateNodeListSinkException() {
+        validateNodeList(Arrays.asList("node1", "node2 bad~host"), new ArrayList<String>());
+    }
+
     @Test
     public void testValidateNodeportList(){
         assertEquals("validateNodePortList(String)", "node1:9200,node2,node3:8080,node4,node5", validateNodePortList("node1:9200 ,node2 node3:8080 node4, node5"));
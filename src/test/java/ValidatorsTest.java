@@ -0,0 +1,218 @@
+//
+//  Author: Hari Sekhon
+//  Date: 2026-10-18 19:10:44 +0100 (Sun, 18 Oct 2026)
+//
+//  vim:ts=4:sts=4:sw=4:et
+//
+//  https://github.com/harisekhon/lib-java
+//
+//  License: see accompanying Hari Sekhon LICENSE file
+//
+//  If you're using my code you're welcome to connect with me on LinkedIn and optionally send me feedback
+//  to help improve or steer this or other code I publish
+//
+//  https://www.linkedin.com/in/harisekhon
+//
+
+package com.linkedin.harisekhon;
+
+import static com.linkedin.harisekhon.Utils.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.log4j.Level;
+import org.junit.Test;
+import org.junit.Rule;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the bulk Utils.validateAll() methods and com.linkedin.harisekhon.Validators
+ */
+public class ValidatorsTest {
+
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(60);
+
+    private static final String[] samples = {
+        "harisekhon.com", " harisekhon.com ", "harisekhon", "hari.sekhon.local", "ip-172-31-1-1", "10.10.10.1",
+        "10.10.10.256", "010.1.1.1", "::1", "2001:db8::1", "[::1]", "[::1]:8080", "[::1]8080", "[::1", "1::2::3",
+        "myHost:8080", "myHost:80800", "myHost:0", "myHost:", "a:b:c", "10.0.0.0/8", "2001:db8::/32", "10.0.0.0/33",
+        "hari@sekhon.com", "hari'@sekhon.com", "8080", "0", "65535", "65536", "00080", "", " ", "\t",
+        "-harisekhon", "harisekhon-", "hari_sekhon", "hari..sekhon.com", "my host",
+    };
+
+    @Test
+    public void testValidatorsMatchUtils(){
+        for(String s: samples){
+            String t = s.trim();
+            assertEquals("HOST "          + s, isHost(t),         Validators.HOST.check(s).isOk());
+            assertEquals("HOSTNAME "      + s, isHostname(t),     Validators.HOSTNAME.check(s).isOk());
+            assertEquals("FQDN "          + s, isFqdn(t),         Validators.FQDN.check(s).isOk());
+            assertEquals("DOMAIN "        + s, isDomain(t),       Validators.DOMAIN.check(s).isOk());
+            assertEquals("DOMAIN_STRICT " + s, isDomainStrict(t), Validators.DOMAIN_STRICT.check(s).isOk());
+            assertEquals("EMAIL "         + s, isEmail(t),        Validators.EMAIL.check(s).isOk());
+            assertEquals("IP "            + s, isIP(t),           Validators.IP.check(s).isOk());
+            assertEquals("IPV6 "          + s, isIPv6(t),         Validators.IPV6.check(s).isOk());
+            assertEquals("CIDR "          + s, isCidr(t),         Validators.CIDR.check(s).isOk());
+            assertEquals("PORT "          + s, isPort(t),         Validators.PORT.check(s).isOk());
+        }
+    }
+
+    @Test
+    public void testHostPort(){
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT.check("myHost"));
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT.check(" myHost:8080 "));
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT.check("10.10.10.10:8080"));
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT.check("::1"));
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT.check("[::1]"));
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT.check("[2001:db8::1]:443"));
+        assertEquals(ValidationError.INVALID_PORT, Validators.HOST_PORT.check("myHost:80800"));
+        assertEquals(ValidationError.INVALID_PORT, Validators.HOST_PORT.check("[::1]:0"));
+        assertEquals(ValidationError.INVALID_HOST, Validators.HOST_PORT.check("10.10.10.256:8080"));
+        assertEquals(ValidationError.INVALID_IPV6, Validators.HOST_PORT.check("[::1"));
+        assertEquals(ValidationError.INVALID,      Validators.HOST_PORT.check("[::1]8080"));
+        assertEquals(ValidationError.TOO_MANY_COMPONENTS, Validators.HOST_PORT.check("a:b:c"));
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT.check("myHost:"));
+        assertEquals(ValidationError.PORT_REQUIRED, Validators.HOST_PORT_REQUIRED.check("myHost"));
+        assertEquals(ValidationError.PORT_REQUIRED, Validators.HOST_PORT_REQUIRED.check("[::1]"));
+        assertEquals(ValidationError.OK,           Validators.HOST_PORT_REQUIRED.check("[::1]:22"));
+        assertEquals(ValidationError.NULL,         Validators.HOST_PORT.check(null));
+        assertEquals(ValidationError.BLANK,        Validators.HOST_PORT.check(" "));
+    }
+
+    @Test
+    public void testValidateAll(){
+        String[] hosts = { "node1", "10.10.10.256", null, "node4.harisekhon.com", " ", "::1" };
+        ValidationResult result = validateAll(Validators.HOST, hosts);
+        assertEquals(6, result.size());
+        assertEquals(3, result.validCount());
+        assertEquals(3, result.invalidCount());
+        assertFalse(result.allValid());
+        assertTrue(result.isValid(0));
+        assertEquals(ValidationError.INVALID_HOST, result.getError(1));
+        assertEquals(ValidationError.NULL,         result.getError(2));
+        assertEquals(ValidationError.BLANK,        result.getError(4));
+        assertEquals(ValidationError.OK,           result.getError(5));
+        assertEquals(1,  result.nextInvalid(0));
+        assertEquals(2,  result.nextInvalid(2));
+        assertEquals(4,  result.nextInvalid(3));
+        assertEquals(-1, result.nextInvalid(5));
+        BitSet valid = result.getValid();
+        assertEquals(3, valid.cardinality());
+        valid.clear();
+        assertEquals("getValid() should return a copy", 3, result.validCount());
+    }
+
+    @Test
+    public void testValidateAllIterableAndStream(){
+        ArrayList<String> ports = new ArrayList<String>();
+        for(int i = 0; i < 1000; i++){
+            ports.add(Integer.toString(i * 100));
+        }
+        ValidationResult result = validateAll(Validators.PORT, ports);
+        assertEquals(1000, result.size());
+        // 0 and everything over 65535
+        assertEquals(1 + 1000 - 656, result.invalidCount());
+        ValidationResult result2 = validateAll(Validators.PORT, ports.parallelStream());
+        assertEquals(result.getValid(), result2.getValid());
+        assertTrue(validateAll(Validators.HOST, new String[0]).allValid());
+        assertEquals(0, validateAll(Validators.HOST, Arrays.asList(new String[0]).iterator()).size());
+    }
+
+    @Test
+    public void testCustomValidator(){
+        Validator even = new Validator() {
+            @Override
+            public ValidationError check(CharSequence value) {
+                return value.length() % 2 == 0 ? ValidationError.OK : ValidationError.INVALID;
+            }
+        };
+        ValidationResult result = validateAll(even, new StringBuilder[]{ new StringBuilder("ab"), new StringBuilder("abc") });
+        assertTrue(result.isValid(0));
+        assertFalse(result.isValid(1));
+    }
+
+    @Test(expected=IndexOutOfBoundsException.class)
+    public void testIndexOutOfBounds(){
+        validateAll(Validators.HOST, new String[]{ "node1" }).isValid(1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testNullValidatorException(){
+        validateAll(null, new String[]{ "node1" });
+    }
+
+    @Test
+    public void testCheck(){
+        assertEquals(ValidationError.OK,               checkHost(" harisekhon.com "));
+        assertEquals(ValidationError.INVALID_HOST,     checkHost("10.10.10.256"));
+        assertEquals(ValidationError.INVALID_HOSTNAME, checkHostname("-harisekhon"));
+        assertEquals(ValidationError.INVALID_FQDN,     checkFqdn("harisekhon"));
+        assertEquals(ValidationError.INVALID_DOMAIN,   checkDomain("harisekhon.nonexistenttld"));
+        assertEquals(ValidationError.INVALID_DOMAIN,   checkDomainStrict("com"));
+        assertEquals(ValidationError.INVALID_EMAIL,    checkEmail("hari'@sekhon.com"));
+        assertEquals(ValidationError.INVALID_IP,       checkIP("::1"));
+        assertEquals(ValidationError.INVALID_IPV6,     checkIPv6("10.1.1.1"));
+        assertEquals(ValidationError.INVALID_CIDR,     checkCidr("10.0.0.0/33"));
+        assertEquals(ValidationError.INVALID_PORT,     checkPort("65536"));
+        assertEquals(ValidationError.OK,               checkHostPort("myHost:8080", true));
+        assertEquals(ValidationError.PORT_REQUIRED,    checkHostPort("myHost", true));
+        assertEquals(ValidationError.NULL,             checkHostPort(null));
+        assertEquals(ValidationError.BLANK,            checkIP(" "));
+    }
+
+    @Test
+    public void testValidationException(){
+        try {
+            validateHost("10.10.10.256", "name");
+            fail("validateHost() should have thrown");
+        } catch (ValidationException e) {
+            assertEquals(ValidationError.INVALID_HOST, e.getError());
+            assertEquals("invalid name host defined: not a valid hostname or IP address", e.getMessage());
+            assertEquals("stack trace should not be filled in", 0, e.getStackTrace().length);
+        }
+        Level level = log.getLevel();
+        log.setLevel(Level.DEBUG);
+        try {
+            validateHost("10.10.10.256", "name");
+            fail("validateHost() should have thrown");
+        } catch (ValidationException e) {
+            assertTrue("stack trace should be filled in for debugging", e.getStackTrace().length > 0);
+        } finally {
+            log.setLevel(level);
+        }
+        try {
+            validateHostPort("myHost", "name", true);
+            fail("validateHostPort() should have thrown");
+        } catch (ValidationException e) {
+            assertEquals(ValidationError.PORT_REQUIRED, e.getError());
+            assertEquals("port is required", e.getMessage());
+        }
+        try {
+            validateHostPort("myHost:80800");
+            fail("validateHostPort() should have thrown");
+        } catch (ValidationException e) {
+            assertEquals("invalid port '80800' defined for host:port: must be a positive integer", e.getMessage());
+        }
+        try {
+            validateIP(null, "name");
+            fail("validateIP() should have thrown");
+        } catch (ValidationException e) {
+            assertEquals(ValidationError.NULL, e.getError());
+            assertEquals("name IP not defined (null)", e.getMessage());
+        }
+        assertTrue(new ValidationException(ValidationError.INVALID_PORT, "port") instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testErrorCodes(){
+        for(ValidationError e: ValidationError.values()){
+            assertEquals(e, ValidationError.fromCode(e.code()));
+        }
+    }
+
+}